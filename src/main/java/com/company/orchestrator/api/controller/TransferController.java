@@ -1,35 +1,87 @@
 package com.company.orchestrator.api.controller;
 
 import com.company.orchestrator.api.dto.*;
+import com.company.orchestrator.domain.bulk.TransferImportProgress;
+import com.company.orchestrator.domain.bulk.TransferImportProperties;
+import com.company.orchestrator.domain.bulk.TransferImporter;
+import com.company.orchestrator.domain.exception.InvalidBatchException;
+import com.company.orchestrator.domain.exception.InvalidSubscriptionException;
 import com.company.orchestrator.domain.model.*;
+import com.company.orchestrator.domain.pipeline.TransferPipelineProperties;
 import com.company.orchestrator.domain.service.TransferOrchestrator;
-import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import com.company.orchestrator.domain.status.TransferStatusStream;
+import com.company.orchestrator.domain.status.TransferStatusStreamProperties;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventExporter;
 import com.company.orchestrator.policy.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/transfers")
 public class TransferController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final MediaType NDJSON = new MediaType(MediaType.APPLICATION_NDJSON, StandardCharsets.UTF_8);
+
     private final TransferOrchestrator orchestrator;
+    private final TransferPipelineProperties pipelineProperties;
+    private final TransferStatusStream statusStream;
+    private final TransferStatusStreamProperties streamProperties;
+    private final TransferImporter importer;
+    private final TransferImportProperties importProperties;
+    private final ObjectMapper objectMapper;
 
-    public TransferController(TransferOrchestrator orchestrator) {
+    public TransferController(
+            TransferOrchestrator orchestrator,
+            TransferPipelineProperties pipelineProperties,
+            TransferStatusStream statusStream,
+            TransferStatusStreamProperties streamProperties,
+            TransferImporter importer,
+            TransferImportProperties importProperties,
+            ObjectMapper objectMapper
+    ) {
         this.orchestrator = orchestrator;
+        this.pipelineProperties = pipelineProperties;
+        this.statusStream = statusStream;
+        this.streamProperties = streamProperties;
+        this.importer = importer;
+        this.importProperties = importProperties;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Initiate a new data transfer")
@@ -37,11 +89,94 @@ public class TransferController {
     public ResponseEntity<TransferResponseDto> createTransfer(
             @Valid @RequestBody TransferRequestDto dto
     ) {
+        if (pipelineProperties.enabled()) {
+            UUID id = orchestrator.submitTransfer(dto);
+            return ResponseEntity.accepted().body(new TransferResponseDto(id));
+        }
 
         UUID id = orchestrator.initiateTransfer(dto);
         return ResponseEntity.ok(new TransferResponseDto(id));
     }
 
+    /**
+     * With the pipeline enabled, approved transfers are handed over before
+     * answering; the wait for room in a full negotiation stage is bounded
+     * by the pipeline's hand-off timeout, after which the remaining
+     * approved items are failed and reported as {@code QUEUE_FULL}.
+     */
+    @Operation(summary = "Initiate up to 1000 data transfers in one request")
+    @PostMapping("/batch")
+    public ResponseEntity<TransferBatchResponse> createTransfers(
+            @RequestBody List<@Valid TransferRequestDto> dtos
+    ) {
+        if (dtos.isEmpty() || dtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchException("Between 1 and " + MAX_BATCH_SIZE + " transfer requests are required");
+        }
+        TransferBatchResponse response = orchestrator.initiateTransfers(dtos);
+        return pipelineProperties.enabled()
+                ? ResponseEntity.accepted().body(response)
+                : ResponseEntity.ok(response);
+    }
+
+    /**
+     * Imports the NDJSON request body, or the named file from the import
+     * directory, and streams a line for every rejected input line, regular
+     * progress and a final summary. The body is read while the response is
+     * written, so neither is held in memory.
+     */
+    @Operation(summary = "Import transfer requests from an NDJSON body or file")
+    @PostMapping(path = "/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter importTransfers(
+            @RequestParam(name = "file", required = false) String file,
+            HttpServletRequest request
+    ) throws IOException {
+        Reader input = file == null
+                ? new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)
+                : Files.newBufferedReader(importer.resolve(file));
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(importProperties.timeout().toMillis());
+        CompletableFuture<TransferImportProgress> task = importer.submit(input, new TransferImporter.Listener() {
+            @Override
+            public void rejected(long line, String message) {
+                send(emitter, TransferImportEvent.rejected(line, message));
+            }
+
+            @Override
+            public void progress(TransferImportProgress progress) {
+                send(emitter, TransferImportEvent.progress(progress));
+            }
+        });
+        // a timed out or broken response stops the import instead of letting it run on unseen
+        emitter.onTimeout(() -> task.cancel(true));
+        emitter.onError(error -> task.cancel(true));
+        task.whenComplete((summary, error) -> {
+            if (error instanceof CancellationException) {
+                // cancelled because the response already ended
+                return;
+            }
+            try {
+                if (error == null) {
+                    send(emitter, TransferImportEvent.summary(summary));
+                } else {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    log.warn("Transfer import failed", cause);
+                    send(emitter, TransferImportEvent.failed(cause.getMessage()));
+                }
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                emitter.completeWithError(e.getCause());
+            }
+        });
+        return emitter;
+    }
+
+    private void send(ResponseBodyEmitter emitter, TransferImportEvent event) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(event) + "\n", NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Operation(summary = "Get transfer status")
     @GetMapping("/{id}")
     public ResponseEntity<TransferStatusDto> getStatus(
@@ -58,6 +193,60 @@ public class TransferController {
         );
     }
 
+    @Operation(summary = "Stream state changes of a transfer as server-sent events")
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@PathVariable(name = "id") UUID id) {
+        return stream(Set.of(id));
+    }
+
+    @Operation(summary = "Stream state changes of several transfers as server-sent events")
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatuses(@RequestParam(name = "ids") Set<UUID> ids) {
+        if (ids.isEmpty() || ids.size() > streamProperties.maxTransfers()) {
+            throw new InvalidSubscriptionException(
+                    "Between 1 and " + streamProperties.maxTransfers() + " transfer ids are required");
+        }
+        return stream(ids);
+    }
+
+    /**
+     * Sends the current status of each transfer, then every committed
+     * change, and completes once all of them have finished. The request is
+     * handled asynchronously, so an open stream holds no servlet thread.
+     */
+    private SseEmitter stream(Set<UUID> ids) {
+        SseEmitter emitter = new SseEmitter(streamProperties.timeout().toMillis());
+        var subscription = statusStream.subscribe(ids, new TransferStatusStream.Sink() {
+            @Override
+            public void send(TransferStatus status) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(status.transferId() + ":" + status.state())
+                        .name("state")
+                        .data(new TransferStatusDto(
+                                status.transferId(),
+                                status.state(),
+                                status.lastUpdated()
+                        ), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        try {
+            // subscribed first, so a change committed while reading is not missed
+            ids.forEach(transferId -> subscription.offer(orchestrator.getTransferStatus(transferId)));
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+        return emitter;
+    }
+
     @Operation(summary = "Cancel transfer")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> cancel(@PathVariable(name = "id") UUID id) {
@@ -67,10 +256,60 @@ public class TransferController {
 
     @Operation(summary = "Get audit trail for a transfer")
     @GetMapping("/{id}/audit")
-    public List<AuditEventEntity> getAuditLog(
-            @PathVariable(name = "id") UUID transferId
-    ) {
-        return orchestrator.getTransferAuditLog(transferId);
+    public void getAuditLog(
+            @PathVariable(name = "id") UUID transferId,
+            @RequestParam(name = "after", required = false) UUID after,
+            HttpServletResponse response
+    ) throws IOException {
+        writeAudit(orchestrator.exportTransferAuditLog(transferId, after), false, response);
+    }
+
+    @Operation(summary = "Stream the audit trail of a transfer as NDJSON")
+    @GetMapping(path = "/{id}/audit", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAuditLog(
+            @PathVariable(name = "id") UUID transferId,
+            @RequestParam(name = "after", required = false) UUID after,
+            HttpServletResponse response
+    ) throws IOException {
+        writeAudit(orchestrator.exportTransferAuditLog(transferId, after), true, response);
+    }
+
+    @Operation(summary = "Export the audit events of a time window as NDJSON")
+    @GetMapping(path = "/audit", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAuditEvents(
+            @RequestParam(name = "from") Instant from,
+            @RequestParam(name = "to") Instant to,
+            @RequestParam(name = "after", required = false) UUID after,
+            HttpServletResponse response
+    ) throws IOException {
+        writeAudit(orchestrator.exportAuditEvents(from, to, after), true, response);
+    }
+
+    /**
+     * Writes the events as they are read, as a JSON array or one per line.
+     * The servlet flushes its buffer as it fills, so the response is sent
+     * in chunks and its size does not matter. A client resumes an export
+     * that broke off with {@code after} set to the last id it received.
+     */
+    private void writeAudit(AuditEventExporter.Export export, boolean ndjson, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(ndjson ? NDJSON.toString() : MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long[] written = new long[1];
+        try (SequenceWriter events = ndjson
+                ? writer.withRootValueSeparator("\n").writeValues(out)
+                : writer.writeValuesAsArray(out)) {
+            export.writeTo(event -> {
+                events.write(event);
+                written[0]++;
+            });
+        }
+        if (ndjson && written[0] > 0) {
+            out.write('\n');
+        }
     }
 
     @GetMapping
@@ -96,9 +335,49 @@ public class TransferController {
         return orchestrator.listTransfers(pageable);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List transfers, newest first, by continuation cursor")
+    public TransferSliceResponse listTransfersByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return orchestrator.listTransfers(cursor, size);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search transfers, newest first, by continuation cursor")
+    public TransferSliceResponse searchTransfers(
+            @RequestParam(name = "consumerId", required = false) String consumerId,
+            @RequestParam(name = "providerId", required = false) String providerId,
+            @RequestParam(name = "dataType", required = false) String dataType,
+            @RequestParam(name = "state", required = false) TransferState state,
+            @RequestParam(name = "createdFrom", required = false) Instant createdFrom,
+            @RequestParam(name = "createdTo", required = false) Instant createdTo,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return orchestrator.searchTransfers(
+                new TransferSearchCriteria(consumerId, providerId, dataType, state, createdFrom, createdTo),
+                cursor,
+                size
+        );
+    }
+
     @GetMapping("/analytics")
     @Operation(summary = "Transfer analytics")
     public TransferAnalyticsResponse getTransferAnalytics() {
         return orchestrator.getAnalytics();
     }
+
+    @GetMapping("/analytics/timeseries")
+    @Operation(summary = "Transfer throughput and stage duration percentiles over time")
+    public TransferTimeseriesResponse getTransferTimeseries(
+            @RequestParam(name = "from") Instant from,
+            @RequestParam(name = "to") Instant to,
+            @RequestParam(name = "step", defaultValue = "PT1M") Duration step,
+            @RequestParam(name = "dataType", required = false) String dataType,
+            @RequestParam(name = "providerId", required = false) String providerId
+    ) {
+        return orchestrator.getTimeseries(from, to, step, dataType, providerId);
+    }
 }
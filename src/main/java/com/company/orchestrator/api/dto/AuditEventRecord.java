@@ -0,0 +1,20 @@
+package com.company.orchestrator.api.dto;
+
+import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.AuditActor;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An audit event as exported, read without an entity or persistence
+ * context. {@code metadata} is derived from the typed columns, as in
+ * {@code AuditEventEntity#getMetadata()}.
+ */
+public record AuditEventRecord(
+        UUID id,
+        UUID transferId,
+        AuditAction action,
+        Instant timestamp,
+        AuditActor actor,
+        String metadata
+) {}
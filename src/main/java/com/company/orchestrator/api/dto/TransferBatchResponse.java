@@ -0,0 +1,43 @@
+package com.company.orchestrator.api.dto;
+
+import com.company.orchestrator.domain.model.TransferState;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param items one per submitted transfer, in submission order
+ */
+public record TransferBatchResponse(
+        List<Item> items
+) {
+
+    /**
+     * Why an approved transfer was failed before it could continue.
+     */
+    public enum Rejection {
+        /**
+         * The pipeline's negotiation stage stayed full for the whole
+         * hand-off timeout of the batch, or the pipeline was shutting down.
+         */
+        QUEUE_FULL
+    }
+
+    /**
+     * @param state the final state, or {@code APPROVED} when the pipeline
+     *              continues the transfer asynchronously
+     * @param violationReason why the policy denied the transfer, if it did
+     * @param rejection why the approved transfer was failed without being
+     *                  negotiated, if it was
+     */
+    public record Item(
+            UUID transferId,
+            TransferState state,
+            String violationReason,
+            Rejection rejection
+    ) {
+
+        public Item(UUID transferId, TransferState state, String violationReason) {
+            this(transferId, state, violationReason, null);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.orchestrator.api.dto;
+
+import com.company.orchestrator.domain.bulk.TransferImportProgress;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of an import response: {@code rejected} for an input line that
+ * was not imported, {@code progress} every few thousand lines, and finally
+ * {@code summary}, or {@code failed} if the import stopped early.
+ *
+ * @param line the rejected input line, counting from 1
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransferImportEvent(
+        String type,
+        Long line,
+        String message,
+        TransferImportProgress progress
+) {
+
+    public static TransferImportEvent rejected(long line, String message) {
+        return new TransferImportEvent("rejected", line, message, null);
+    }
+
+    public static TransferImportEvent progress(TransferImportProgress progress) {
+        return new TransferImportEvent("progress", null, null, progress);
+    }
+
+    public static TransferImportEvent summary(TransferImportProgress progress) {
+        return new TransferImportEvent("summary", null, null, progress);
+    }
+
+    public static TransferImportEvent failed(String message) {
+        return new TransferImportEvent("failed", null, message, null);
+    }
+}
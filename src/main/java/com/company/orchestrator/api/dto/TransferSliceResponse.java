@@ -0,0 +1,11 @@
+package com.company.orchestrator.api.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor token for the following slice, {@code null} on the last one
+ */
+public record TransferSliceResponse(
+        List<TransferSummaryResponse> content,
+        String nextCursor
+) {}
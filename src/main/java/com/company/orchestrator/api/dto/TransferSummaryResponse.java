@@ -1,5 +1,7 @@
 package com.company.orchestrator.api.dto;
 
+import com.company.orchestrator.domain.model.TransferState;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -10,4 +12,19 @@ public record TransferSummaryResponse(
         String dataType,
         String state,
         Instant createdAt
-) {}
\ No newline at end of file
+) {
+
+    /**
+     * Used by JPQL constructor expressions, which pass the enum as is.
+     */
+    public TransferSummaryResponse(
+            UUID id,
+            String consumerId,
+            String providerId,
+            String dataType,
+            TransferState state,
+            Instant createdAt
+    ) {
+        this(id, consumerId, providerId, dataType, state.name(), createdAt);
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.orchestrator.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transfer throughput and stage durations per time bucket, one series per
+ * data type and provider.
+ */
+public record TransferTimeseriesResponse(
+        Instant from,
+        Instant to,
+        long stepSeconds,
+        List<Series> series
+) {
+
+    public record Series(
+            String dataType,
+            String providerId,
+            List<Point> points
+    ) {}
+
+    /**
+     * @param finished transfers that completed or failed within the bucket
+     * @param stages   duration percentiles keyed by stage
+     */
+    public record Point(
+            Instant bucketStart,
+            long finished,
+            Map<String, StageDurations> stages
+    ) {}
+
+    public record StageDurations(
+            long count,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis
+    ) {}
+}
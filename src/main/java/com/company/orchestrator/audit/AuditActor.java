@@ -0,0 +1,13 @@
+package com.company.orchestrator.audit;
+
+/**
+ * Who recorded an audit event. {@code SYSTEM} covers events written outside
+ * the transfer workflow, including migrated events whose actor was none of
+ * the others.
+ */
+public enum AuditActor {
+    API,
+    POLICY_ENGINE,
+    ORCHESTRATOR,
+    SYSTEM
+}
@@ -0,0 +1,124 @@
+package com.company.orchestrator.domain.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of durations in microseconds: every power of two is
+ * split into 8 equal sub-buckets, so a reported quantile is within 6.25% of
+ * the recorded value. Durations up to about 50 days are distinguished;
+ * longer ones land in the last bucket.
+ * <p>
+ * Recording is one atomic increment. Histograms with the same layout merge
+ * by adding counts, so per-minute histograms can be combined into any
+ * longer range, across instances, without losing precision.
+ */
+public final class DurationHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 41;
+
+    static final int BUCKETS = (MAX_EXPONENT - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long micros) {
+        counts.incrementAndGet(index(Math.max(0, micros)));
+    }
+
+    public void merge(DurationHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Duration in microseconds below which a fraction {@code q} of the
+     * recorded durations lie, or 0 when nothing was recorded.
+     */
+    public long quantile(double q) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(BUCKETS - 1);
+    }
+
+    /**
+     * Counts per bucket with trailing empty buckets trimmed, for storage.
+     */
+    public long[] toArray() {
+        int length = BUCKETS;
+        while (length > 0 && counts.get(length - 1) == 0) {
+            length--;
+        }
+        long[] array = new long[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = counts.get(i);
+        }
+        return array;
+    }
+
+    public static DurationHistogram fromArray(long[] array) {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int i = 0; i < Math.min(array.length, BUCKETS); i++) {
+            histogram.counts.set(i, array[i]);
+        }
+        return histogram;
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    private static long midpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        long lower = lowerBound(index);
+        long upper = index + 1 < BUCKETS ? lowerBound(index + 1) : lower * 2;
+        return lower + (upper - lower) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "DurationHistogram" + Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.orchestrator.domain.analytics;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param refreshInterval how often the in-memory counts are reloaded from
+ *                        the counters table, picking up other instances
+ * @param reconcileInterval how often the counters table is checked against
+ *                          {@code transfers}
+ */
+@ConfigurationProperties(prefix = "orchestrator.analytics.counters")
+public record TransferCounterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration refreshInterval,
+        @DefaultValue("1h") Duration reconcileInterval
+) {}
@@ -0,0 +1,286 @@
+package com.company.orchestrator.domain.analytics;
+
+import com.company.orchestrator.api.dto.TransferAnalyticsResponse;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferCounterRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferCounterRepository.Dimension;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transfer counts per state and data type, served from memory.
+ * <p>
+ * The counters table, which a trigger keeps exact across all instances, is
+ * reloaded every refresh interval. In between, state changes committed by
+ * this instance are added as deltas to {@link LongAdder} cells, so its own
+ * changes show up immediately. Changes made by other instances show up with
+ * the next refresh. A JPA transaction holds a read lock from after its
+ * final flush until its deltas are applied, which covers its commit; a
+ * refresh drops the deltas and reads the table under the write lock. Every
+ * local change is then either in the table it reads or in the deltas it
+ * keeps, never in both. No statement runs under the read lock, so a
+ * committer never waits for a row another committer holds.
+ * <p>
+ * A periodic reconciliation corrects the table against {@code transfers},
+ * e.g. after a bulk load with triggers disabled.
+ */
+@Slf4j
+@Component
+public class TransferCounters {
+
+    private final TransferCounterRepository repository;
+    private final TransactionTemplate tx;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransferCounterProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+
+    private volatile Map<Key, Long> base;
+    private volatile Map<Key, LongAdder> deltas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TransferCounters(
+            TransferCounterRepository repository,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            TransferCounterProperties properties
+    ) {
+        this(repository, transactionManager, entityManagerFactory, properties, true);
+    }
+
+    TransferCounters(
+            TransferCounterRepository repository,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            TransferCounterProperties properties,
+            boolean schedule
+    ) {
+        this.repository = repository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transfer-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (schedule && properties.enabled()) {
+            scheduler.scheduleWithFixedDelay(() -> run(this::refresh),
+                    0, properties.refreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+            scheduler.scheduleWithFixedDelay(() -> run(this::reconcile),
+                    properties.reconcileInterval().toMillis(),
+                    properties.reconcileInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Counts a transfer moving from {@code from} to {@code to}; {@code from}
+     * is {@code null} for a new transfer and {@code to} for a deleted one.
+     * Inside a transaction the delta is applied once it commits.
+     */
+    public void record(String dataType, TransferState from, TransferState to) {
+        if (!properties.enabled() || from == to) {
+            return;
+        }
+        List<Delta> changes = new ArrayList<>(4);
+        if (from != null) {
+            changes.add(new Delta(new Key(Dimension.STATE, from.name()), -1));
+        }
+        if (to != null) {
+            changes.add(new Delta(new Key(Dimension.STATE, to.name()), 1));
+        }
+        if (from == null) {
+            changes.add(new Delta(new Key(Dimension.DATA_TYPE, dataType), 1));
+        } else if (to == null) {
+            changes.add(new Delta(new Key(Dimension.DATA_TYPE, dataType), -1));
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(changes);
+            return;
+        }
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+            if (holder != null) {
+                holder.getEntityManager().unwrap(Session.class).getTransaction()
+                        .registerSynchronization(pending.new CommitGuard());
+                pending.guarded = true;
+            }
+        }
+        pending.deltas.addAll(changes);
+    }
+
+    private void apply(List<Delta> changes) {
+        Map<Key, LongAdder> cells = deltas;
+        for (Delta delta : changes) {
+            cells.computeIfAbsent(delta.key(), key -> new LongAdder()).add(delta.amount());
+        }
+    }
+
+    /**
+     * Current counts, or empty before the first refresh and when counters
+     * are disabled.
+     */
+    public Optional<TransferAnalyticsResponse> snapshot() {
+        Map<Key, Long> loaded = base;
+        if (loaded == null) {
+            return Optional.empty();
+        }
+        Map<String, Long> byState = new HashMap<>();
+        Map<String, Long> byDataType = new HashMap<>();
+        loaded.forEach((key, count) -> add(key, count, byState, byDataType));
+        deltas.forEach((key, cell) -> add(key, cell.sum(), byState, byDataType));
+        byState.values().removeIf(count -> count == 0);
+        byDataType.values().removeIf(count -> count == 0);
+
+        long total = byState.values().stream().mapToLong(Long::longValue).sum();
+        return Optional.of(new TransferAnalyticsResponse(total, byState, byDataType));
+    }
+
+    private static void add(Key key, long count, Map<String, Long> byState, Map<String, Long> byDataType) {
+        Map<String, Long> target = key.dimension() == Dimension.STATE ? byState : byDataType;
+        target.merge(key.key(), count, Long::sum);
+    }
+
+    /**
+     * Reloads the counts from the counters table and drops the local
+     * deltas it now includes. Committing transactions hold the read lock
+     * from before their commit until their deltas are applied; the swap and
+     * the read happen under the write lock. The connection is taken before
+     * the lock, so a full pool of committers cannot starve the refresh.
+     */
+    public void refresh() {
+        List<Object[]> rows = tx.execute(status -> {
+            commits.writeLock().lock();
+            try {
+                deltas = new ConcurrentHashMap<>();
+                return repository.sums();
+            } finally {
+                commits.writeLock().unlock();
+            }
+        });
+        Map<Key, Long> loaded = new HashMap<>();
+        for (Object[] row : rows) {
+            loaded.put(new Key((Dimension) row[0], (String) row[1]), (Long) row[2]);
+        }
+        base = Map.copyOf(loaded);
+    }
+
+    /**
+     * Corrects drift between the counters table and {@code transfers}.
+     */
+    public void reconcile() {
+        Integer corrected = tx.execute(status -> repository.reconcile());
+        if (corrected != null && corrected > 0) {
+            log.warn("Corrected {} drifted transfer counters", corrected);
+            refresh();
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Transfer counter maintenance failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Key(Dimension dimension, String key) {}
+
+    private record Delta(Key key, long amount) {}
+
+    /**
+     * Deltas of one transaction, applied after commit: by its
+     * {@link CommitGuard} in a JPA transaction, otherwise here.
+     */
+    private final class PendingDeltas implements TransactionSynchronization {
+
+        private final List<Delta> deltas = new ArrayList<>();
+        private boolean guarded;
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TransferCounters.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TransferCounters.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!guarded) {
+                apply(deltas);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransferCounters.this);
+        }
+
+        /**
+         * Called by Hibernate after the flush that precedes the commit, and
+         * again right after the commit. Changes recorded during that flush
+         * still register in time.
+         */
+        final class CommitGuard implements Synchronization {
+
+            private boolean locked;
+
+            @Override
+            public void beforeCompletion() {
+                commits.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == Status.STATUS_COMMITTED) {
+                        apply(deltas);
+                    }
+                } finally {
+                    if (locked) {
+                        locked = false;
+                        commits.readLock().unlock();
+                    }
+                }
+            }
+        }
+    }
+}
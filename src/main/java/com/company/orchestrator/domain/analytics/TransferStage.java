@@ -0,0 +1,12 @@
+package com.company.orchestrator.domain.analytics;
+
+/**
+ * Timed sections of a transfer. {@link #END_TO_END} runs from creation
+ * until the transfer completes or fails.
+ */
+public enum TransferStage {
+    POLICY,
+    NEGOTIATION,
+    TRANSFER,
+    END_TO_END
+}
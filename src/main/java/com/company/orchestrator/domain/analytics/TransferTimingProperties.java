@@ -0,0 +1,17 @@
+package com.company.orchestrator.domain.analytics;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param ringMinutes   minutes of histograms kept in memory; must cover the
+ *                      flush interval plus the minute still open
+ * @param flushInterval how often closed minutes are written to the database
+ */
+@ConfigurationProperties(prefix = "orchestrator.analytics.timings")
+public record TransferTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int ringMinutes,
+        @DefaultValue("15s") Duration flushInterval
+) {}
@@ -0,0 +1,286 @@
+package com.company.orchestrator.domain.analytics;
+
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse;
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse.Point;
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse.Series;
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse.StageDurations;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferStageHistogramRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stage durations per minute, data type and provider, kept as
+ * {@link DurationHistogram}s.
+ * <p>
+ * The current minutes live in a ring of per-minute buckets. A background
+ * flush adds every closed minute to {@code transfer_stage_histograms}, where
+ * instances merge into the same rows. A query reads the stored minutes of
+ * the range, adds the ones not flushed yet, in the ring or already pushed
+ * out of it, and merges them into the requested step. It never touches
+ * {@code transfers} or {@code audit_events}.
+ */
+@Slf4j
+@Component
+public class TransferTimings {
+
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final TransferStageHistogramRepository repository;
+    private final TransactionTemplate tx;
+    private final TransferTimingProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReferenceArray<MinuteBucket> ring;
+    /** Buckets pushed out of the ring, until a flush has stored them. */
+    private final Queue<MinuteBucket> evicted = new ConcurrentLinkedQueue<>();
+    /** Flush holds the write lock so a query sees each minute exactly once. */
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public TransferTimings(
+            TransferStageHistogramRepository repository,
+            PlatformTransactionManager transactionManager,
+            TransferTimingProperties properties
+    ) {
+        this(repository, transactionManager, properties, Clock.systemUTC());
+        if (properties.enabled()) {
+            long interval = properties.flushInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    TransferTimings(
+            TransferStageHistogramRepository repository,
+            PlatformTransactionManager transactionManager,
+            TransferTimingProperties properties,
+            Clock clock
+    ) {
+        this.repository = repository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.ring = new AtomicReferenceArray<>(Math.max(2, properties.ringMinutes()));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transfer-timings");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void record(TransferStage stage, String dataType, String providerId, Duration duration) {
+        if (!properties.enabled()) {
+            return;
+        }
+        MinuteBucket bucket = bucket(clock.millis() / MINUTE_MILLIS);
+        bucket.series
+                .computeIfAbsent(new SeriesKey(stage, dataType, providerId), key -> new DurationHistogram())
+                .record(TimeUnit.NANOSECONDS.toMicros(duration.toNanos()));
+    }
+
+    private MinuteBucket bucket(long minute) {
+        int slot = (int) (minute % ring.length());
+        while (true) {
+            MinuteBucket current = ring.get(slot);
+            if (current != null && current.minute == minute) {
+                return current;
+            }
+            if (current != null && current.minute > minute) {
+                // the clock stepped back by more than the ring; count it in the newer minute
+                return current;
+            }
+            MinuteBucket fresh = new MinuteBucket(minute);
+            if (ring.compareAndSet(slot, current, fresh)) {
+                if (current != null && !current.flushed) {
+                    evicted.add(current);
+                }
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Writes every minute that closed before the previous one. The minute
+     * just closed is left for the next run, so recordings that raced with
+     * the minute boundary are not lost.
+     */
+    public void flush() {
+        flushBefore(clock.millis() / MINUTE_MILLIS - 1);
+    }
+
+    /**
+     * Evicted buckets stay queued until the transaction has committed, so a
+     * failed flush leaves them for the next run.
+     */
+    private void flushBefore(long before) {
+        flushLock.writeLock().lock();
+        try {
+            Set<MinuteBucket> buckets = new LinkedHashSet<>();
+            for (MinuteBucket bucket : evicted) {
+                if (!bucket.flushed) {
+                    buckets.add(bucket);
+                }
+            }
+            for (int slot = 0; slot < ring.length(); slot++) {
+                MinuteBucket bucket = ring.get(slot);
+                if (bucket != null && !bucket.flushed && bucket.minute < before) {
+                    buckets.add(bucket);
+                }
+            }
+            List<Object[]> rows = new ArrayList<>();
+            for (MinuteBucket bucket : buckets) {
+                Instant start = Instant.ofEpochMilli(bucket.minute * MINUTE_MILLIS);
+                bucket.series.forEach((key, histogram) -> rows.add(new Object[] {
+                        start, key.stage(), key.dataType(), key.providerId(), histogram.toArray()
+                }));
+            }
+            tx.executeWithoutResult(status -> repository.merge(rows));
+            buckets.forEach(bucket -> bucket.flushed = true);
+            evicted.removeIf(bucket -> bucket.flushed);
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Flushing transfer timings failed", e);
+        }
+    }
+
+    /**
+     * Percentiles per {@code step} (whole minutes, at least one) for the
+     * minutes in {@code [from, to)}, optionally for one data type and/or
+     * provider.
+     */
+    public TransferTimeseriesResponse query(
+            Instant from, Instant to, Duration step, String dataType, String providerId) {
+        long stepMinutes = Math.max(1, step.toMinutes());
+        long stepMillis = stepMinutes * MINUTE_MILLIS;
+        Instant start = Instant.ofEpochMilli(Math.floorDiv(from.toEpochMilli(), MINUTE_MILLIS) * MINUTE_MILLIS);
+
+        Map<SeriesId, TreeMap<Instant, Map<TransferStage, DurationHistogram>>> merged = new LinkedHashMap<>();
+        flushLock.readLock().lock();
+        try {
+            for (Object[] row : repository.find(start, to, dataType, providerId)) {
+                add(merged, stepMillis, (Instant) row[0], (TransferStage) row[1], (String) row[2],
+                        (String) row[3], DurationHistogram.fromArray((long[]) row[4]));
+            }
+            List<MinuteBucket> pending = new ArrayList<>(evicted);
+            for (int slot = 0; slot < ring.length(); slot++) {
+                pending.add(ring.get(slot));
+            }
+            for (MinuteBucket bucket : pending) {
+                if (bucket == null || bucket.flushed) {
+                    continue;
+                }
+                Instant minute = Instant.ofEpochMilli(bucket.minute * MINUTE_MILLIS);
+                if (minute.isBefore(start) || !minute.isBefore(to)) {
+                    continue;
+                }
+                bucket.series.forEach((key, histogram) -> {
+                    if ((dataType == null || dataType.equals(key.dataType()))
+                            && (providerId == null || providerId.equals(key.providerId()))) {
+                        add(merged, stepMillis, minute, key.stage(), key.dataType(), key.providerId(), histogram);
+                    }
+                });
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        List<Series> series = new ArrayList<>();
+        merged.forEach((id, points) -> series.add(new Series(
+                id.dataType(),
+                id.providerId(),
+                points.entrySet().stream()
+                        .map(point -> toPoint(point.getKey(), point.getValue()))
+                        .toList()
+        )));
+        return new TransferTimeseriesResponse(from, to, stepMillis / 1_000, series);
+    }
+
+    private static void add(
+            Map<SeriesId, TreeMap<Instant, Map<TransferStage, DurationHistogram>>> merged,
+            long stepMillis,
+            Instant minute,
+            TransferStage stage,
+            String dataType,
+            String providerId,
+            DurationHistogram histogram
+    ) {
+        Instant bucketStart = Instant.ofEpochMilli(Math.floorDiv(minute.toEpochMilli(), stepMillis) * stepMillis);
+        merged.computeIfAbsent(new SeriesId(dataType, providerId), id -> new TreeMap<>())
+                .computeIfAbsent(bucketStart, start -> new EnumMap<>(TransferStage.class))
+                .computeIfAbsent(stage, s -> new DurationHistogram())
+                .merge(histogram);
+    }
+
+    private static Point toPoint(Instant bucketStart, Map<TransferStage, DurationHistogram> stages) {
+        Map<String, StageDurations> durations = new LinkedHashMap<>();
+        stages.forEach((stage, histogram) -> durations.put(stage.name(), new StageDurations(
+                histogram.count(),
+                histogram.quantile(0.50) / MICROS_PER_MILLI,
+                histogram.quantile(0.95) / MICROS_PER_MILLI,
+                histogram.quantile(0.99) / MICROS_PER_MILLI
+        )));
+        DurationHistogram endToEnd = stages.get(TransferStage.END_TO_END);
+        return new Point(bucketStart, endToEnd == null ? 0 : endToEnd.count(), durations);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            // includes the open minutes, which are lost otherwise
+            flushBefore(Long.MAX_VALUE);
+        } catch (RuntimeException e) {
+            log.warn("Final flush of transfer timings failed", e);
+        }
+    }
+
+    private record SeriesKey(TransferStage stage, String dataType, String providerId) {}
+
+    private record SeriesId(String dataType, String providerId) {}
+
+    private static final class MinuteBucket {
+
+        private final long minute;
+        private final Map<SeriesKey, DurationHistogram> series = new ConcurrentHashMap<>();
+        private volatile boolean flushed;
+
+        private MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.orchestrator.domain.bulk;
+
+import com.company.orchestrator.domain.model.TransferState;
+import java.util.Map;
+
+/**
+ * @param lines non-blank lines read so far
+ * @param rejected lines that were invalid or whose batch failed
+ * @param imported transfers created
+ * @param states the state each created transfer was left in, as returned
+ *               by the orchestrator
+ */
+public record TransferImportProgress(
+        long lines,
+        long rejected,
+        long imported,
+        Map<TransferState, Long> states
+) {}
@@ -0,0 +1,28 @@
+package com.company.orchestrator.domain.bulk;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchSize transfers initiated per transaction
+ * @param queuedBatches parsed batches waiting for a worker before reading
+ *                      the input pauses
+ * @param concurrency workers initiating batches
+ * @param maxLineLength longest accepted line, in characters
+ * @param progressInterval lines between two progress reports
+ * @param directory the only directory files may be imported from; file
+ *                  imports are disabled when it is not set
+ * @param timeout how long an import request may run
+ */
+@ConfigurationProperties(prefix = "orchestrator.import")
+public record TransferImportProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("4") int queuedBatches,
+        @DefaultValue("2") int concurrency,
+        @DefaultValue("65536") int maxLineLength,
+        @DefaultValue("10000") int progressInterval,
+        Path directory,
+        @DefaultValue("6h") Duration timeout
+) {}
@@ -0,0 +1,400 @@
+package com.company.orchestrator.domain.bulk;
+
+import com.company.orchestrator.api.dto.TransferBatchResponse;
+import com.company.orchestrator.api.dto.TransferRequestDto;
+import com.company.orchestrator.domain.exception.InvalidImportException;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.service.TransferOrchestrator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports transfer requests from newline-delimited JSON while holding only
+ * a few batches in memory. The importing thread reads and validates lines
+ * into batches; workers initiate each batch with
+ * {@link TransferOrchestrator#initiateTransfers}, so policy evaluation,
+ * persistence and dispatch end in the same states as for the transfer
+ * endpoints.
+ * <p>
+ * Reading pauses while {@code queuedBatches} batches wait for a worker.
+ * With the pipeline enabled, a worker waits, up to the pipeline's hand-off
+ * timeout per batch, while the negotiation stage is full; without it, the
+ * workers negotiate and transfer themselves.
+ * Either way they move at the pace of the connector.
+ */
+@Slf4j
+@Component
+public class TransferImporter {
+
+    private static final long POLL_MILLIS = 200;
+
+    /**
+     * Receives rejected lines and progress while an import runs. Calls are
+     * never concurrent; an exception thrown by a call aborts the import.
+     */
+    public interface Listener {
+
+        void rejected(long line, String message);
+
+        void progress(TransferImportProgress progress);
+    }
+
+    private record Line(long number, TransferRequestDto request) {}
+
+    private final TransferOrchestrator orchestrator;
+    private final ObjectReader requestReader;
+    private final TransferImportProperties properties;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("transfer-import-", 0).factory());
+
+    public TransferImporter(
+            TransferOrchestrator orchestrator,
+            ObjectMapper objectMapper,
+            TransferImportProperties properties
+    ) {
+        this.orchestrator = orchestrator;
+        this.requestReader = objectMapper.readerFor(TransferRequestDto.class);
+        this.properties = properties;
+    }
+
+    /**
+     * The file named {@code file} in the import directory; links may not
+     * lead out of it.
+     */
+    public Path resolve(String file) {
+        if (properties.directory() == null) {
+            throw new InvalidImportException("File imports are disabled");
+        }
+        try {
+            Path directory = properties.directory().toRealPath();
+            Path path = directory.resolve(file).toRealPath();
+            if (path.startsWith(directory) && Files.isRegularFile(path)) {
+                return path;
+            }
+        } catch (IOException | InvalidPathException e) {
+            log.debug("Cannot import {}: {}", file, e.getMessage());
+        }
+        throw new InvalidImportException("No file " + file + " in the import directory");
+    }
+
+    /**
+     * Runs {@link #importTransfers} on a virtual thread and closes
+     * {@code input} once it is done. Cancelling the returned future
+     * interrupts the import, which then stops reading and initiating.
+     */
+    public CompletableFuture<TransferImportProgress> submit(Reader input, Listener listener) {
+        CompletableFuture<TransferImportProgress> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try (input) {
+                result.complete(importTransfers(input, listener));
+            } catch (IOException e) {
+                result.completeExceptionally(new UncheckedIOException(e));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((progress, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Imports every line of {@code input} and returns the final progress.
+     * Blank lines are skipped; invalid lines are reported to the listener
+     * and do not stop the import.
+     */
+    public TransferImportProgress importTransfers(Reader input, Listener listener) throws IOException {
+        return new Run(listener).execute(input);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class Run {
+
+        private final Listener listener;
+        private final BlockingQueue<List<Line>> queue = new ArrayBlockingQueue<>(properties.queuedBatches());
+        private final Map<TransferState, Long> states = new EnumMap<>(TransferState.class);
+
+        private long lines;
+        private long rejected;
+        private long imported;
+        private long reported;
+        private volatile boolean reading = true;
+        private volatile boolean aborted;
+
+        Run(Listener listener) {
+            this.listener = listener;
+        }
+
+        TransferImportProgress execute(Reader input) throws IOException {
+            List<Thread> workers = new ArrayList<>(properties.concurrency());
+            for (int i = 0; i < properties.concurrency(); i++) {
+                workers.add(Thread.ofVirtual().name("transfer-import-worker-" + i).start(this::work));
+            }
+            try {
+                read(input);
+            } finally {
+                reading = false;
+                for (Thread worker : workers) {
+                    try {
+                        worker.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        aborted = true;
+                        // a worker may be blocked on a full pipeline stage
+                        workers.forEach(Thread::interrupt);
+                        break;
+                    }
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Import interrupted after " + lines + " lines");
+            }
+            return progress();
+        }
+
+        private void read(Reader input) throws IOException {
+            LineReader reader = new LineReader(input, properties.maxLineLength());
+            List<Line> batch = new ArrayList<>(properties.batchSize());
+            long number = 0;
+            String text;
+            while (!aborted && !Thread.currentThread().isInterrupted() && (text = reader.next()) != null) {
+                number++;
+                if (reader.truncated()) {
+                    counted();
+                    reject(number, "Line is longer than " + properties.maxLineLength() + " characters");
+                    continue;
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                counted();
+                TransferRequestDto request = parse(number, text);
+                if (request == null) {
+                    continue;
+                }
+                batch.add(new Line(number, request));
+                if (batch.size() == properties.batchSize()) {
+                    enqueue(batch);
+                    batch = new ArrayList<>(properties.batchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(batch);
+            }
+        }
+
+        private TransferRequestDto parse(long number, String text) {
+            TransferRequestDto request;
+            try {
+                request = requestReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                reject(number, "Invalid JSON: " + e.getOriginalMessage());
+                return null;
+            }
+            if (request == null) {
+                reject(number, "Expected a transfer request object");
+                return null;
+            }
+            String blank = isBlank(request.consumerId()) ? "consumerId"
+                    : isBlank(request.providerId()) ? "providerId"
+                    : isBlank(request.dataType()) ? "dataType"
+                    : null;
+            if (blank != null) {
+                reject(number, blank + " must not be blank");
+                return null;
+            }
+            return request;
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+
+        private void enqueue(List<Line> batch) throws InterruptedIOException {
+            try {
+                while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (aborted) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                aborted = true;
+                throw new InterruptedIOException("Import interrupted after " + lines + " lines");
+            }
+        }
+
+        private void work() {
+            while (!aborted) {
+                List<Line> batch;
+                try {
+                    batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    aborted = true;
+                    return;
+                }
+                if (batch == null) {
+                    if (!reading && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                initiate(batch);
+            }
+        }
+
+        private void initiate(List<Line> batch) {
+            List<TransferRequestDto> requests = batch.stream().map(Line::request).toList();
+            TransferBatchResponse response;
+            try {
+                response = orchestrator.initiateTransfers(requests);
+            } catch (RuntimeException e) {
+                log.warn("Importing lines {} to {} failed",
+                        batch.getFirst().number(), batch.getLast().number(), e);
+                batch.forEach(line -> reject(line.number(), "Batch failed: " + e.getMessage()));
+                return;
+            }
+            imported(response);
+        }
+
+        private synchronized void counted() {
+            lines++;
+        }
+
+        private synchronized void reject(long line, String message) {
+            rejected++;
+            notify(() -> listener.rejected(line, message));
+            report();
+        }
+
+        private synchronized void imported(TransferBatchResponse response) {
+            imported += response.items().size();
+            response.items().forEach(item -> states.merge(item.state(), 1L, Long::sum));
+            report();
+        }
+
+        private void report() {
+            long processed = imported + rejected;
+            if (processed - reported >= properties.progressInterval()) {
+                reported = processed;
+                notify(() -> listener.progress(progress()));
+            }
+        }
+
+        private void notify(Runnable call) {
+            if (aborted) {
+                return;
+            }
+            try {
+                call.run();
+            } catch (RuntimeException e) {
+                log.info("Import aborted after {} lines: {}", lines, e.getMessage());
+                aborted = true;
+            }
+        }
+
+        private synchronized TransferImportProgress progress() {
+            return new TransferImportProgress(lines, rejected, imported,
+                    Collections.unmodifiableMap(new EnumMap<>(states)));
+        }
+    }
+
+    /**
+     * Reads lines of at most {@code maxLength} characters without a
+     * trailing {@code \r}. The rest of a longer line is skipped and the line
+     * is marked as truncated.
+     */
+    static final class LineReader {
+
+        private final Reader input;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        LineReader(Reader input, int maxLength) {
+            this.input = input;
+            this.maxLength = maxLength;
+        }
+
+        /** The next line, or {@code null} at the end of the input. */
+        String next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    int read = input.read(buffer);
+                    position = 0;
+                    limit = Math.max(read, 0);
+                    if (read < 0) {
+                        return started ? finish() : null;
+                    }
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        boolean truncated() {
+            return truncated;
+        }
+
+        private void append(int start, int end) {
+            int room = maxLength - line.length();
+            if (end - start > room) {
+                truncated = true;
+                end = start + Math.max(room, 0);
+            }
+            line.append(buffer, start, end - start);
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+    }
+}
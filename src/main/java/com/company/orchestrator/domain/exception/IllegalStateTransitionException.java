@@ -0,0 +1,9 @@
+package com.company.orchestrator.domain.exception;
+
+import com.company.orchestrator.domain.model.TransferState;
+
+public class IllegalStateTransitionException extends IllegalStateException {
+    public IllegalStateTransitionException(TransferState from, TransferState to) {
+        super("Illegal transfer state transition: " + from + " -> " + to);
+    }
+}
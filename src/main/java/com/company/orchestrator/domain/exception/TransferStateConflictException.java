@@ -0,0 +1,13 @@
+package com.company.orchestrator.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TransferStateConflictException extends RuntimeException {
+    public TransferStateConflictException(UUID id, String message) {
+        super("Transfer " + id + ": " + message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.orchestrator.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Transfer search filters; {@code null} fields do not filter.
+ *
+ * @param createdFrom inclusive lower bound of the creation time
+ * @param createdTo   exclusive upper bound of the creation time
+ */
+public record TransferSearchCriteria(
+        String consumerId,
+        String providerId,
+        String dataType,
+        TransferState state,
+        Instant createdFrom,
+        Instant createdTo
+) {}
@@ -10,5 +10,47 @@ public enum TransferState {
     TRANSFER_IN_PROGRESS,
     COMPLETED,
     FAILED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return switch (this) {
+            case DENIED, COMPLETED, FAILED, CANCELLED -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * The transfer state graph: every non-terminal state moves to its
+     * successor, fails or is cancelled; terminal states never change.
+     */
+    public boolean canTransitionTo(TransferState next) {
+        if (isTerminal()) {
+            return false;
+        }
+        if (next == FAILED || next == CANCELLED) {
+            return true;
+        }
+        return switch (this) {
+            case REQUESTED -> next == POLICY_EVALUATION;
+            case POLICY_EVALUATION -> next == APPROVED || next == DENIED;
+            case APPROVED -> next == CONTRACT_NEGOTIATION;
+            case CONTRACT_NEGOTIATION -> next == NEGOTIATED;
+            case NEGOTIATED -> next == TRANSFER_IN_PROGRESS;
+            case TRANSFER_IN_PROGRESS -> next == COMPLETED;
+            default -> false;
+        };
+    }
+
+    /**
+     * Whether this state is reachable from {@code earlier} through one or
+     * more transitions, i.e. it is the newer of the two.
+     */
+    public boolean follows(TransferState earlier) {
+        for (TransferState next : values()) {
+            if (earlier.canTransitionTo(next) && (next == this || follows(next))) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,133 @@
+package com.company.orchestrator.domain.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One stage of the transfer pipeline: a bounded queue drained by a fixed
+ * number of worker threads.
+ */
+@Slf4j
+final class PipelineStage implements AutoCloseable {
+
+    private static final long POLL_MILLIS = 200;
+
+    private final String name;
+    private final int capacity;
+    private final BlockingQueue<Runnable> queue;
+    private final List<Thread> workers;
+    private volatile boolean running = true;
+
+    PipelineStage(String name, TransferPipelineProperties.Stage config) {
+        this.name = name;
+        this.capacity = config.queueCapacity();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = new ArrayList<>(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            Thread worker = new Thread(this::work, "pipeline-" + name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Enqueues without blocking; returns {@code false} when the stage is full.
+     */
+    boolean offer(Runnable task) {
+        return running && queue.offer(task);
+    }
+
+    /**
+     * Enqueues, blocking while the stage is full so that upstream workers
+     * slow down to the pace of this stage.
+     *
+     * @throws IllegalStateException if the stage is or gets shut down
+     *         before the task could be enqueued
+     */
+    void put(Runnable task) throws InterruptedException {
+        while (running) {
+            if (queue.offer(task, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Pipeline stage " + name + " is shut down");
+    }
+
+    /**
+     * Enqueues, waiting at most {@code timeout} for room in a full stage.
+     * Returns {@code false} if the stage is still full when it runs out.
+     *
+     * @throws IllegalStateException if the stage is or gets shut down
+     *         before the task could be enqueued
+     */
+    boolean offer(Runnable task, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (running) {
+            long remaining = deadline - System.nanoTime();
+            long wait = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS));
+            if (queue.offer(task, wait, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+        }
+        throw new IllegalStateException("Pipeline stage " + name + " is shut down");
+    }
+
+    String name() {
+        return name;
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty()) {
+            Runnable task;
+            try {
+                task = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Pipeline stage {} task failed", name, e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting work and waits for queued tasks to drain.
+     */
+    void shutdown(Duration timeout) {
+        running = false;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                worker.join(Math.max(remaining, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.stream().filter(Thread::isAlive).forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            log.warn("Pipeline stage {} shut down with {} queued tasks", name, queue.size());
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown(Duration.ofSeconds(10));
+    }
+}
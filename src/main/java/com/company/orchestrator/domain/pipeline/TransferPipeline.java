@@ -0,0 +1,261 @@
+package com.company.orchestrator.domain.pipeline;
+
+import com.company.orchestrator.domain.analytics.TransferStage;
+import com.company.orchestrator.domain.analytics.TransferTimings;
+import com.company.orchestrator.domain.model.TransferRequest;
+import com.company.orchestrator.domain.model.TransferResult;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.service.AuditService;
+import com.company.orchestrator.domain.service.PolicyEvaluationService;
+import com.company.orchestrator.domain.status.TransferStatusCache;
+import com.company.orchestrator.infrastructure.edc.EdcConnectorClient;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves accepted transfers through the state machine on stage workers:
+ * policy evaluation, contract negotiation and data transfer each have their
+ * own bounded queue and concurrency. Database work runs in short
+ * transactions; EDC calls run outside of any transaction so a slow
+ * connector does not hold a pooled connection.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orchestrator.pipeline", name = "enabled", havingValue = "true")
+public class TransferPipeline {
+
+    private final TransferRepository repository;
+    private final PolicyEvaluationService policyService;
+    private final AuditService auditService;
+    private final EdcConnectorClient edcConnectorClient;
+    private final TransferTimings timings;
+    private final TransferStatusCache statusCache;
+    private final TransactionTemplate tx;
+    private final Duration handOffTimeout;
+
+    private final PipelineStage policyStage;
+    private final PipelineStage negotiationStage;
+    private final PipelineStage transferStage;
+
+    public TransferPipeline(
+            TransferRepository repository,
+            PolicyEvaluationService policyService,
+            AuditService auditService,
+            EdcConnectorClient edcConnectorClient,
+            PlatformTransactionManager transactionManager,
+            TransferPipelineProperties properties,
+            TransferTimings timings,
+            TransferStatusCache statusCache
+    ) {
+        this.repository = repository;
+        this.policyService = policyService;
+        this.auditService = auditService;
+        this.edcConnectorClient = edcConnectorClient;
+        this.timings = timings;
+        this.statusCache = statusCache;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.handOffTimeout = properties.handOffTimeout();
+
+        this.policyStage = new PipelineStage("policy", properties.policy());
+        this.negotiationStage = new PipelineStage("negotiation", properties.negotiation());
+        this.transferStage = new PipelineStage("transfer", properties.transfer());
+    }
+
+    /**
+     * Hands a persisted {@link TransferState#REQUESTED} transfer to the
+     * pipeline. If the policy stage is saturated the transfer is failed
+     * immediately instead of being left in REQUESTED.
+     */
+    public void submit(TransferRequest request) {
+        UUID transferId = request.transferId();
+        if (!policyStage.offer(() -> run(transferId, () -> evaluatePolicy(request)))) {
+            log.warn("Policy stage saturated, rejecting transfer {}", transferId);
+            complete(transferId, TransferResult.failure("Transfer pipeline saturated"));
+        }
+    }
+
+    /**
+     * Hands a persisted {@link TransferState#APPROVED} transfer, whose
+     * policy was already evaluated, straight to the negotiation stage.
+     * Waits up to {@code maxWait} while that stage is full, so a bulk
+     * producer submits approved transfers at the pace of the connector,
+     * but a stalled connector cannot hold the caller indefinitely.
+     *
+     * @return {@code false} if the transfer was failed instead: the stage
+     *         stayed full for {@code maxWait}, shut down, or the calling
+     *         thread was interrupted while it waited
+     */
+    public boolean submitApproved(TransferRequest request, Duration maxWait) {
+        UUID transferId = request.transferId();
+        try {
+            if (negotiationStage.offer(() -> run(transferId, () -> negotiate(request)), maxWait)) {
+                return true;
+            }
+            log.warn("Negotiation stage full, rejecting transfer {}", transferId);
+            complete(transferId, TransferResult.failure("Transfer pipeline saturated"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete(transferId,
+                    TransferResult.failure("Interrupted before stage " + negotiationStage.name()));
+        } catch (IllegalStateException e) {
+            complete(transferId, TransferResult.failure(e.getMessage()));
+        }
+        return false;
+    }
+
+    /**
+     * The total time a batch may wait in {@link #submitApproved} for room
+     * in a full negotiation stage.
+     */
+    public Duration handOffTimeout() {
+        return handOffTimeout;
+    }
+
+    private void evaluatePolicy(TransferRequest request) {
+        UUID transferId = request.transferId();
+        Boolean approved = tx.execute(status -> {
+            if (!repository.transition(transferId, TransferState.REQUESTED, TransferState.POLICY_EVALUATION)) {
+                return false;
+            }
+            long started = System.nanoTime();
+            var result = policyService.evaluate(
+                    request.policy(),
+                    request.policyContext()
+            );
+            time(TransferStage.POLICY, request, started);
+            auditService.logPolicyEvaluation(transferId, result);
+            TransferState decision = result.allowed() ? TransferState.APPROVED : TransferState.DENIED;
+            if (!repository.transition(transferId, TransferState.POLICY_EVALUATION, decision)) {
+                return false;
+            }
+            statusCache.update(transferId, decision, Instant.now());
+            return result.allowed();
+        });
+        if (Boolean.TRUE.equals(approved)) {
+            handOff(negotiationStage, transferId, () -> negotiate(request));
+        }
+    }
+
+    private void negotiate(TransferRequest request) {
+        UUID transferId = request.transferId();
+        if (!advance(transferId, TransferState.APPROVED, TransferState.CONTRACT_NEGOTIATION)) {
+            return;
+        }
+        long started = System.nanoTime();
+        ContractNegotiationResult negotiation = edcConnectorClient.negotiateContract(
+                new ContractNegotiationRequest(
+                        request.consumerId(),
+                        request.providerId(),
+                        request.dataType()
+                )
+        );
+        time(TransferStage.NEGOTIATION, request, started);
+        if (!negotiation.success()) {
+            complete(transferId, TransferResult.failure(negotiation.errorMessage()));
+            return;
+        }
+        if (!advance(transferId, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED)) {
+            return;
+        }
+        handOff(transferStage, transferId,
+                () -> transfer(request, negotiation.contractAgreementId()));
+    }
+
+    private void transfer(TransferRequest request, String contractAgreementId) {
+        UUID transferId = request.transferId();
+        if (!advance(transferId, TransferState.NEGOTIATED, TransferState.TRANSFER_IN_PROGRESS)) {
+            return;
+        }
+        long started = System.nanoTime();
+        DataTransferResult result = edcConnectorClient.initiateTransfer(
+                new DataTransferRequest(
+                        contractAgreementId,
+                        UUID.randomUUID().toString(),
+                        UUID.randomUUID().toString(),
+                        request.providerId())
+        );
+        time(TransferStage.TRANSFER, request, started);
+        complete(transferId, result.success()
+                ? TransferResult.ok()
+                : TransferResult.failure(result.errorMessage()));
+    }
+
+    /**
+     * Moves the transfer from {@code from} to {@code to}; returns
+     * {@code false} if it has left {@code from} in the meantime, e.g.
+     * because it was cancelled.
+     */
+    private boolean advance(UUID transferId, TransferState from, TransferState to) {
+        return Boolean.TRUE.equals(tx.execute(status -> {
+            if (!repository.transition(transferId, from, to)) {
+                return false;
+            }
+            auditService.logStateTransition(transferId, from, to);
+            statusCache.update(transferId, to, Instant.now());
+            return true;
+        }));
+    }
+
+    private void complete(UUID transferId, TransferResult result) {
+        TransferState terminal = result.success() ? TransferState.COMPLETED : TransferState.FAILED;
+        tx.executeWithoutResult(status ->
+                repository.transitionFromCurrent(transferId, terminal)
+                        .ifPresent(from -> {
+                            auditService.logStateTransition(transferId, from, terminal);
+                            auditService.logTransferCompletion(transferId, result);
+                            statusCache.update(transferId, terminal, Instant.now());
+                            repository.findById(transferId).ifPresent(entity ->
+                                    timings.record(TransferStage.END_TO_END, entity.getDataType(),
+                                            entity.getProviderId(),
+                                            Duration.between(entity.getCreatedAt(), Instant.now())));
+                        })
+        );
+    }
+
+    private void time(TransferStage stage, TransferRequest request, long startedNanos) {
+        timings.record(stage, request.dataType(), request.providerId(),
+                Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    private void handOff(PipelineStage stage, UUID transferId, Runnable step) {
+        try {
+            stage.put(() -> run(transferId, step));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete(transferId, TransferResult.failure("Interrupted before stage " + stage.name()));
+        } catch (IllegalStateException e) {
+            complete(transferId, TransferResult.failure(e.getMessage()));
+        }
+    }
+
+    private void run(UUID transferId, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            log.error("Transfer {} failed in pipeline", transferId, e);
+            complete(transferId, TransferResult.failure(e.getMessage()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        Duration timeout = Duration.ofSeconds(10);
+        policyStage.shutdown(timeout);
+        negotiationStage.shutdown(timeout);
+        transferStage.shutdown(timeout);
+    }
+}
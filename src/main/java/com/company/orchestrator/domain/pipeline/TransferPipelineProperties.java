@@ -0,0 +1,25 @@
+package com.company.orchestrator.domain.pipeline;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param handOffTimeout how long a batch may wait in total for room in a
+ *                       full negotiation stage before its remaining
+ *                       approved transfers are failed as queue full
+ */
+@ConfigurationProperties(prefix = "orchestrator.pipeline")
+public record TransferPipelineProperties(
+        boolean enabled,
+        @DefaultValue Stage policy,
+        @DefaultValue Stage negotiation,
+        @DefaultValue Stage transfer,
+        @DefaultValue("5s") Duration handOffTimeout
+) {
+
+    public record Stage(
+            @DefaultValue("1000") int queueCapacity,
+            @DefaultValue("4") int concurrency
+    ) {}
+}
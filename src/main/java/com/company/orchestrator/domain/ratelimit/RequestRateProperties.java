@@ -0,0 +1,11 @@
+package com.company.orchestrator.domain.ratelimit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "orchestrator.rate-limit")
+public record RequestRateProperties(
+        @DefaultValue("1h") Duration window,
+        @DefaultValue("60") int buckets
+) {}
@@ -0,0 +1,164 @@
+package com.company.orchestrator.domain.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-consumer request counts over a sliding window, kept as a ring of time
+ * buckets per consumer. Recording is a CAS on one bucket; reading sums the
+ * ring. Consumers that stay idle for a whole window are evicted, so memory
+ * follows the number of recently active consumers. No operation takes a
+ * global lock.
+ */
+@Component
+public class SlidingWindowRequestCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final int buckets;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final AtomicLong nextSweepSlot = new AtomicLong();
+
+    @Autowired
+    public SlidingWindowRequestCounter(RequestRateProperties properties) {
+        this(properties.window(), properties.buckets(), System::currentTimeMillis);
+    }
+
+    public SlidingWindowRequestCounter(Duration window, int buckets, LongSupplier clockMillis) {
+        if (buckets < 1 || window.toMillis() < buckets) {
+            throw new IllegalArgumentException(
+                    "Window " + window + " cannot be split into " + buckets + " buckets");
+        }
+        this.buckets = buckets;
+        this.bucketMillis = window.toMillis() / buckets;
+        this.clock = clockMillis;
+    }
+
+    /**
+     * Records one request and returns the number of requests, including this
+     * one, that the consumer made within the window.
+     */
+    public long record(String consumerId) {
+        long slot = clock.getAsLong() / bucketMillis;
+        Window window = activate(consumerId, slot);
+        window.increment(slot);
+        sweepIfDue(slot);
+        return window.sum(slot);
+    }
+
+    /**
+     * Returns the consumer's request count within the window without
+     * recording a request.
+     */
+    public long count(String consumerId) {
+        Window window = windows.get(consumerId);
+        return window == null ? 0 : window.sum(clock.getAsLong() / bucketMillis);
+    }
+
+    public int trackedConsumers() {
+        return windows.size();
+    }
+
+    private Window activate(String consumerId, long slot) {
+        while (true) {
+            Window window = windows.get(consumerId);
+            if (window == null) {
+                window = windows.computeIfAbsent(consumerId, key -> new Window(buckets));
+            }
+            if (window.touch(slot)) {
+                return window;
+            }
+            // retired by a concurrent sweep; help remove it and start over
+            windows.remove(consumerId, window);
+        }
+    }
+
+    private void sweepIfDue(long slot) {
+        long due = nextSweepSlot.get();
+        if (slot < due || !nextSweepSlot.compareAndSet(due, slot + 1)) {
+            return;
+        }
+        long idleBefore = slot - buckets;
+        windows.forEach((consumerId, window) -> {
+            if (window.retireIfIdle(idleBefore)) {
+                windows.remove(consumerId, window);
+            }
+        });
+    }
+
+    private static final class Window {
+
+        /** Each cell packs the bucket's slot number above a request count. */
+        private final AtomicLongArray cells;
+        private final AtomicLong lastSlot = new AtomicLong();
+
+        Window(int buckets) {
+            this.cells = new AtomicLongArray(buckets);
+        }
+
+        /**
+         * Marks the window active in {@code slot}; fails once it is retired.
+         */
+        boolean touch(long slot) {
+            while (true) {
+                long last = lastSlot.get();
+                if (last == RETIRED) {
+                    return false;
+                }
+                if (last >= slot || lastSlot.compareAndSet(last, slot)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean retireIfIdle(long idleBefore) {
+            long last = lastSlot.get();
+            return last != RETIRED
+                    && last <= idleBefore
+                    && lastSlot.compareAndSet(last, RETIRED);
+        }
+
+        void increment(long slot) {
+            int index = (int) Math.floorMod(slot, (long) cells.length());
+            while (true) {
+                long cell = cells.get(index);
+                long cellSlot = cell >>> COUNT_BITS;
+                long next;
+                if (cellSlot >= slot) {
+                    if ((cell & COUNT_MASK) == COUNT_MASK) {
+                        return; // saturated
+                    }
+                    next = cell + 1;
+                } else {
+                    next = (slot << COUNT_BITS) | 1;
+                }
+                if (cells.compareAndSet(index, cell, next)) {
+                    return;
+                }
+            }
+        }
+
+        long sum(long slot) {
+            long oldest = slot - cells.length();
+            long total = 0;
+            for (int i = 0; i < cells.length(); i++) {
+                long cell = cells.get(i);
+                long cellSlot = cell >>> COUNT_BITS;
+                if (cellSlot > oldest && cellSlot <= slot) {
+                    total += cell & COUNT_MASK;
+                }
+            }
+            return total;
+        }
+    }
+}
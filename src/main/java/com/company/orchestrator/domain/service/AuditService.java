@@ -4,12 +4,14 @@ import com.company.orchestrator.audit.ComplianceReport;
 import com.company.orchestrator.domain.model.TransferRequest;
 import com.company.orchestrator.domain.model.TransferResult;
 import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventExporter;
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
 import com.company.orchestrator.policy.PolicyEvaluationResult;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collector;
 
 public interface AuditService {
 
@@ -20,6 +22,16 @@ public interface AuditService {
             PolicyEvaluationResult result
     );
 
+    /**
+     * Logs the request and the policy evaluation of each transfer of a
+     * batch; {@code results} are in the order of {@code requests}. The
+     * events are inserted in JDBC batches at flush.
+     */
+    void logTransferRequests(
+            List<TransferRequest> requests,
+            List<PolicyEvaluationResult> results
+    );
+
     void logStateTransition(
             UUID transferId,
             TransferState from,
@@ -33,8 +45,31 @@ public interface AuditService {
 
     List<AuditEventEntity> getAuditTrail(UUID transferId);
 
+    /**
+     * The audit trail of a transfer in time order, continuing after the
+     * event {@code after} if it is set, read as it is written out.
+     */
+    AuditEventExporter.Export exportAuditTrail(UUID transferId, UUID after);
+
+    /**
+     * Every audit event within {@code [from, to)} in time order, continuing
+     * after the event {@code after} if it is set, read as it is written out.
+     */
+    AuditEventExporter.Export exportAuditEvents(Instant from, Instant to, UUID after);
+
     ComplianceReport generateComplianceReport(
             Instant from,
             Instant to
     );
+
+    /**
+     * Folds every audit event in the window into {@code collector} while
+     * streaming them from the database, for breakdowns the report does not
+     * cover. Memory use is that of the collector's result container.
+     */
+    <R> R aggregateAuditEvents(
+            Instant from,
+            Instant to,
+            Collector<? super AuditEventEntity, ?, R> collector
+    );
 }
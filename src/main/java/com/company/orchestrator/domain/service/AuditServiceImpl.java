@@ -1,20 +1,34 @@
 package com.company.orchestrator.domain.service;
 
 import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.AuditActor;
 import com.company.orchestrator.audit.ComplianceReport;
 import com.company.orchestrator.domain.model.TransferRequest;
 import com.company.orchestrator.domain.model.TransferResult;
 import com.company.orchestrator.domain.model.TransferState;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventExporter;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventWriter;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditReasonDictionary;
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
 import com.company.orchestrator.infrastructure.persistence.repository.AuditEventRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository.Granularity;
 import com.company.orchestrator.policy.PolicyEvaluationResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
@@ -23,19 +37,31 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuditServiceImpl implements AuditService {
 
     private final AuditEventRepository repository;
+    private final AuditRollupRepository rollups;
+    private final ObjectProvider<AuditEventWriter> writer;
+    private final AuditEventExporter exporter;
+    private final AuditReasonDictionary reasons;
 
-    public AuditServiceImpl(AuditEventRepository repository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AuditServiceImpl(
+            AuditEventRepository repository,
+            AuditRollupRepository rollups,
+            ObjectProvider<AuditEventWriter> writer,
+            AuditEventExporter exporter,
+            AuditReasonDictionary reasons
+    ) {
         this.repository = repository;
+        this.rollups = rollups;
+        this.writer = writer;
+        this.exporter = exporter;
+        this.reasons = reasons;
     }
 
     @Override
     public void logTransferRequest(TransferRequest request) {
-        save(
-                request.transferId(),
-                AuditAction.TRANSFER_REQUESTED,
-                "API",
-                "Consumer=" + request.consumerId()
-        );
+        save(requestEvent(request));
     }
 
     @Override
@@ -43,12 +69,41 @@ public class AuditServiceImpl implements AuditService {
             UUID transferId,
             PolicyEvaluationResult result
     ) {
-        save(
-                transferId,
-                AuditAction.POLICY_EVALUATED,
-                "POLICY_ENGINE",
-                result.allowed() ? "APPROVED" : "DENIED: " + result.violationReason()
-        );
+        save(policyEvent(transferId, result));
+    }
+
+    @Override
+    public void logTransferRequests(
+            List<TransferRequest> requests,
+            List<PolicyEvaluationResult> results
+    ) {
+        AuditEventWriter auditWriter = writer.getIfAvailable();
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            AuditEventEntity requested = requestEvent(request);
+            AuditEventEntity evaluated = policyEvent(request.transferId(), results.get(i));
+            if (auditWriter != null) {
+                auditWriter.append(requested);
+                auditWriter.append(evaluated);
+            } else {
+                // persist rather than save: the ids are assigned, so save
+                // would merge and select every event before inserting it
+                entityManager.persist(requested);
+                entityManager.persist(evaluated);
+            }
+        }
+    }
+
+    private static AuditEventEntity requestEvent(TransferRequest request) {
+        return AuditEventEntity.transferRequested(request.transferId(), request.consumerId());
+    }
+
+    private AuditEventEntity policyEvent(UUID transferId, PolicyEvaluationResult result) {
+        if (result.allowed()) {
+            return AuditEventEntity.policyApproved(transferId);
+        }
+        String reason = result.violationReason();
+        return AuditEventEntity.policyDenied(transferId, reason == null ? null : reasons.id(reason), reason);
     }
 
     @Override
@@ -57,12 +112,7 @@ public class AuditServiceImpl implements AuditService {
             TransferState from,
             TransferState to
     ) {
-        save(
-                transferId,
-                AuditAction.STATE_TRANSITION,
-                "ORCHESTRATOR",
-                from + " -> " + to
-        );
+        save(AuditEventEntity.stateTransition(transferId, from, to));
     }
 
     @Override
@@ -70,20 +120,38 @@ public class AuditServiceImpl implements AuditService {
             UUID transferId,
             TransferResult result
     ) {
-        save(
+        save(new AuditEventEntity(
                 transferId,
                 result.success()
                         ? AuditAction.TRANSFER_COMPLETED
                         : AuditAction.TRANSFER_FAILED,
-                "ORCHESTRATOR",
+                AuditActor.ORCHESTRATOR,
                 result.message()
-        );
+        ));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AuditEventEntity> getAuditTrail(UUID transferId) {
-        return repository.findByTransferIdOrderByTimestampAsc(transferId);
+        List<AuditEventEntity> events = repository.findByTransferIdOrderByTimestampAsc(transferId);
+        events.forEach(event -> event.resolveReason(reasons::reason));
+        return events;
+    }
+
+    /**
+     * Runs outside a transaction: the export reads each chunk in a
+     * transaction of its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuditEventExporter.Export exportAuditTrail(UUID transferId, UUID after) {
+        return exporter.transfer(transferId, after);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuditEventExporter.Export exportAuditEvents(Instant from, Instant to, UUID after) {
+        return exporter.between(from, to, after);
     }
 
     @Override
@@ -92,12 +160,32 @@ public class AuditServiceImpl implements AuditService {
             Instant from,
             Instant to
     ) {
-        var events = repository.findByTimestampBetween(from, to);
-
         var counts = new EnumMap<AuditAction, Long>(AuditAction.class);
-        events.forEach(e ->
-                counts.merge(e.getAction(), 1L, Long::sum)
+        // whole sealed hours (and days within them) come from the rollups,
+        // the partial hours at either end from audit_events
+        Instant firstHour = ceil(from, ChronoUnit.HOURS);
+        Instant endHour = min(
+                to.truncatedTo(ChronoUnit.HOURS),
+                rollups.sealedUntil(Granularity.HOUR).orElse(firstHour)
         );
+        if (firstHour.isBefore(endHour)) {
+            addCounts(counts, repository.countByActionFromUntil(from, firstHour));
+            Instant firstDay = ceil(firstHour, ChronoUnit.DAYS);
+            Instant endDay = min(
+                    endHour.truncatedTo(ChronoUnit.DAYS),
+                    rollups.sealedUntil(Granularity.DAY).orElse(firstDay)
+            );
+            if (firstDay.isBefore(endDay)) {
+                addCounts(counts, rollups.countByAction(Granularity.HOUR, firstHour, firstDay));
+                addCounts(counts, rollups.countByAction(Granularity.DAY, firstDay, endDay));
+                addCounts(counts, rollups.countByAction(Granularity.HOUR, endDay, endHour));
+            } else {
+                addCounts(counts, rollups.countByAction(Granularity.HOUR, firstHour, endHour));
+            }
+            addCounts(counts, repository.countByActionBetween(endHour, to));
+        } else {
+            addCounts(counts, repository.countByActionBetween(from, to));
+        }
 
         long completed =
                 counts.getOrDefault(AuditAction.TRANSFER_COMPLETED, 0L);
@@ -114,12 +202,42 @@ public class AuditServiceImpl implements AuditService {
         );
     }
 
-    private void save(
-            UUID transferId,
-            AuditAction action,
-            String actor,
-            String metadata
+    @Override
+    @Transactional(readOnly = true)
+    public <R> R aggregateAuditEvents(
+            Instant from,
+            Instant to,
+            Collector<? super AuditEventEntity, ?, R> collector
     ) {
-    repository.save(new AuditEventEntity(transferId, action, actor, metadata));
+        try (Stream<AuditEventEntity> events = repository.streamByTimestampBetween(from, to)) {
+            // detach each row so the persistence context does not grow with the window
+            return events.peek(entityManager::detach).collect(collector);
+        }
+    }
+
+    private static void addCounts(Map<AuditAction, Long> counts, List<Object[]> rows) {
+        rows.forEach(row ->
+                counts.merge((AuditAction) row[0], ((Number) row[1]).longValue(), Long::sum)
+        );
+    }
+
+    private static Instant ceil(Instant instant, ChronoUnit unit) {
+        Instant floor = instant.truncatedTo(unit);
+        return floor.equals(instant) ? floor : floor.plus(1, unit);
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private void save(AuditEventEntity event) {
+        AuditEventWriter auditWriter = writer.getIfAvailable();
+        if (auditWriter != null) {
+            auditWriter.append(event);
+        } else {
+            // persist rather than save, as in logTransferRequests: a merge would
+            // select the assigned id first, in every partition of audit_events
+            entityManager.persist(event);
+        }
     }
 }
@@ -3,12 +3,17 @@ package com.company.orchestrator.domain.service;
 import com.company.orchestrator.policy.Policy;
 import com.company.orchestrator.policy.PolicyContext;
 import com.company.orchestrator.policy.PolicyEvaluationResult;
+import com.company.orchestrator.policy.compiled.CompiledPolicy;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PolicyEvaluationService {
 
     public PolicyEvaluationResult evaluate(Policy policy, PolicyContext ctx) {
+        if (policy instanceof CompiledPolicy compiled) {
+            // compiled programs only hand out immutable, shared results
+            return compiled.evaluate(ctx);
+        }
         PolicyEvaluationResult result = policy.evaluate(ctx);
         return new PolicyEvaluationResult(
                 result.allowed(),
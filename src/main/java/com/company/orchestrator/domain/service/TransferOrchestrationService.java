@@ -1,14 +1,25 @@
 package com.company.orchestrator.domain.service;
 
-import com.company.orchestrator.api.controller.DemoPolicies;
 import com.company.orchestrator.api.dto.TransferAnalyticsResponse;
+import com.company.orchestrator.api.dto.TransferBatchResponse;
 import com.company.orchestrator.api.dto.TransferRequestDto;
+import com.company.orchestrator.api.dto.TransferSliceResponse;
 import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse;
+import com.company.orchestrator.domain.analytics.TransferCounters;
+import com.company.orchestrator.domain.analytics.TransferStage;
+import com.company.orchestrator.domain.analytics.TransferTimings;
 import com.company.orchestrator.domain.exception.TransferNotFoundException;
+import com.company.orchestrator.domain.exception.TransferStateConflictException;
 import com.company.orchestrator.domain.model.*;
+import com.company.orchestrator.domain.pipeline.TransferPipeline;
+import com.company.orchestrator.domain.ratelimit.SlidingWindowRequestCounter;
+import com.company.orchestrator.domain.status.TransferStatusCache;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,16 +31,26 @@ import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationReques
 import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
 import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
 import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventExporter;
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
 import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
 import com.company.orchestrator.infrastructure.persistence.repository.TransferRepository;
 import com.company.orchestrator.policy.Policy;
 import com.company.orchestrator.policy.PolicyContext;
+import com.company.orchestrator.policy.PolicyEvaluationResult;
+import com.company.orchestrator.policy.registry.PolicyRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
@@ -37,115 +58,379 @@ import org.springframework.transaction.annotation.Transactional;
 public class TransferOrchestrationService
         implements TransferOrchestrator {
 
+    private static final ZoneId CONSUMER_ZONE = ZoneId.of("CET");
+    private static final int MAX_SLICE_SIZE = 1000;
+
     private final TransferRepository repository;
     private final PolicyEvaluationService policyService;
     private final AuditService auditService;
     private final EdcConnectorClient edcConnectorClient;
+    private final ObjectProvider<TransferPipeline> pipeline;
+    private final SlidingWindowRequestCounter requestCounter;
+    private final PolicyRegistry policyRegistry;
+    private final TransferCounters counters;
+    private final TransferTimings timings;
+    private final TransferStatusCache statusCache;
+    private final TransactionTemplate tx;
 
     public TransferOrchestrationService(
             TransferRepository repository,
             PolicyEvaluationService policyService,
             AuditService auditService,
-            EdcConnectorClient edcConnectorClient
+            EdcConnectorClient edcConnectorClient,
+            ObjectProvider<TransferPipeline> pipeline,
+            SlidingWindowRequestCounter requestCounter,
+            PolicyRegistry policyRegistry,
+            TransferCounters counters,
+            TransferTimings timings,
+            TransferStatusCache statusCache,
+            PlatformTransactionManager transactionManager
     ) {
         this.repository = repository;
         this.policyService = policyService;
         this.auditService = auditService;
         this.edcConnectorClient = edcConnectorClient;
+        this.pipeline = pipeline;
+        this.requestCounter = requestCounter;
+        this.policyRegistry = policyRegistry;
+        this.counters = counters;
+        this.timings = timings;
+        this.statusCache = statusCache;
+        this.tx = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Runs the whole workflow in the inserting transaction. Nobody else can
+     * see the transfer before commit, so its state changes in memory and is
+     * written with the insert's single follow-up update.
+     */
     @Override
     public UUID initiateTransfer(TransferRequestDto dto) {
-        Policy policy = DemoPolicies.defaultPolicy();
-
-        PolicyContext context = new PolicyContext(
-                dto.consumerId(),
-                dto.providerId(),
-                dto.dataType(),
-                "EU",
-                Set.of("ISO_9001"),
-                "QUALITY_ANALYSIS",
-                Instant.now(),
-                ZoneId.of("CET"),
-                10
-        );
         TransferEntity entity =  new TransferEntity(
                 dto.consumerId(),
                 dto.providerId(),
                 dto.dataType()
         );
         entity = repository.save(entity);
-        TransferRequest request = new TransferRequest(
-                entity.getId(),
-                dto.consumerId(),
-                dto.providerId(),
-                dto.dataType(),
-                policy,
-                context
-        );
+        TransferRequest request = newRequest(entity.getId(), dto);
         auditService.logTransferRequest(request);
-        entity.setState(TransferState.POLICY_EVALUATION);
+        entity.transitionTo(TransferState.POLICY_EVALUATION);
+        long started = System.nanoTime();
         var result = policyService.evaluate(
                 request.policy(),
                 request.policyContext()
         );
+        time(TransferStage.POLICY, dto, started);
         auditService.logPolicyEvaluation(
                 entity.getId(),
                 result
         );
         if (!result.allowed()) {
-            entity.setState(TransferState.DENIED);
+            entity.transitionTo(TransferState.DENIED);
+            statusCache.update(entity.getId(), entity.getState(), entity.getUpdatedAt());
             return entity.getId();
         }
-        entity.setState(TransferState.APPROVED);
+        entity.transitionTo(TransferState.APPROVED);
+        connect(entity, request, dto);
+        statusCache.update(entity.getId(), entity.getState(), entity.getUpdatedAt());
+        return entity.getId();
+    }
+
+    /**
+     * Negotiates and starts the data transfer of an approved transfer,
+     * moving it to its final state in memory.
+     */
+    private void connect(TransferEntity entity, TransferRequest request, TransferRequestDto dto) {
         // EDC steps handled in infrastructure layer
         auditService.logStateTransition(entity.getId(), entity.getState(), TransferState.CONTRACT_NEGOTIATION);
+        entity.transitionTo(TransferState.CONTRACT_NEGOTIATION);
+        long started = System.nanoTime();
         ContractNegotiationResult contractNegotiationResult = edcConnectorClient.negotiateContract(new ContractNegotiationRequest(request.consumerId(), request.providerId(), request.dataType()));
-        entity.setState(TransferState.NEGOTIATED);
+        time(TransferStage.NEGOTIATION, dto, started);
+        if (!contractNegotiationResult.success()) {
+            auditService.logStateTransition(entity.getId(), entity.getState(), TransferState.FAILED);
+            entity.transitionTo(TransferState.FAILED);
+            timings.record(TransferStage.END_TO_END, dto.dataType(), dto.providerId(),
+                    Duration.between(entity.getCreatedAt(), Instant.now()));
+            return;
+        }
+        entity.transitionTo(TransferState.NEGOTIATED);
         auditService.logStateTransition(entity.getId(), TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
         auditService.logStateTransition(entity.getId(), entity.getState(), TransferState.TRANSFER_IN_PROGRESS);
+        entity.transitionTo(TransferState.TRANSFER_IN_PROGRESS);
+        started = System.nanoTime();
         DataTransferResult dataTransferResult = edcConnectorClient.initiateTransfer(
                 new DataTransferRequest(
                         contractNegotiationResult.contractAgreementId(),
                         UUID.randomUUID().toString(),
-                        UUID.randomUUID().toString())
+                        UUID.randomUUID().toString(),
+                        request.providerId())
         );
-        entity.setState(TransferState.TRANSFER_IN_PROGRESS);
+        time(TransferStage.TRANSFER, dto, started);
         if(dataTransferResult.success()){
             auditService.logStateTransition(entity.getId(), entity.getState(), TransferState.COMPLETED);
-            entity.setState(TransferState.COMPLETED);
+            entity.transitionTo(TransferState.COMPLETED);
         } else {
             auditService.logStateTransition(entity.getId(), entity.getState(), TransferState.FAILED);
-            entity.setState(TransferState.FAILED);
+            entity.transitionTo(TransferState.FAILED);
         }
-        entity = repository.save(entity);
+        timings.record(TransferStage.END_TO_END, dto.dataType(), dto.providerId(),
+                Duration.between(entity.getCreatedAt(), Instant.now()));
+    }
+
+    @Override
+    public UUID submitTransfer(TransferRequestDto dto) {
+        TransferPipeline transferPipeline = pipeline.getIfAvailable();
+        if (transferPipeline == null) {
+            throw new IllegalStateException("Asynchronous transfer pipeline is disabled");
+        }
+        TransferEntity entity = repository.save(new TransferEntity(
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType()
+        ));
+        TransferRequest request = newRequest(entity.getId(), dto);
+        auditService.logTransferRequest(request);
+        statusCache.update(entity.getId(), entity.getState(), entity.getUpdatedAt());
+        afterCommit(() -> transferPipeline.submit(request));
         return entity.getId();
     }
 
+    /**
+     * Evaluates the policy of every transfer before anything is written.
+     * The transfers are then persisted in their decided state, so each is
+     * a single insert, and Hibernate sends them and their request and
+     * policy audit events to the database in JDBC batches at flush.
+     * Approved transfers are only connected once that batch has committed:
+     * they continue in the pipeline, or without it are negotiated and
+     * transferred here one by one, outside of any transaction, so the
+     * connector calls of a large batch do not hold a pooled connection.
+     * Hand-offs to a full pipeline wait at most its hand-off timeout for
+     * the whole batch; approved transfers still waiting then are failed
+     * and reported as {@link TransferBatchResponse.Rejection#QUEUE_FULL}.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public TransferStatus getTransferStatus(UUID transferId) {
-        var entity = repository.findById(transferId)
-                .orElseThrow(() -> new TransferNotFoundException(transferId));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransferBatchResponse initiateTransfers(List<TransferRequestDto> dtos) {
+        TransferPipeline transferPipeline = pipeline.getIfAvailable();
+        List<TransferEntity> entities = new ArrayList<>(dtos.size());
+        List<TransferRequest> requests = new ArrayList<>(dtos.size());
+        List<PolicyEvaluationResult> results = new ArrayList<>(dtos.size());
+        for (TransferRequestDto dto : dtos) {
+            TransferEntity entity = new TransferEntity(
+                    dto.consumerId(),
+                    dto.providerId(),
+                    dto.dataType()
+            );
+            TransferRequest request = newRequest(entity.getId(), dto);
+            entity.transitionTo(TransferState.POLICY_EVALUATION);
+            long started = System.nanoTime();
+            PolicyEvaluationResult result = policyService.evaluate(
+                    request.policy(),
+                    request.policyContext()
+            );
+            time(TransferStage.POLICY, dto, started);
+            entity.transitionTo(result.allowed() ? TransferState.APPROVED : TransferState.DENIED);
+            entities.add(entity);
+            requests.add(request);
+            results.add(result);
+        }
+        tx.executeWithoutResult(status -> {
+            repository.saveAll(entities);
+            auditService.logTransferRequests(requests, results);
+        });
 
-        return new TransferStatus(
-                entity.getId(),
-                entity.getState(),
-                entity.getUpdatedAt()
+        List<TransferBatchResponse.Item> items = new ArrayList<>(dtos.size());
+        long handOffDeadline = transferPipeline == null ? 0
+                : System.nanoTime() + transferPipeline.handOffTimeout().toNanos();
+        for (int i = 0; i < entities.size(); i++) {
+            TransferEntity entity = entities.get(i);
+            TransferState state = entity.getState();
+            TransferBatchResponse.Rejection rejection = null;
+            statusCache.update(entity.getId(), state, entity.getUpdatedAt());
+            if (state == TransferState.APPROVED) {
+                if (transferPipeline != null) {
+                    Duration maxWait = Duration.ofNanos(Math.max(handOffDeadline - System.nanoTime(), 0));
+                    if (!transferPipeline.submitApproved(requests.get(i), maxWait)) {
+                        state = TransferState.FAILED;
+                        rejection = TransferBatchResponse.Rejection.QUEUE_FULL;
+                    }
+                } else {
+                    state = connectCommitted(requests.get(i), dtos.get(i), entity.getCreatedAt());
+                }
+            }
+            items.add(new TransferBatchResponse.Item(
+                    entity.getId(),
+                    state,
+                    results.get(i).violationReason(),
+                    rejection
+            ));
+        }
+        return new TransferBatchResponse(items);
+    }
+
+    /**
+     * Negotiates and starts the data transfer of an approved transfer that
+     * has already been committed. Every state change is a compare-and-set in
+     * its own short transaction, so a cancel in between stops the workflow,
+     * and a connector failure fails this transfer instead of the batch.
+     *
+     * @return the state the transfer ended up in
+     */
+    private TransferState connectCommitted(TransferRequest request, TransferRequestDto dto, Instant createdAt) {
+        UUID transferId = request.transferId();
+        try {
+            if (!advance(transferId, TransferState.APPROVED, TransferState.CONTRACT_NEGOTIATION)) {
+                return currentState(transferId);
+            }
+            long started = System.nanoTime();
+            ContractNegotiationResult negotiation = edcConnectorClient.negotiateContract(
+                    new ContractNegotiationRequest(request.consumerId(), request.providerId(), request.dataType()));
+            time(TransferStage.NEGOTIATION, dto, started);
+            if (!negotiation.success()) {
+                return finish(transferId, TransferState.CONTRACT_NEGOTIATION, TransferState.FAILED, dto, createdAt);
+            }
+            if (!advance(transferId, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED)
+                    || !advance(transferId, TransferState.NEGOTIATED, TransferState.TRANSFER_IN_PROGRESS)) {
+                return currentState(transferId);
+            }
+            started = System.nanoTime();
+            DataTransferResult transfer = edcConnectorClient.initiateTransfer(
+                    new DataTransferRequest(
+                            negotiation.contractAgreementId(),
+                            UUID.randomUUID().toString(),
+                            UUID.randomUUID().toString(),
+                            request.providerId())
+            );
+            time(TransferStage.TRANSFER, dto, started);
+            TransferState terminal = transfer.success() ? TransferState.COMPLETED : TransferState.FAILED;
+            return finish(transferId, TransferState.TRANSFER_IN_PROGRESS, terminal, dto, createdAt);
+        } catch (RuntimeException e) {
+            log.error("Transfer {} failed while connecting", transferId, e);
+            repository.transitionFromCurrent(transferId, TransferState.FAILED).ifPresent(from -> {
+                auditService.logStateTransition(transferId, from, TransferState.FAILED);
+                statusCache.update(transferId, TransferState.FAILED, Instant.now());
+            });
+            return currentState(transferId);
+        }
+    }
+
+    /**
+     * Moves the committed transfer from {@code from} to {@code to}; returns
+     * {@code false} if it has left {@code from} in the meantime.
+     */
+    /**
+     * Moves a committed transfer into its final state and records its end-to-end
+     * duration; returns the state it is in if it has left {@code from} meanwhile.
+     */
+    private TransferState finish(
+            UUID transferId, TransferState from, TransferState terminal, TransferRequestDto dto, Instant createdAt) {
+        if (!advance(transferId, from, terminal)) {
+            return currentState(transferId);
+        }
+        timings.record(TransferStage.END_TO_END, dto.dataType(), dto.providerId(),
+                Duration.between(createdAt, Instant.now()));
+        return terminal;
+    }
+
+    private boolean advance(UUID transferId, TransferState from, TransferState to) {
+        if (!repository.transition(transferId, from, to)) {
+            return false;
+        }
+        auditService.logStateTransition(transferId, from, to);
+        statusCache.update(transferId, to, Instant.now());
+        return true;
+    }
+
+    private TransferState currentState(UUID transferId) {
+        return repository.findStateById(transferId).orElse(TransferState.FAILED);
+    }
+
+    private void time(TransferStage stage, TransferRequestDto dto, long startedNanos) {
+        timings.record(stage, dto.dataType(), dto.providerId(),
+                Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    private TransferRequest newRequest(UUID transferId, TransferRequestDto dto) {
+        Policy policy = policyRegistry.resolve(dto.providerId(), dto.dataType());
+
+        PolicyContext context = new PolicyContext(
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType(),
+                "EU",
+                Set.of("ISO_9001"),
+                "QUALITY_ANALYSIS",
+                Instant.now(),
+                CONSUMER_ZONE,
+                requestCounter.record(dto.consumerId())
         );
+        return new TransferRequest(
+                transferId,
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType(),
+                policy,
+                context
+        );
+    }
+
+    /**
+     * Pipeline workers read the transfer in their own transaction, so they
+     * must only see it once the inserting transaction has committed.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
+    /**
+     * Served from the status cache; only a miss reads the transfer, in the
+     * repository's own read-only transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TransferStatus getTransferStatus(UUID transferId) {
+        return statusCache.get(transferId, () -> {
+            var entity = repository.findById(transferId)
+                    .orElseThrow(() -> new TransferNotFoundException(transferId));
+
+            return new TransferStatus(
+                    entity.getId(),
+                    entity.getState(),
+                    entity.getUpdatedAt()
+            );
+        });
     }
 
+    /**
+     * Cancels the transfer with a compare-and-set on its current state, so a
+     * completion that commits first is never overwritten.
+     *
+     * @throws TransferStateConflictException if the transfer already ended
+     */
     @Override
     public void cancelTransfer(UUID transferId) {
-        var entity = repository.findById(transferId)
-                .orElseThrow(() -> new TransferNotFoundException(transferId));
+        TransferState from = repository.transitionFromCurrent(transferId, TransferState.CANCELLED)
+                .orElseThrow(() -> repository.existsById(transferId)
+                        ? new TransferStateConflictException(transferId, "already finished")
+                        : new TransferNotFoundException(transferId));
 
-        entity.setState(TransferState.CANCELLED);
         auditService.logStateTransition(
                 transferId,
-                entity.getState(),
+                from,
                 TransferState.CANCELLED
         );
+        statusCache.update(transferId, TransferState.CANCELLED, Instant.now());
     }
 
     @Override
@@ -153,6 +438,18 @@ public class TransferOrchestrationService
         return auditService.getAuditTrail(transferId);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuditEventExporter.Export exportTransferAuditLog(UUID transferId, UUID after) {
+        return auditService.exportAuditTrail(transferId, after);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuditEventExporter.Export exportAuditEvents(Instant from, Instant to, UUID after) {
+        return auditService.exportAuditEvents(from, to, after);
+    }
+
     @Override
     public Page<TransferSummaryResponse> listTransfers(Pageable pageable) {
         return repository.findAll(pageable)
@@ -166,9 +463,54 @@ public class TransferOrchestrationService
                 ));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransferSliceResponse listTransfers(String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_SLICE_SIZE);
+        // one extra row tells whether another slice follows
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<TransferSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findNewest(fetch);
+        } else {
+            TransferCursor after = TransferCursor.decode(cursor);
+            rows = repository.findNewestBefore(after.createdAt(), after.id(), fetch);
+        }
+        return slice(rows, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransferSliceResponse searchTransfers(TransferSearchCriteria criteria, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_SLICE_SIZE);
+        TransferCursor after = cursor == null || cursor.isBlank() ? null : TransferCursor.decode(cursor);
+        return slice(repository.search(criteria, after, limit + 1), limit);
+    }
+
+    private static TransferSliceResponse slice(List<TransferSummaryResponse> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new TransferSliceResponse(rows, null);
+        }
+        List<TransferSummaryResponse> content = rows.subList(0, limit);
+        TransferSummaryResponse last = content.get(limit - 1);
+        return new TransferSliceResponse(
+                List.copyOf(content),
+                new TransferCursor(last.createdAt(), last.id()).encode()
+        );
+    }
+
     @Override
     public TransferAnalyticsResponse getAnalytics() {
+        return counters.snapshot().orElseGet(this::countAnalytics);
+    }
+
+    @Override
+    public TransferTimeseriesResponse getTimeseries(
+            Instant from, Instant to, Duration step, String dataType, String providerId) {
+        return timings.query(from, to, step, dataType, providerId);
+    }
 
+    private TransferAnalyticsResponse countAnalytics() {
         long total = repository.count();
 
         Map<String, Long> byState =
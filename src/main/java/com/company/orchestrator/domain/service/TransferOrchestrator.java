@@ -1,13 +1,20 @@
 package com.company.orchestrator.domain.service;
 
 import com.company.orchestrator.api.dto.TransferAnalyticsResponse;
+import com.company.orchestrator.api.dto.TransferBatchResponse;
 import com.company.orchestrator.api.dto.TransferRequestDto;
+import com.company.orchestrator.api.dto.TransferSliceResponse;
 import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse;
+import com.company.orchestrator.domain.model.TransferSearchCriteria;
 import com.company.orchestrator.domain.model.TransferStatus;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventExporter;
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,13 +22,53 @@ public interface TransferOrchestrator {
 
     UUID initiateTransfer(TransferRequestDto request);
 
+    UUID submitTransfer(TransferRequestDto request);
+
+    /**
+     * Initiates all transfers in one transaction; the items of the result
+     * are in the order of {@code requests}.
+     */
+    TransferBatchResponse initiateTransfers(List<TransferRequestDto> requests);
+
     TransferStatus getTransferStatus(UUID transferId);
 
     void cancelTransfer(UUID transferId);
 
     List<AuditEventEntity> getTransferAuditLog(UUID transferId);
 
+    /**
+     * The audit trail of a transfer, continuing after the event
+     * {@code after} if it is set. Nothing is read until it is written out.
+     */
+    AuditEventExporter.Export exportTransferAuditLog(UUID transferId, UUID after);
+
+    /**
+     * The audit events within {@code [from, to)}, continuing after the
+     * event {@code after} if it is set. Nothing is read until it is
+     * written out.
+     */
+    AuditEventExporter.Export exportAuditEvents(Instant from, Instant to, UUID after);
+
     Page<TransferSummaryResponse> listTransfers(Pageable pageable);
 
+    /**
+     * Newest transfers first, continuing after {@code cursor} (null for the
+     * first slice).
+     */
+    TransferSliceResponse listTransfers(String cursor, int size);
+
+    /**
+     * Transfers matching {@code criteria}, newest first, continuing after
+     * {@code cursor} (null for the first slice).
+     */
+    TransferSliceResponse searchTransfers(TransferSearchCriteria criteria, String cursor, int size);
+
     TransferAnalyticsResponse getAnalytics();
+
+    /**
+     * Finished transfers and stage duration percentiles per {@code step}
+     * within {@code [from, to)}, per data type and provider.
+     */
+    TransferTimeseriesResponse getTimeseries(
+            Instant from, Instant to, Duration step, String dataType, String providerId);
 }
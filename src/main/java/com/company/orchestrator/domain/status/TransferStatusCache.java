@@ -0,0 +1,201 @@
+package com.company.orchestrator.domain.status;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.model.TransferStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transfer statuses served from memory, so status polls do not need a
+ * transaction or a database round trip.
+ * <p>
+ * State changes committed by this instance are written through; changes
+ * made by other instances show up once the entry expires. An entry is only
+ * ever replaced by the same or a later state of the transfer graph, so a
+ * load that read the row before a concurrent transition committed cannot
+ * overwrite the newer status. Finished transfers are kept for the longer
+ * terminal TTL.
+ * <p>
+ * Committed changes are also published to the {@link TransferStatusStream},
+ * whether or not the cache is enabled.
+ * <p>
+ * Above {@code maxSize} entries, expired entries are evicted first, then
+ * finished transfers, then any, down to 90% of the limit.
+ */
+@Component
+public class TransferStatusCache implements MeterBinder {
+
+    private record Entry(TransferStatus status, long expiresAtMillis) {}
+
+    private final TransferStatusCacheProperties properties;
+    private final TransferStatusStream stream;
+    private final Clock clock;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public TransferStatusCache(TransferStatusCacheProperties properties, TransferStatusStream stream) {
+        this(properties, stream, Clock.systemUTC());
+    }
+
+    TransferStatusCache(TransferStatusCacheProperties properties, TransferStatusStream stream, Clock clock) {
+        this.properties = properties;
+        this.stream = stream;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached status of the transfer, or calls {@code loader} and
+     * caches its result.
+     */
+    public TransferStatus get(UUID transferId, Supplier<TransferStatus> loader) {
+        if (!properties.enabled()) {
+            return loader.get();
+        }
+        Entry entry = entries.get(transferId);
+        if (entry != null) {
+            if (entry.expiresAtMillis() > clock.millis()) {
+                hits.increment();
+                return entry.status();
+            }
+            if (entries.remove(transferId, entry)) {
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        TransferStatus loaded = loader.get();
+        put(loaded);
+        return loaded;
+    }
+
+    /**
+     * Writes a state change through to the cache and publishes it. Inside a
+     * transaction both happen once the transaction commits, so a rollback
+     * never shows up.
+     */
+    public void update(UUID transferId, TransferState state, Instant updatedAt) {
+        TransferStatus status = new TransferStatus(transferId, state, updatedAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        committed(status);
+                    }
+                });
+    }
+
+    private void committed(TransferStatus status) {
+        if (properties.enabled()) {
+            put(status);
+        }
+        stream.publish(status);
+    }
+
+    void put(TransferStatus status) {
+        long ttl = (status.state().isTerminal() ? properties.terminalTtl() : properties.ttl()).toMillis();
+        Entry fresh = new Entry(status, clock.millis() + ttl);
+        entries.merge(status.transferId(), fresh,
+                (cached, next) -> cached.status().state().follows(next.status().state()) ? cached : next);
+        if (entries.size() > properties.maxSize()) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = properties.maxSize() - properties.maxSize() / 10;
+            long now = clock.millis();
+            evictWhile(target, entry -> entry.expiresAtMillis() <= now, expirations);
+            evictWhile(target, entry -> entry.status().state().isTerminal(), evictions);
+            evictWhile(target, entry -> true, evictions);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void evictWhile(int target, Predicate<Entry> candidate, LongAdder counter) {
+        Iterator<Map.Entry<UUID, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            Map.Entry<UUID, Entry> entry = iterator.next();
+            if (candidate.test(entry.getValue()) && entries.remove(entry.getKey(), entry.getValue())) {
+                counter.increment();
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("transfer.status.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("transfer.status.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("transfer.status.cache.evictions", expirations, LongAdder::sum)
+                .tag("cause", "expired")
+                .register(registry);
+        FunctionCounter.builder("transfer.status.cache.evictions", evictions, LongAdder::sum)
+                .tag("cause", "size")
+                .register(registry);
+        Gauge.builder("transfer.status.cache.size", entries, Map::size)
+                .description("Transfer statuses held in memory")
+                .register(registry);
+        Gauge.builder("transfer.status.cache.hit.ratio", this, TransferStatusCache::hitRatio)
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
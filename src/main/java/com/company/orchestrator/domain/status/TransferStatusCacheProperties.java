@@ -0,0 +1,20 @@
+package com.company.orchestrator.domain.status;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param ttl how long the status of an in-flight transfer is served from
+ *            memory; bounds staleness for changes made by other instances
+ * @param terminalTtl how long the status of a finished transfer is kept;
+ *                    it cannot change any more
+ * @param maxSize entries kept before the cache evicts
+ */
+@ConfigurationProperties(prefix = "orchestrator.status-cache")
+public record TransferStatusCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration ttl,
+        @DefaultValue("10m") Duration terminalTtl,
+        @DefaultValue("100000") int maxSize
+) {}
@@ -0,0 +1,169 @@
+package com.company.orchestrator.domain.status;
+
+import com.company.orchestrator.domain.model.TransferStatus;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process fan-out of committed transfer status changes to open streams.
+ * <p>
+ * Publishing never blocks: a subscription keeps only the latest status per
+ * transfer and marks it dirty, and a virtual thread is started to drain it
+ * only while there is something to send. A slow consumer therefore skips
+ * intermediate states instead of buffering them, and an idle subscription
+ * holds no thread at all. A subscription completes once every transfer it
+ * follows has reached a terminal state.
+ * <p>
+ * Only changes committed by this instance are published.
+ */
+@Slf4j
+@Component
+public class TransferStatusStream {
+
+    /**
+     * Receives the statuses of a subscription, one call at a time.
+     */
+    public interface Sink {
+
+        void send(TransferStatus status) throws IOException;
+
+        void complete();
+    }
+
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    public TransferStatusStream() {
+        this(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("transfer-status-stream-", 0).factory()));
+    }
+
+    TransferStatusStream(ExecutorService dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Opens a subscription for the given transfers. Offer their current
+     * status afterwards; statuses older than one already delivered are
+     * ignored, so a transition published in between is not lost.
+     */
+    public Subscription subscribe(Collection<UUID> transferIds, Sink sink) {
+        Subscription subscription = new Subscription(Set.copyOf(transferIds), sink);
+        open.incrementAndGet();
+        for (UUID transferId : subscription.transferIds) {
+            subscriptions.compute(transferId, (id, subscribers) -> {
+                Set<Subscription> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                set.add(subscription);
+                return set;
+            });
+        }
+        return subscription;
+    }
+
+    public void publish(TransferStatus status) {
+        Set<Subscription> subscribers = subscriptions.get(status.transferId());
+        if (subscribers != null) {
+            subscribers.forEach(subscription -> subscription.offer(status));
+        }
+    }
+
+    /** Number of open subscriptions. */
+    public int size() {
+        return open.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    public final class Subscription {
+
+        private final Set<UUID> transferIds;
+        private final Sink sink;
+        private final Set<UUID> unfinished;
+        private final Map<UUID, TransferStatus> latest = new ConcurrentHashMap<>();
+        private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private Subscription(Set<UUID> transferIds, Sink sink) {
+            this.transferIds = transferIds;
+            this.sink = sink;
+            this.unfinished = ConcurrentHashMap.newKeySet();
+            this.unfinished.addAll(transferIds);
+        }
+
+        /**
+         * Queues {@code status} unless a later state of the same transfer
+         * was already offered.
+         */
+        public void offer(TransferStatus status) {
+            if (cancelled.get() || !transferIds.contains(status.transferId())) {
+                return;
+            }
+            TransferStatus merged = latest.merge(status.transferId(), status,
+                    (current, next) -> next.state().follows(current.state()) ? next : current);
+            if (merged == status) {
+                dirty.add(status.transferId());
+                if (draining.compareAndSet(false, true)) {
+                    dispatcher.execute(this::drain);
+                }
+            }
+        }
+
+        /** Stops delivery; the sink is not completed. */
+        public void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            open.decrementAndGet();
+            for (UUID transferId : transferIds) {
+                subscriptions.computeIfPresent(transferId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    for (UUID transferId : dirty) {
+                        if (cancelled.get()) {
+                            return;
+                        }
+                        if (!dirty.remove(transferId)) {
+                            continue;
+                        }
+                        TransferStatus status = latest.get(transferId);
+                        sink.send(status);
+                        if (status.state().isTerminal()
+                                && unfinished.remove(transferId) && unfinished.isEmpty()) {
+                            cancel();
+                            sink.complete();
+                            return;
+                        }
+                    }
+                    draining.set(false);
+                    // an offer may have marked a transfer dirty after the loop passed it
+                } while (!dirty.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing transfer status stream: {}", e.getMessage());
+                cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.orchestrator.domain.status;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param timeout how long a stream stays open before the client has to
+ *                reconnect
+ * @param maxTransfers transfers a single stream may follow
+ */
+@ConfigurationProperties(prefix = "orchestrator.status-stream")
+public record TransferStatusStreamProperties(
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("100") int maxTransfers
+) {}
@@ -0,0 +1,198 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reuses contract agreements per (consumerId, providerId, dataType).
+ * Concurrent misses for the same key share a single in-flight negotiation;
+ * failed negotiations and failed transfers invalidate the agreement.
+ */
+public class CachingEdcConnectorClient implements EdcConnectorClient {
+
+    private record Agreement(ContractNegotiationResult result, long expiresAtMillis) {}
+
+    private final EdcConnectorClient delegate;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<ContractNegotiationRequest, Agreement> agreements =
+            new ConcurrentHashMap<>();
+    private final Map<ContractNegotiationRequest, CompletableFuture<ContractNegotiationResult>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CachingEdcConnectorClient(
+            EdcConnectorClient delegate,
+            Duration ttl,
+            int maxSize,
+            Clock clock
+    ) {
+        this.delegate = delegate;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public ContractNegotiationResult negotiateContract(ContractNegotiationRequest request) {
+        Agreement cached = agreements.get(request);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > clock.millis()) {
+                hits.increment();
+                return cached.result();
+            }
+            if (agreements.remove(request, cached)) {
+                evictions.increment();
+            }
+        }
+
+        CompletableFuture<ContractNegotiationResult> negotiation = new CompletableFuture<>();
+        CompletableFuture<ContractNegotiationResult> leader = inFlight.putIfAbsent(request, negotiation);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        misses.increment();
+        try {
+            ContractNegotiationResult result = delegate.negotiateContract(request);
+            if (result.success()) {
+                store(request, result);
+            } else {
+                invalidate(request);
+            }
+            negotiation.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            invalidate(request);
+            negotiation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(request, negotiation);
+        }
+    }
+
+    @Override
+    public DataTransferResult initiateTransfer(DataTransferRequest request) {
+        DataTransferResult result = delegate.initiateTransfer(request);
+        if (!result.success()) {
+            invalidateAgreement(request.contractAgreementId());
+        }
+        return result;
+    }
+
+    @Override
+    public TransferState getTransferState(String transferProcessId) {
+        return delegate.getTransferState(transferProcessId);
+    }
+
+    @Override
+    public void terminateTransfer(String transferProcessId) {
+        delegate.terminateTransfer(transferProcessId);
+    }
+
+    public void invalidate(ContractNegotiationRequest request) {
+        if (agreements.remove(request) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public void invalidateAgreement(String contractAgreementId) {
+        if (contractAgreementId == null) {
+            return;
+        }
+        agreements.entrySet().removeIf(entry -> {
+            boolean match = contractAgreementId.equals(entry.getValue().result().contractAgreementId());
+            if (match) {
+                invalidations.increment();
+            }
+            return match;
+        });
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return agreements.size();
+    }
+
+    private void store(ContractNegotiationRequest request, ContractNegotiationResult result) {
+        long now = clock.millis();
+        if (agreements.size() >= maxSize && !agreements.containsKey(request)) {
+            evictExpired(now);
+            if (agreements.size() >= maxSize) {
+                evictEarliestExpiring();
+            }
+        }
+        agreements.put(request, new Agreement(result, now + ttlMillis));
+    }
+
+    private void evictExpired(long now) {
+        agreements.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().expiresAtMillis() <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+    }
+
+    private void evictEarliestExpiring() {
+        agreements.entrySet().stream()
+                .min(Map.Entry.comparingByValue(
+                        (a, b) -> Long.compare(a.expiresAtMillis(), b.expiresAtMillis())))
+                .ifPresent(entry -> {
+                    if (agreements.remove(entry.getKey(), entry.getValue())) {
+                        evictions.increment();
+                    }
+                });
+    }
+
+    private static ContractNegotiationResult await(
+            CompletableFuture<ContractNegotiationResult> negotiation
+    ) {
+        try {
+            return negotiation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
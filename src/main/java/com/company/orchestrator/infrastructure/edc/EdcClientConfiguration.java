@@ -0,0 +1,76 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the {@link EdcConnectorClient} used by the orchestrator: the
+ * transport bean qualified {@code edcTransport}, wrapped by the optional
+ * decorators configured under {@code orchestrator.edc}.
+ */
+@Configuration
+public class EdcClientConfiguration {
+
+    public static final String TRANSPORT = "edcTransport";
+
+    @Bean
+    @Primary
+    public EdcConnectorClient edcConnectorClient(
+            @Qualifier(TRANSPORT) EdcConnectorClient transport,
+            EdcClientProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        EdcConnectorClient client = transport;
+
+        if (properties.limiter().enabled() || properties.circuitBreaker().enabled()) {
+            client = new GuardedEdcConnectorClient(
+                    client,
+                    properties.limiter(),
+                    properties.circuitBreaker(),
+                    meterRegistry,
+                    Clock.systemUTC()
+            );
+        }
+
+        // outermost, so cached agreements need no permit
+        var cacheConfig = properties.contractCache();
+        if (cacheConfig.enabled()) {
+            var cache = new CachingEdcConnectorClient(
+                    client,
+                    cacheConfig.ttl(),
+                    cacheConfig.maxSize(),
+                    Clock.systemUTC()
+            );
+            registerCacheMetrics(cache, meterRegistry);
+            client = cache;
+        }
+        return client;
+    }
+
+    private static void registerCacheMetrics(
+            CachingEdcConnectorClient cache,
+            MeterRegistry registry
+    ) {
+        FunctionCounter.builder("edc.contract.cache.requests", cache, CachingEdcConnectorClient::hits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("edc.contract.cache.requests", cache, CachingEdcConnectorClient::misses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("edc.contract.cache.requests", cache, CachingEdcConnectorClient::coalesced)
+                .tag("result", "coalesced")
+                .register(registry);
+        FunctionCounter.builder("edc.contract.cache.evictions", cache, CachingEdcConnectorClient::evictions)
+                .register(registry);
+        FunctionCounter.builder("edc.contract.cache.invalidations", cache, CachingEdcConnectorClient::invalidations)
+                .register(registry);
+        Gauge.builder("edc.contract.cache.size", cache, CachingEdcConnectorClient::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.orchestrator.infrastructure.edc;
+
+/**
+ * A call to the EDC connector failed, or it answered with an error status.
+ */
+public class EdcClientException extends RuntimeException {
+
+    public EdcClientException(String message) {
+        super(message);
+    }
+
+    public EdcClientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
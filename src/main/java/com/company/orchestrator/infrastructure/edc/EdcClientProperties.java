@@ -0,0 +1,150 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "orchestrator.edc")
+public record EdcClientProperties(
+        @DefaultValue ContractCache contractCache,
+        @DefaultValue Limiter limiter,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue("mock") Mode mode,
+        @DefaultValue Simulation simulation,
+        @DefaultValue Http http
+) {
+
+    /** Transport behind the decorators. */
+    public enum Mode {
+        /** Succeeds instantly. */
+        MOCK,
+        /** {@link SimulatedEdcConnectorClient}. */
+        SIMULATED,
+        /** {@link HttpEdcConnectorClient}. */
+        HTTP
+    }
+
+    public record ContractCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10m") Duration ttl,
+            @DefaultValue("10000") int maxSize
+    ) {}
+
+    /**
+     * Adaptive per-provider concurrency limit (AIMD): grows by one when a
+     * call succeeds within {@code latencyThreshold} while the limit is in
+     * use, and shrinks by {@code backoffRatio} when a call fails or is
+     * slower.
+     *
+     * @param maxQueued calls that may wait for a permit; further calls are
+     *                  rejected immediately
+     * @param queueTimeout how long a call waits for a permit
+     */
+    public record Limiter(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("1") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("2s") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio,
+            @DefaultValue("100") int maxQueued,
+            @DefaultValue("1s") Duration queueTimeout
+    ) {}
+
+    /**
+     * Per-provider circuit breaker over the outcomes of the last
+     * {@code windowSize} calls.
+     *
+     * @param minimumCalls calls in the window before the failure rate counts
+     * @param openDuration how long calls are rejected before probing again
+     * @param halfOpenCalls probe calls that must succeed to close again
+     */
+    public record CircuitBreaker(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("20") int windowSize,
+            @DefaultValue("10") int minimumCalls,
+            @DefaultValue("0.5") double failureRateThreshold,
+            @DefaultValue("30s") Duration openDuration,
+            @DefaultValue("3") int halfOpenCalls
+    ) {}
+
+    /**
+     * Connection to the EDC management API.
+     *
+     * @param apiKey sent as {@code X-Api-Key} unless blank
+     * @param counterPartyAddress DSP endpoint of the provider connector
+     * @param requestTimeout per request, until the response headers arrive
+     * @param negotiationTimeout until a started negotiation must be finalized
+     * @param pollInterval between negotiation state checks
+     */
+    public record Http(
+            @DefaultValue("http://localhost:19193/management") URI managementUrl,
+            @DefaultValue("") String apiKey,
+            @DefaultValue("http://localhost:19194/protocol") String counterPartyAddress,
+            @DefaultValue("dataspace-protocol-http") String protocol,
+            @DefaultValue("5s") Duration connectTimeout,
+            @DefaultValue("10s") Duration requestTimeout,
+            @DefaultValue("60s") Duration negotiationTimeout,
+            @DefaultValue("500ms") Duration pollInterval
+    ) {}
+
+    /**
+     * @param seed makes every latency, failure and process outcome
+     *             reproducible
+     */
+    public record Simulation(
+            @DefaultValue("42") long seed,
+            @DefaultValue Operation negotiation,
+            @DefaultValue Operation transfer,
+            @DefaultValue TransferProcess process
+    ) {}
+
+    /**
+     * @param failureRate share of calls that fail after their latency
+     * @param timeout calls whose latency exceeds it fail after the timeout
+     */
+    public record Operation(
+            @DefaultValue Latency latency,
+            @DefaultValue("0") double failureRate,
+            @DefaultValue("30s") Duration timeout
+    ) {}
+
+    /**
+     * How long a started transfer process runs before
+     * {@code getTransferState} reports it finished.
+     *
+     * @param retention how long a finished process can still be queried
+     */
+    public record TransferProcess(
+            @DefaultValue Latency duration,
+            @DefaultValue("0") double failureRate,
+            @DefaultValue("10m") Duration retention
+    ) {}
+
+    /**
+     * A latency distribution, clamped to {@code [min, max]}.
+     *
+     * @param median the latency of {@code FIXED}; the median of
+     *               {@code LOG_NORMAL} and {@code LONG_TAIL}
+     * @param min lower bound, and the lower end of {@code UNIFORM}
+     * @param max upper bound, and the upper end of {@code UNIFORM}
+     * @param sigma spread of {@code LOG_NORMAL}
+     * @param alpha shape of the Pareto {@code LONG_TAIL}; lower is heavier
+     */
+    public record Latency(
+            @DefaultValue("fixed") Distribution distribution,
+            @DefaultValue("50ms") Duration median,
+            @DefaultValue("0ms") Duration min,
+            @DefaultValue("5s") Duration max,
+            @DefaultValue("0.5") double sigma,
+            @DefaultValue("1.5") double alpha
+    ) {}
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL,
+        LONG_TAIL
+    }
+}
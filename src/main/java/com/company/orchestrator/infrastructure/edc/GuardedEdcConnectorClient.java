@@ -0,0 +1,367 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.CircuitBreaker;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Limiter;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Protects the orchestrator from a slow or failing provider connector.
+ * Negotiations and transfers are guarded per provider by an adaptive
+ * concurrency limit and a circuit breaker.
+ * <p>
+ * The limit grows additively while calls succeed within the latency
+ * threshold and shrinks multiplicatively when they fail or are slower.
+ * Calls beyond the limit wait up to the queue timeout, and calls beyond
+ * the queue are rejected at once. An open circuit rejects calls until it
+ * lets a few probe calls through. Rejected calls return a failed result
+ * without reaching the connector.
+ * <p>
+ * State queries and terminations only carry a process id, so they are
+ * passed through unguarded.
+ */
+public class GuardedEdcConnectorClient implements EdcConnectorClient {
+
+    private final EdcConnectorClient delegate;
+    private final Limiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public GuardedEdcConnectorClient(
+            EdcConnectorClient delegate,
+            Limiter limiter,
+            CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public ContractNegotiationResult negotiateContract(ContractNegotiationRequest request) {
+        return guard(request.providerId()).call(
+                () -> delegate.negotiateContract(request),
+                ContractNegotiationResult::success,
+                ContractNegotiationResult::failure
+        );
+    }
+
+    @Override
+    public DataTransferResult initiateTransfer(DataTransferRequest request) {
+        return guard(request.providerId()).call(
+                () -> delegate.initiateTransfer(request),
+                DataTransferResult::success,
+                DataTransferResult::failure
+        );
+    }
+
+    @Override
+    public TransferState getTransferState(String transferProcessId) {
+        return delegate.getTransferState(transferProcessId);
+    }
+
+    @Override
+    public void terminateTransfer(String transferProcessId) {
+        delegate.terminateTransfer(transferProcessId);
+    }
+
+    int limit(String providerId) {
+        return guard(providerId).limit.limit();
+    }
+
+    Circuit.State circuitState(String providerId) {
+        return guard(providerId).circuit.state();
+    }
+
+    private Guard guard(String providerId) {
+        return guards.computeIfAbsent(Objects.requireNonNullElse(providerId, "unknown"), Guard::new);
+    }
+
+    private final class Guard {
+
+        private final String providerId;
+        private final Limit limit = new Limit(limiter);
+        private final Circuit circuit = new Circuit(circuitBreaker, clock);
+        private final LongAdder limitRejections = new LongAdder();
+        private final LongAdder circuitRejections = new LongAdder();
+
+        Guard(String providerId) {
+            this.providerId = providerId;
+            bindTo(meterRegistry);
+        }
+
+        <T> T call(Supplier<T> call, Predicate<T> succeeded, Function<String, T> rejected) {
+            Circuit.State permit = circuit.tryAcquire();
+            if (permit == null) {
+                circuitRejections.increment();
+                return rejected.apply("EDC provider " + providerId + " is unavailable: circuit open");
+            }
+            if (!limit.acquire()) {
+                circuit.cancel(permit);
+                limitRejections.increment();
+                return rejected.apply("EDC provider " + providerId + " is overloaded: "
+                        + limit.limit() + " calls in flight");
+            }
+            long started = clock.millis();
+            boolean success = false;
+            try {
+                T result = call.get();
+                success = succeeded.test(result);
+                return result;
+            } finally {
+                limit.release(clock.millis() - started, success);
+                circuit.record(permit, success);
+            }
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            Gauge.builder("edc.limiter.limit", limit, Limit::limit)
+                    .tag("provider", providerId)
+                    .description("Concurrent EDC calls allowed for the provider")
+                    .register(registry);
+            Gauge.builder("edc.limiter.in.flight", limit, Limit::inFlight)
+                    .tag("provider", providerId)
+                    .register(registry);
+            Gauge.builder("edc.limiter.queued", limit, Limit::queued)
+                    .tag("provider", providerId)
+                    .register(registry);
+            Gauge.builder("edc.circuit.state", circuit, c -> c.state().ordinal())
+                    .tag("provider", providerId)
+                    .description("0 closed, 1 half-open, 2 open")
+                    .register(registry);
+            FunctionCounter.builder("edc.circuit.opened", circuit, Circuit::opened)
+                    .tag("provider", providerId)
+                    .register(registry);
+            FunctionCounter.builder("edc.calls.rejected", limitRejections, LongAdder::sum)
+                    .tag("provider", providerId)
+                    .tag("reason", "limit")
+                    .register(registry);
+            FunctionCounter.builder("edc.calls.rejected", circuitRejections, LongAdder::sum)
+                    .tag("provider", providerId)
+                    .tag("reason", "circuit")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * AIMD concurrency limit. The limit only grows while at least half of
+     * it is in use, so an idle provider does not accumulate headroom.
+     */
+    static final class Limit {
+
+        private final Limiter settings;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+
+        private volatile double limit;
+        private volatile int inFlight;
+        private volatile int queued;
+
+        Limit(Limiter settings) {
+            this.settings = settings;
+            this.limit = settings.initialLimit();
+        }
+
+        boolean acquire() {
+            if (!settings.enabled()) {
+                return true;
+            }
+            lock.lock();
+            try {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return true;
+                }
+                if (queued >= settings.maxQueued()) {
+                    return false;
+                }
+                queued++;
+                try {
+                    long nanos = settings.queueTimeout().toNanos();
+                    while (inFlight >= (int) limit) {
+                        if (nanos <= 0) {
+                            return false;
+                        }
+                        nanos = released.awaitNanos(nanos);
+                    }
+                    inFlight++;
+                    return true;
+                } finally {
+                    queued--;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latencyMillis, boolean success) {
+            if (!settings.enabled()) {
+                return;
+            }
+            lock.lock();
+            try {
+                int used = inFlight--;
+                if (!success || latencyMillis > settings.latencyThreshold().toMillis()) {
+                    limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+                } else if (used * 2 >= (int) limit) {
+                    limit = Math.min(settings.maxLimit(), limit + 1);
+                }
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int limit() {
+            return (int) limit;
+        }
+
+        int inFlight() {
+            return inFlight;
+        }
+
+        int queued() {
+            return queued;
+        }
+    }
+
+    /**
+     * Count-based circuit breaker. Opens when the failure rate of the last
+     * {@code windowSize} calls reaches the threshold. Once the open duration
+     * has passed it lets {@code halfOpenCalls} probes through: one failure
+     * opens it again, and all of them succeeding closes it.
+     */
+    static final class Circuit {
+
+        enum State {
+            CLOSED,
+            HALF_OPEN,
+            OPEN
+        }
+
+        private final CircuitBreaker settings;
+        private final Clock clock;
+        private final boolean[] failed;
+        private final LongAdder opened = new LongAdder();
+
+        private volatile State state = State.CLOSED;
+        private int next;
+        private int calls;
+        private int failures;
+        private long openUntilMillis;
+        private int probes;
+        private int probeSuccesses;
+
+        Circuit(CircuitBreaker settings, Clock clock) {
+            this.settings = settings;
+            this.clock = clock;
+            this.failed = new boolean[Math.max(1, settings.windowSize())];
+        }
+
+        /**
+         * Returns the state the call was admitted in, or {@code null} if it
+         * is rejected.
+         */
+        synchronized State tryAcquire() {
+            if (!settings.enabled()) {
+                return State.CLOSED;
+            }
+            if (state == State.OPEN) {
+                if (clock.millis() < openUntilMillis) {
+                    return null;
+                }
+                state = State.HALF_OPEN;
+                probes = 0;
+                probeSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probes >= settings.halfOpenCalls()) {
+                    return null;
+                }
+                probes++;
+            }
+            return state;
+        }
+
+        /** Returns a permit that was not used. */
+        synchronized void cancel(State permit) {
+            if (permit == State.HALF_OPEN && state == State.HALF_OPEN) {
+                probes--;
+            }
+        }
+
+        synchronized void record(State permit, boolean success) {
+            if (!settings.enabled() || permit != state) {
+                // a call admitted before the circuit last changed state
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (!success) {
+                    open();
+                } else if (++probeSuccesses >= settings.halfOpenCalls()) {
+                    close();
+                }
+                return;
+            }
+            if (calls == failed.length) {
+                failures -= failed[next] ? 1 : 0;
+            } else {
+                calls++;
+            }
+            failed[next] = !success;
+            failures += success ? 0 : 1;
+            next = (next + 1) % failed.length;
+            if (calls >= settings.minimumCalls()
+                    && failures >= settings.failureRateThreshold() * calls) {
+                open();
+            }
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openUntilMillis = clock.millis() + settings.openDuration().toMillis();
+            opened.increment();
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            next = 0;
+            calls = 0;
+            failures = 0;
+        }
+
+        State state() {
+            return state;
+        }
+
+        long opened() {
+            return opened.sum();
+        }
+    }
+}
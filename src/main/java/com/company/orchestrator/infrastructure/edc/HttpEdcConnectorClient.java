@@ -0,0 +1,314 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Http;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.infrastructure.edc.dto.EdcContractNegotiationResponse;
+import com.company.orchestrator.infrastructure.edc.dto.EdcTransferResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connector client for the EDC management API.
+ * <p>
+ * All calls share one {@link HttpClient}. It prefers HTTP/2, so concurrent
+ * calls to a connector that supports it are multiplexed over a single
+ * connection. Response bodies are decoded straight from the body stream on
+ * a virtual thread, never on the client's selector thread.
+ * <p>
+ * Every method has an asynchronous variant; the blocking methods wait for
+ * it. A negotiation is started and then polled until the connector has
+ * finalized or terminated it. Failed negotiations and transfers are
+ * returned as failed results. Failed state queries and terminations throw
+ * {@link EdcClientException}.
+ */
+@Component
+@Qualifier(EdcClientConfiguration.TRANSPORT)
+@ConditionalOnProperty(prefix = "orchestrator.edc", name = "mode", havingValue = "http")
+public class HttpEdcConnectorClient implements EdcConnectorClient {
+
+    private static final Map<String, String> CONTEXT = Map.of("@vocab", "https://w3id.org/edc/v0.0.1/ns/");
+    private static final String NEGOTIATIONS = "/v3/contractnegotiations";
+    private static final String TRANSFERS = "/v3/transferprocesses";
+
+    private final Http properties;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public HttpEdcConnectorClient(EdcClientProperties properties, ObjectMapper objectMapper) {
+        this(properties.http(), objectMapper);
+    }
+
+    HttpEdcConnectorClient(Http properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.baseUrl = properties.managementUrl().toString().replaceAll("/+$", "");
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("edc-http-", 0).factory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public ContractNegotiationResult negotiateContract(ContractNegotiationRequest request) {
+        return negotiateContractAsync(request).join();
+    }
+
+    @Override
+    public DataTransferResult initiateTransfer(DataTransferRequest request) {
+        return initiateTransferAsync(request).join();
+    }
+
+    @Override
+    public TransferState getTransferState(String transferProcessId) {
+        return await(getTransferStateAsync(transferProcessId));
+    }
+
+    @Override
+    public void terminateTransfer(String transferProcessId) {
+        await(terminateTransferAsync(transferProcessId));
+    }
+
+    /**
+     * Starts a negotiation and completes once it is finalized, terminated,
+     * or has not finished within the negotiation timeout. Never completes
+     * exceptionally.
+     */
+    public CompletableFuture<ContractNegotiationResult> negotiateContractAsync(ContractNegotiationRequest request) {
+        Map<String, Object> body = json(
+                "@context", CONTEXT,
+                "@type", "ContractRequest",
+                "counterPartyAddress", properties.counterPartyAddress(),
+                "counterPartyId", request.providerId(),
+                "protocol", properties.protocol(),
+                "policy", json(
+                        "@context", "http://www.w3.org/ns/odrl.jsonld",
+                        "@type", "Offer",
+                        "assigner", request.providerId(),
+                        "target", request.dataType()
+                )
+        );
+        long deadline = System.nanoTime() + properties.negotiationTimeout().toNanos();
+        return send(post(NEGOTIATIONS, body), EdcContractNegotiationResponse.class)
+                .thenCompose(started -> awaitAgreement(started.id(), deadline))
+                .exceptionally(e -> ContractNegotiationResult.failure(message("negotiation", e)));
+    }
+
+    private CompletableFuture<ContractNegotiationResult> awaitAgreement(String negotiationId, long deadline) {
+        return send(get(NEGOTIATIONS + "/" + encode(negotiationId)), EdcContractNegotiationResponse.class)
+                .thenCompose(negotiation -> switch (String.valueOf(negotiation.state())) {
+                    case "FINALIZED" -> CompletableFuture.completedFuture(
+                            ContractNegotiationResult.ok(negotiation.contractAgreementId()));
+                    case "TERMINATED" -> CompletableFuture.completedFuture(
+                            ContractNegotiationResult.failure("EDC negotiation " + negotiationId
+                                    + " terminated: " + negotiation.errorDetail()));
+                    default -> System.nanoTime() - deadline >= 0
+                            ? CompletableFuture.completedFuture(ContractNegotiationResult.failure(
+                                    "EDC negotiation " + negotiationId + " not finalized within "
+                                            + properties.negotiationTimeout()))
+                            : CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(
+                                            properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS, executor))
+                                    .thenCompose(ignored -> awaitAgreement(negotiationId, deadline));
+                });
+    }
+
+    /**
+     * Starts a transfer process under the agreement. Never completes
+     * exceptionally.
+     */
+    public CompletableFuture<DataTransferResult> initiateTransferAsync(DataTransferRequest request) {
+        Map<String, Object> body = json(
+                "@context", CONTEXT,
+                "@type", "TransferRequest",
+                "contractId", request.contractAgreementId(),
+                "counterPartyAddress", properties.counterPartyAddress(),
+                "protocol", properties.protocol(),
+                "transferType", "HttpData-PUSH",
+                "dataDestination", json(
+                        "type", "HttpData",
+                        "baseUrl", request.destinationEndpoint()
+                )
+        );
+        return send(post(TRANSFERS, body), EdcTransferResponse.class)
+                .thenApply(process -> DataTransferResult.ok(process.transferProcessId()))
+                .exceptionally(e -> DataTransferResult.failure(message("transfer", e)));
+    }
+
+    /**
+     * Completes exceptionally with an {@link EdcClientException} if the
+     * connector cannot be reached or does not know the process.
+     */
+    public CompletableFuture<TransferState> getTransferStateAsync(String transferProcessId) {
+        return send(get(TRANSFERS + "/" + encode(transferProcessId)), EdcTransferResponse.class)
+                .thenApply(HttpEdcConnectorClient::toTransferState);
+    }
+
+    /**
+     * Completes exceptionally with an {@link EdcClientException} if the
+     * connector refuses to terminate the process.
+     */
+    public CompletableFuture<Void> terminateTransferAsync(String transferProcessId) {
+        Map<String, Object> body = json(
+                "@context", CONTEXT,
+                "@type", "TerminateTransfer",
+                "reason", "Cancelled by the orchestrator"
+        );
+        return send(post(TRANSFERS + "/" + encode(transferProcessId) + "/terminate", body), Void.class);
+    }
+
+    /**
+     * Maps EDC transfer process states: terminated processes have failed,
+     * deprovisioned ones have finished unless they carry an error.
+     */
+    static TransferState toTransferState(EdcTransferResponse process) {
+        return switch (String.valueOf(process.state())) {
+            case "COMPLETED" -> TransferState.COMPLETED;
+            case "TERMINATING", "TERMINATED" -> TransferState.FAILED;
+            case "DEPROVISIONING", "DEPROVISIONED" -> process.errorDetail() == null
+                    ? TransferState.COMPLETED
+                    : TransferState.FAILED;
+            default -> TransferState.TRANSFER_IN_PROGRESS;
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new EdcClientException("Cannot serialize EDC request to " + path, e);
+        }
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(properties.requestTimeout())
+                .header("Accept", "application/json");
+        if (!properties.apiKey().isBlank()) {
+            builder.header("X-Api-Key", properties.apiKey());
+        }
+        return builder;
+    }
+
+    /**
+     * Sends the request and decodes a successful response into
+     * {@code type}; {@code Void} discards the body. The body is only read
+     * once the response completes on the executor, so a slow body never
+     * holds the selector thread.
+     */
+    private <T> CompletableFuture<T> send(HttpRequest request, Class<T> type) {
+        return httpClient.sendAsync(request, responseInfo -> body(request, responseInfo.statusCode(), type))
+                .thenApplyAsync(response -> response.body().get(), executor);
+    }
+
+    private <T> HttpResponse.BodySubscriber<Supplier<T>> body(HttpRequest request, int status, Class<T> type) {
+        if (status / 100 != 2) {
+            return BodySubscribers.mapping(BodySubscribers.ofString(StandardCharsets.UTF_8), error -> () -> {
+                throw new EdcClientException("EDC returned " + status + " for " + request.method() + " "
+                        + request.uri().getPath() + (error.isBlank() ? "" : ": " + error));
+            });
+        }
+        if (type == Void.class) {
+            return BodySubscribers.replacing(() -> null);
+        }
+        return BodySubscribers.mapping(BodySubscribers.ofInputStream(), in -> () -> decode(in, type));
+    }
+
+    private <T> T decode(InputStream in, Class<T> type) {
+        try (in) {
+            return objectMapper.readValue(in, type);
+        } catch (IOException e) {
+            throw new EdcClientException("Unreadable EDC response: " + e.getMessage(), e);
+        }
+    }
+
+    private String message(String operation, Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof HttpTimeoutException) {
+            return "EDC " + operation + " timed out after " + properties.requestTimeout();
+        }
+        if (cause instanceof EdcClientException) {
+            return cause.getMessage();
+        }
+        return "EDC " + operation + " failed: " + cause;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof EdcClientException edc) {
+                throw edc;
+            }
+            throw new EdcClientException("EDC call failed: " + cause, cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /** A JSON object of alternating keys and values, which may be null. */
+    private static Map<String, Object> json(Object... entries) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            object.put((String) entries[i], entries[i + 1]);
+        }
+        return object;
+    }
+
+    private static String encode(String id) {
+        return URLEncoder.encode(id, StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -7,9 +7,13 @@ import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationReques
 import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
 import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
 import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@Qualifier(EdcClientConfiguration.TRANSPORT)
+@ConditionalOnProperty(prefix = "orchestrator.edc", name = "mode", havingValue = "mock", matchIfMissing = true)
 public class MockEdcConnectorClient implements EdcConnectorClient {
     @Override
     public ContractNegotiationResult negotiateContract(ContractNegotiationRequest request) {
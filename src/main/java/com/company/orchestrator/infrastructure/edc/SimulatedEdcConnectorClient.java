@@ -0,0 +1,166 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Latency;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Operation;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Simulation;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connector for load tests: each call sleeps for a latency drawn from the
+ * configured distribution and fails at the configured rate, and started
+ * transfer processes advance to a terminal state over time.
+ * <p>
+ * The n-th call of each operation draws from a random generator seeded
+ * with {@code (seed, operation, n)}. A single-threaded run is therefore
+ * identical under the same seed, and a concurrent run draws the same
+ * latencies and outcomes, only handed to different callers.
+ */
+@Component
+@Qualifier(EdcClientConfiguration.TRANSPORT)
+@ConditionalOnProperty(prefix = "orchestrator.edc", name = "mode", havingValue = "simulated")
+public class SimulatedEdcConnectorClient implements EdcConnectorClient {
+
+    private static final long NEGOTIATION = 1;
+    private static final long TRANSFER = 2;
+    private static final long PROCESS = 3;
+    private static final int SWEEP_EVERY = 1024;
+
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    private record SimulatedProcess(long endsAtMillis, TransferState outcome) {}
+
+    private final Simulation simulation;
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    private final AtomicLong negotiations = new AtomicLong();
+    private final AtomicLong transfers = new AtomicLong();
+    private final Map<String, SimulatedProcess> processes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SimulatedEdcConnectorClient(EdcClientProperties properties) {
+        this(properties.simulation(), Clock.systemUTC(), Thread::sleep);
+    }
+
+    SimulatedEdcConnectorClient(Simulation simulation, Clock clock, Sleeper sleeper) {
+        this.simulation = simulation;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public ContractNegotiationResult negotiateContract(ContractNegotiationRequest request) {
+        long call = negotiations.getAndIncrement();
+        String error = simulate(simulation.negotiation(), random(NEGOTIATION, call), "negotiation");
+        return error == null
+                ? ContractNegotiationResult.ok("sim-agreement-" + call)
+                : ContractNegotiationResult.failure(error);
+    }
+
+    @Override
+    public DataTransferResult initiateTransfer(DataTransferRequest request) {
+        long call = transfers.getAndIncrement();
+        String error = simulate(simulation.transfer(), random(TRANSFER, call), "transfer");
+        if (error != null) {
+            return DataTransferResult.failure(error);
+        }
+        SplittableRandom random = random(PROCESS, call);
+        var process = simulation.process();
+        long duration = sample(process.duration(), random).toMillis();
+        TransferState outcome = random.nextDouble() < process.failureRate()
+                ? TransferState.FAILED
+                : TransferState.COMPLETED;
+        String processId = "sim-process-" + call;
+        processes.put(processId, new SimulatedProcess(clock.millis() + duration, outcome));
+        if (call % SWEEP_EVERY == 0) {
+            sweep();
+        }
+        return DataTransferResult.ok(processId);
+    }
+
+    /**
+     * {@code TRANSFER_IN_PROGRESS} until the process has run for its
+     * sampled duration, then its outcome; {@code FAILED} for unknown or
+     * expired processes.
+     */
+    @Override
+    public TransferState getTransferState(String transferProcessId) {
+        SimulatedProcess process = processes.get(transferProcessId);
+        if (process == null) {
+            return TransferState.FAILED;
+        }
+        return clock.millis() < process.endsAtMillis()
+                ? TransferState.TRANSFER_IN_PROGRESS
+                : process.outcome();
+    }
+
+    @Override
+    public void terminateTransfer(String transferProcessId) {
+        processes.computeIfPresent(transferProcessId, (id, process) ->
+                clock.millis() < process.endsAtMillis()
+                        ? new SimulatedProcess(clock.millis(), TransferState.CANCELLED)
+                        : process);
+    }
+
+    /**
+     * Sleeps for the sampled latency, or the timeout if that is shorter;
+     * returns the error message of a failed call, or {@code null}.
+     */
+    private String simulate(Operation operation, SplittableRandom random, String name) {
+        Duration latency = sample(operation.latency(), random);
+        boolean fails = random.nextDouble() < operation.failureRate();
+        boolean timesOut = latency.compareTo(operation.timeout()) > 0;
+        try {
+            sleeper.sleep(timesOut ? operation.timeout() : latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Simulated " + name + " interrupted";
+        }
+        if (timesOut) {
+            return "Simulated " + name + " timed out after " + operation.timeout();
+        }
+        return fails ? "Simulated " + name + " failure" : null;
+    }
+
+    static Duration sample(Latency latency, SplittableRandom random) {
+        long min = latency.min().toNanos();
+        long max = latency.max().toNanos();
+        double median = latency.median().toNanos();
+        double nanos = switch (latency.distribution()) {
+            case FIXED -> median;
+            case UNIFORM -> min + random.nextDouble() * (max - min);
+            case LOG_NORMAL -> median * Math.exp(latency.sigma() * random.nextGaussian());
+            // Pareto with the given median: scale * 2^(1/alpha) = median
+            case LONG_TAIL -> median / Math.pow(2, 1 / latency.alpha())
+                    / Math.pow(1 - random.nextDouble(), 1 / latency.alpha());
+        };
+        return Duration.ofNanos(Math.clamp((long) nanos, min, max));
+    }
+
+    private SplittableRandom random(long operation, long call) {
+        // a well-mixed base per (seed, operation), so the calls of two seeds do not overlap
+        long base = new SplittableRandom(simulation.seed() + operation * 0x9E3779B97F4A7C15L).nextLong();
+        return new SplittableRandom(base + call);
+    }
+
+    private void sweep() {
+        long expired = clock.millis() - simulation.process().retention().toMillis();
+        processes.values().removeIf(process -> process.endsAtMillis() < expired);
+    }
+}
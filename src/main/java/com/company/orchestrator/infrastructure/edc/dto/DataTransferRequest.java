@@ -3,5 +3,6 @@ package com.company.orchestrator.infrastructure.edc.dto;
 public record DataTransferRequest(
         String contractAgreementId,
         String sourceEndpoint,
-        String destinationEndpoint
+        String destinationEndpoint,
+        String providerId
 ) {}
@@ -1,5 +1,16 @@
 package com.company.orchestrator.infrastructure.edc.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A contract negotiation as returned by the EDC management API; creating
+ * one only returns its {@code @id}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public record EdcContractNegotiationResponse(
-        String contractAgreementId
+        @JsonProperty("@id") String id,
+        String state,
+        String contractAgreementId,
+        String errorDetail
 ) {}
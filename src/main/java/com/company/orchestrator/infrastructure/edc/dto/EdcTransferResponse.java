@@ -1,5 +1,15 @@
 package com.company.orchestrator.infrastructure.edc.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A transfer process as returned by the EDC management API; starting one
+ * only returns its {@code @id}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public record EdcTransferResponse(
-        String transferProcessId
+        @JsonProperty("@id") String transferProcessId,
+        String state,
+        String errorDetail
 ) {}
@@ -0,0 +1,191 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.api.dto.AuditEventRecord;
+import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.domain.exception.InvalidCursorException;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditCodes;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditEventRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams audit events in (timestamp, id) order from a forward-only JDBC
+ * cursor into a sink, without entities or a persistence context.
+ * <p>
+ * The events are read in keyset chunks of {@code chunkSize}, each in its
+ * own short read-only transaction, so an export of any length neither
+ * keeps one snapshot open nor holds more than the driver's fetch size in
+ * memory. The keyset needs only a range on {@code timestamp}, so the
+ * existing (transfer_id, timestamp) and (timestamp, action) indexes serve
+ * it, with an incremental sort by id among equal timestamps.
+ */
+@Component
+public class AuditEventExporter {
+
+    public interface Sink {
+        void accept(AuditEventRecord event) throws IOException;
+    }
+
+    /**
+     * An export whose start has been resolved; nothing is read until it
+     * is written to a sink.
+     */
+    public interface Export {
+        void writeTo(Sink sink) throws IOException;
+    }
+
+    private static final String SELECT = """
+            SELECT id, transfer_id, action, timestamp, actor, from_state, to_state, reason_id, detail
+            FROM audit_events
+            WHERE\s""";
+
+    private record Position(Instant timestamp, UUID id) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final AuditExportProperties properties;
+    private final AuditReasonDictionary reasons;
+
+    public AuditEventExporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AuditExportProperties properties,
+            AuditReasonDictionary reasons
+    ) {
+        // its own template, so the fetch size does not apply to other queries
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setReadOnly(true);
+        this.properties = properties;
+        this.reasons = reasons;
+    }
+
+    /**
+     * The audit trail of a transfer, after the event {@code after} if it is
+     * set. A transfer without events has an empty trail.
+     */
+    public Export transfer(UUID transferId, UUID after) {
+        Position start;
+        if (after != null) {
+            start = position(after, "id = ? AND transfer_id = ?", after, transferId);
+        } else {
+            // no event is older than its transfer, which prunes older partitions
+            start = new Position(AuditEventRepository.earliestEventOf(transferId, this::createdAt), null);
+        }
+        return sink -> export("transfer_id = ?", List.of(transferId), start, null, sink);
+    }
+
+    /**
+     * The events within {@code [from, to)}, after the event {@code after}
+     * if it is set.
+     */
+    public Export between(Instant from, Instant to, UUID after) {
+        Position start = after == null
+                ? new Position(from, null)
+                : position(after, "id = ? AND timestamp >= ? AND timestamp < ?", after, utc(from), utc(to));
+        return sink -> export("TRUE", List.of(), start, to, sink);
+    }
+
+    private Optional<Instant> createdAt(UUID transferId) {
+        return jdbcTemplate.query(
+                "SELECT created_at FROM transfers WHERE id = ?",
+                (rs, row) -> rs.getObject(1, OffsetDateTime.class).toInstant(),
+                transferId
+        ).stream().findFirst();
+    }
+
+    private Position position(UUID event, String where, Object... args) {
+        return jdbcTemplate.query(
+                "SELECT timestamp, id FROM audit_events WHERE " + where,
+                (rs, row) -> new Position(
+                        rs.getObject(1, OffsetDateTime.class).toInstant(),
+                        rs.getObject(2, UUID.class)),
+                args
+        ).stream().findFirst().orElseThrow(() -> new InvalidCursorException(event.toString()));
+    }
+
+    private void export(String filter, List<Object> filterArgs, Position start, Instant to, Sink sink)
+            throws IOException {
+        try {
+            Position position = start;
+            while (position != null) {
+                Position from = position;
+                position = tx.execute(status -> chunk(filter, filterArgs, from, to, sink));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes up to {@code chunkSize} events after {@code from}; returns
+     * the position of the last one if more may follow, otherwise
+     * {@code null}.
+     */
+    private Position chunk(String filter, List<Object> filterArgs, Position from, Instant to, Sink sink) {
+        StringBuilder sql = new StringBuilder(SELECT).append(filter).append(" AND timestamp >= ?");
+        List<Object> args = new ArrayList<>(filterArgs);
+        args.add(utc(from.timestamp()));
+        if (from.id() != null) {
+            sql.append(" AND (timestamp > ? OR id > ?)");
+            args.add(utc(from.timestamp()));
+            args.add(from.id());
+        }
+        if (to != null) {
+            sql.append(" AND timestamp < ?");
+            args.add(utc(to));
+        }
+        sql.append(" ORDER BY timestamp, id LIMIT ?");
+        args.add(properties.chunkSize());
+
+        Position[] last = new Position[1];
+        int[] rows = new int[1];
+        jdbcTemplate.query(sql.toString(), rs -> {
+            AuditAction action = AuditAction.valueOf(rs.getString(3));
+            int reasonId = rs.getInt(8);
+            String reason = rs.wasNull() ? null : reasons.reason(reasonId);
+            AuditEventRecord event = new AuditEventRecord(
+                    rs.getObject(1, UUID.class),
+                    rs.getObject(2, UUID.class),
+                    action,
+                    rs.getObject(4, OffsetDateTime.class).toInstant(),
+                    AuditCodes.actor(rs.getShort(5)),
+                    AuditEventEntity.metadata(action, state(rs, 6), state(rs, 7), reason, rs.getString(9))
+            );
+            try {
+                sink.accept(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            last[0] = new Position(event.timestamp(), event.id());
+            rows[0]++;
+        }, args.toArray());
+        return rows[0] == properties.chunkSize() ? last[0] : null;
+    }
+
+    private static TransferState state(ResultSet rs, int column) throws SQLException {
+        short code = rs.getShort(column);
+        return rs.wasNull() ? null : AuditCodes.state(code);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
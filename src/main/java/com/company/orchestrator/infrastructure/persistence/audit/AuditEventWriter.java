@@ -0,0 +1,405 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.infrastructure.persistence.entity.AuditCodes;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes audit events through a ring buffer drained by a single writer
+ * thread, which inserts whatever has accumulated as one JDBC batch in one
+ * transaction (group commit). Under load batches grow on their own; when
+ * idle every event is flushed as soon as it arrives. The writer keeps its
+ * own connection, so SYNC callers, which still hold their pooled connection
+ * while they wait, cannot starve it.
+ * <p>
+ * Events appended inside a transaction are held back until it commits, so
+ * they never reference a transfer row the writer cannot see yet and are
+ * discarded on rollback, as before. With {@link AuditWriterProperties.Durability#SYNC}
+ * the committing thread then waits until its events are flushed, and gets an
+ * {@link AuditWriteException} if any of them was dropped or the flush did not
+ * happen within the sync timeout. When the buffer stays full for longer than
+ * the offer timeout, or after shutdown, events are inserted on the calling
+ * thread instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orchestrator.audit.writer", name = "enabled", havingValue = "true")
+public class AuditEventWriter implements MeterBinder {
+
+    static final String INSERT_SQL = """
+            INSERT INTO audit_events (id, transfer_id, action, timestamp, actor, from_state, to_state, reason_id, detail)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final AuditWriterProperties properties;
+    private final AuditRingBuffer<Queued> buffer;
+    private final Thread writer;
+    private Connection connection;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushedCondition = flushLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private volatile long flushed;
+    private volatile boolean idle;
+    private volatile boolean running = true;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder writtenInline = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public AuditEventWriter(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AuditWriterProperties properties
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.buffer = new AuditRingBuffer<>(properties.bufferCapacity());
+        this.writer = new Thread(this::drain, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues {@code event}; inside a transaction it is released when the
+     * transaction commits.
+     */
+    public void append(AuditEventEntity event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(event));
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /**
+     * Queues {@code events} and, in SYNC mode, waits until all of them are
+     * flushed.
+     *
+     * @throws AuditWriteException in SYNC mode, if any of the events was not
+     *                             written
+     */
+    public void write(List<AuditEventEntity> events) {
+        boolean sync = properties.durability() == AuditWriterProperties.Durability.SYNC;
+        Receipt receipt = sync ? new Receipt() : null;
+        long last = -1;
+        for (int i = 0; i < events.size(); i++) {
+            long position = offer(new Queued(events.get(i), receipt));
+            if (position < 0) {
+                insertInline(events.subList(i, events.size()), sync);
+                break;
+            }
+            last = position;
+        }
+        if (sync && last >= 0) {
+            awaitFlush(last, receipt);
+        }
+    }
+
+    /**
+     * Offers with backpressure: while the buffer is full the caller backs
+     * off, up to the configured offer timeout.
+     */
+    private long offer(Queued event) {
+        if (!running) {
+            return -1;
+        }
+        long position = buffer.offer(event);
+        if (position >= 0) {
+            wakeWriter();
+            return position;
+        }
+        long deadline = System.nanoTime() + properties.offerTimeout().toNanos();
+        long backoff = 1_000;
+        while (running && System.nanoTime() - deadline < 0) {
+            wakeWriter();
+            LockSupport.parkNanos(backoff);
+            position = buffer.offer(event);
+            if (position >= 0) {
+                return position;
+            }
+            backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+        }
+        log.warn("Audit buffer full for {}, writing on caller thread", properties.offerTimeout());
+        return -1;
+    }
+
+    private void wakeWriter() {
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Waits until the writer has flushed past {@code position}, then fails if
+     * it dropped any event of {@code receipt}.
+     */
+    private void awaitFlush(long position, Receipt receipt) {
+        if (flushed <= position) {
+            long nanos = properties.syncTimeout().toNanos();
+            flushLock.lock();
+            waiters.incrementAndGet();
+            try {
+                while (flushed <= position) {
+                    if (nanos <= 0) {
+                        throw new AuditWriteException(
+                                "Audit events not flushed within " + properties.syncTimeout());
+                    }
+                    nanos = flushedCondition.awaitNanos(nanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AuditWriteException("Interrupted while waiting for audit events to be flushed", e);
+            } finally {
+                waiters.decrementAndGet();
+                flushLock.unlock();
+            }
+        }
+        // the writer marks drops before it advances flushed, so they are visible here
+        if (receipt.dropped > 0) {
+            throw new AuditWriteException(receipt.dropped + " audit events could not be written");
+        }
+    }
+
+    private void drain() {
+        List<Queued> batch = new ArrayList<>(properties.batchSize());
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, properties.batchSize()) == 0) {
+                idle = true;
+                if (running && buffer.size() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            flush(batch);
+            batch.clear();
+            markFlushed(buffer.head());
+        }
+        closeConnection();
+    }
+
+    private void flush(List<Queued> batch) {
+        try {
+            insertBatch(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Audit batch of {} events failed, retrying one by one", batch.size(), e);
+            for (Queued queued : batch) {
+                try {
+                    insertBatch(List.of(queued));
+                    written.increment();
+                } catch (SQLException | RuntimeException rowFailure) {
+                    dropped.increment();
+                    if (queued.receipt() != null) {
+                        queued.receipt().dropped++;
+                    }
+                    AuditEventEntity event = queued.event();
+                    log.error("Dropping audit event {} {} for transfer {}",
+                            event.getId(), event.getAction(), event.getTransferId(), rowFailure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code events} in one transaction on the writer's connection,
+     * reconnecting after a failure.
+     */
+    private void insertBatch(List<Queued> events) throws SQLException {
+        if (connection == null) {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (Queued queued : events) {
+                bind(statement, queued.event());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            closeConnection();
+            throw e;
+        }
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing audit writer connection failed", e);
+        }
+        connection = null;
+    }
+
+    private void insertInline(List<AuditEventEntity> events, boolean sync) {
+        try {
+            tx.executeWithoutResult(status -> insert(events));
+            writtenInline.add(events.size());
+        } catch (RuntimeException e) {
+            dropped.add(events.size());
+            if (sync) {
+                throw new AuditWriteException(events.size() + " audit events could not be written", e);
+            }
+            log.error("Dropping {} audit events that could not be written", events.size(), e);
+        }
+    }
+
+    private void insert(List<AuditEventEntity> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), AuditEventWriter::bind);
+    }
+
+    private static void bind(PreparedStatement statement, AuditEventEntity event) throws SQLException {
+        statement.setObject(1, event.getId());
+        statement.setObject(2, event.getTransferId());
+        statement.setString(3, event.getAction().name());
+        statement.setObject(4, OffsetDateTime.ofInstant(event.getTimestamp(), ZoneOffset.UTC));
+        statement.setShort(5, AuditCodes.code(event.getActor()));
+        statement.setObject(6, AuditCodes.code(event.getFromState()), Types.SMALLINT);
+        statement.setObject(7, AuditCodes.code(event.getToState()), Types.SMALLINT);
+        statement.setObject(8, event.getReasonId(), Types.INTEGER);
+        statement.setString(9, event.getDetail());
+    }
+
+    private void markFlushed(long position) {
+        flushed = position;
+        if (waiters.get() > 0) {
+            flushLock.lock();
+            try {
+                flushedCondition.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.writer.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.events", written, LongAdder::sum)
+                .tag("result", "batched")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.events", writtenInline, LongAdder::sum)
+                .tag("result", "inline")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.events", dropped, LongAdder::sum)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.batches", batches, LongAdder::sum)
+                .description("JDBC batches committed by the audit writer")
+                .register(registry);
+    }
+
+    /**
+     * Stops accepting events and waits for the buffer to drain.
+     */
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            log.warn("Audit writer shut down with {} unwritten events", buffer.size());
+        }
+    }
+
+    /**
+     * An event in the buffer, with the receipt of the SYNC write it belongs
+     * to, or {@code null} in ASYNC mode.
+     */
+    private record Queued(AuditEventEntity event, Receipt receipt) {}
+
+    /**
+     * Outcome of the events of one SYNC write. Only the writer thread
+     * updates it, before it publishes the flushed position the caller waits
+     * for.
+     */
+    private static final class Receipt {
+        int dropped;
+    }
+
+    /**
+     * Events of one transaction, released to the buffer after commit.
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<AuditEventEntity> events = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AuditEventWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AuditEventWriter.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            write(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditEventWriter.this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param chunkSize events read per transaction; the export continues after
+ *                  the last event of a chunk in a new one
+ * @param fetchSize rows the driver fetches per round trip
+ */
+@ConfigurationProperties(prefix = "orchestrator.audit.export")
+public record AuditExportProperties(
+        @DefaultValue("10000") int chunkSize,
+        @DefaultValue("1000") int fetchSize
+) {}
@@ -0,0 +1,139 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the monthly partitions of {@code audit_events} (V5 migration):
+ * creates them {@code premakeMonths} ahead so inserts never fall into the
+ * default partition, and detaches or drops partitions whose month lies
+ * entirely before the retention period. Expiry is a catalog operation, so
+ * no rows are deleted one by one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orchestrator.audit.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditPartitionManager {
+
+    static final String PARENT = "audit_events";
+
+    private static final Pattern MONTHLY = Pattern.compile("audit_events_y(\\d{4})m(\\d{2})");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd' 00:00:00+00'");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditPartitionProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate, AuditPartitionProperties properties) {
+        this(jdbcTemplate, properties, Clock.systemUTC());
+        scheduler.scheduleWithFixedDelay(
+                this::maintain, 0, properties.interval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    AuditPartitionManager(JdbcTemplate jdbcTemplate, AuditPartitionProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void maintain() {
+        try {
+            createUpcomingPartitions();
+            expirePartitions();
+        } catch (RuntimeException e) {
+            log.error("Audit partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Creates the partitions for the current month and the next
+     * {@code premakeMonths}, skipping those that exist.
+     */
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= properties.premakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month),
+                    PARENT,
+                    BOUND.format(month.atDay(1)),
+                    BOUND.format(month.plusMonths(1).atDay(1))
+            ));
+        }
+    }
+
+    /**
+     * Detaches or drops every monthly partition that ends on or before the
+     * start of the retention period. Returns the affected partitions.
+     */
+    public List<String> expirePartitions() {
+        if (properties.retention() == null) {
+            return List.of();
+        }
+        LocalDate cutoff = LocalDate.now(clock.withZone(ZoneOffset.UTC)).minus(properties.retention());
+        List<String> expired = monthlyPartitions().stream()
+                .filter(name -> !monthOf(name).plusMonths(1).atDay(1).isAfter(cutoff))
+                .toList();
+        for (String partition : expired) {
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition);
+            if (properties.expiredAction() == AuditPartitionProperties.ExpiredPartitionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            log.info("Expired audit partition {} ({})", partition, properties.expiredAction());
+        }
+        return expired;
+    }
+
+    List<String> monthlyPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = ?
+                ORDER BY child.relname
+                """, String.class, PARENT).stream()
+                .filter(name -> MONTHLY.matcher(name).matches())
+                .toList();
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("audit_events_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static YearMonth monthOf(String partition) {
+        Matcher matcher = MONTHLY.matcher(partition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a monthly audit partition: " + partition);
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import java.time.Duration;
+import java.time.Period;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param premakeMonths monthly partitions kept ready beyond the current one
+ * @param retention     age after which a month's partition expires; unset
+ *                      keeps audit events forever
+ */
+@ConfigurationProperties(prefix = "orchestrator.audit.partitions")
+public record AuditPartitionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("6h") Duration interval,
+        @DefaultValue("3") int premakeMonths,
+        Period retention,
+        @DefaultValue("DETACH") ExpiredPartitionAction expiredAction
+) {
+
+    public enum ExpiredPartitionAction {
+        /** Detach the partition but keep it as a standalone table for archiving. */
+        DETACH,
+        /** Drop the partition and its rows. */
+        DROP
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Policy denial reasons by id ({@code audit_policy_reasons}, V11 migration),
+ * so an audit event stores a reason as an INTEGER instead of its text.
+ * <p>
+ * A reason is added the first time it is seen, in a transaction of its own:
+ * an id once handed out stays committed even if the event that needed it
+ * is rolled back. Reasons never change, so both directions are cached.
+ */
+@Component
+public class AuditReasonDictionary {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO audit_policy_reasons (reason)
+            VALUES (?)
+            ON CONFLICT (reason) DO UPDATE SET reason = EXCLUDED.reason
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> reasons = new ConcurrentHashMap<>();
+
+    public AuditReasonDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public int id(String reason) {
+        Integer id = ids.get(reason);
+        if (id == null) {
+            id = tx.execute(status -> jdbcTemplate.queryForObject(UPSERT_SQL, Integer.class, reason));
+            remember(id, reason);
+        }
+        return id;
+    }
+
+    public String reason(int id) {
+        String reason = reasons.get(id);
+        if (reason == null) {
+            reason = jdbcTemplate.queryForObject(
+                    "SELECT reason FROM audit_policy_reasons WHERE id = ?", String.class, id);
+            remember(id, reason);
+        }
+        return reason;
+    }
+
+    private void remember(int id, String reason) {
+        ids.put(reason, id);
+        reasons.put(id, reason);
+    }
+}
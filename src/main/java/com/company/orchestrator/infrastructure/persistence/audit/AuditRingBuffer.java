@@ -0,0 +1,89 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer. Each slot
+ * carries a sequence number telling producers and the consumer whose turn
+ * it is, so neither side takes a lock.
+ */
+final class AuditRingBuffer<E> {
+
+    private final Object[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.entries = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends {@code entry}, returning its position, or {@code -1} if the
+     * buffer is full.
+     */
+    long offer(E entry) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.getAcquire(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[index] = entry;
+                    sequences.setRelease(index, position + 1);
+                    return position;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} published entries into {@code sink}. Must only
+     * be called from the consumer thread.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<E> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            sink.add((E) entries[index]);
+            entries[index] = null;
+            sequences.setRelease(index, position + entries.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /** Position of the next entry the consumer will take. */
+    long head() {
+        return head;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param grace        how long after an hour ends its bucket is sealed, to
+ *                     let most late audit writes land; later ones have the
+ *                     hour rebuilt on the next run
+ * @param backfillFrom if set, rollups from this instant (up to
+ *                     {@code backfillTo}, default: the watermark) are
+ *                     recomputed once at startup
+ */
+@ConfigurationProperties(prefix = "orchestrator.audit.rollup")
+public record AuditRollupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1m") Duration interval,
+        @DefaultValue("5m") Duration grace,
+        Instant backfillFrom,
+        Instant backfillTo
+) {}
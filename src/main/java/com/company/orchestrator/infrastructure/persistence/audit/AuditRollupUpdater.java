@@ -0,0 +1,169 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository.Granularity;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the audit rollups current: once an hour has closed (plus the grace
+ * period) its bucket is computed from {@code audit_events} and the hourly
+ * watermark moves past it; whole days are then summed from their hours.
+ * Every step recomputes buckets from scratch, so running it twice, or on
+ * two instances at once, gives the same result.
+ * <p>
+ * Events can be inserted after the grace period: the audit writer buffers
+ * them and batches insert them well after their timestamp was taken. An
+ * insert into a sealed hour marks that hour stale (V12 migration), and the
+ * next run rebuilds it. Hours are also rebuilt once more on the run after
+ * they were sealed, to count inserts whose transaction overlapped the seal
+ * and so neither saw the new watermark nor was seen by the rebuild.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orchestrator.audit.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditRollupUpdater {
+
+    private static final Duration CHUNK = Duration.ofDays(1);
+
+    private final AuditRollupRepository rollups;
+    private final TransactionTemplate tx;
+    private final AuditRollupProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public AuditRollupUpdater(
+            AuditRollupRepository rollups,
+            PlatformTransactionManager transactionManager,
+            AuditRollupProperties properties
+    ) {
+        this(rollups, transactionManager, properties, Clock.systemUTC());
+        if (properties.backfillFrom() != null) {
+            scheduler.execute(() -> run(() ->
+                    backfill(properties.backfillFrom(), properties.backfillTo())));
+        }
+        long interval = properties.interval().toMillis();
+        scheduler.scheduleWithFixedDelay(
+                () -> run(this::sealClosedBuckets), 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    AuditRollupUpdater(
+            AuditRollupRepository rollups,
+            PlatformTransactionManager transactionManager,
+            AuditRollupProperties properties,
+            Clock clock
+    ) {
+        this.rollups = rollups;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rebuilds the stale hours, then seals every hour that closed more than
+     * the grace period ago, and every day whose hours are all sealed.
+     */
+    public void sealClosedBuckets() {
+        rebuildStaleHours();
+
+        Instant target = clock.instant().minus(properties.grace()).truncatedTo(ChronoUnit.HOURS);
+        Instant sealed = rollups.sealedUntil(Granularity.HOUR).orElse(target);
+        while (sealed.isBefore(target)) {
+            Instant from = sealed;
+            Instant to = min(from.plus(CHUNK), target);
+            tx.executeWithoutResult(status -> {
+                rollups.rebuildHours(from, to);
+                rollups.advance(Granularity.HOUR, to);
+                rollups.markStale(from, to);
+            });
+            sealed = to;
+        }
+
+        Instant dayTarget = sealed.truncatedTo(ChronoUnit.DAYS);
+        Instant daySealed = rollups.sealedUntil(Granularity.DAY).orElse(dayTarget);
+        if (daySealed.isBefore(dayTarget)) {
+            tx.executeWithoutResult(status -> {
+                rollups.rebuildDays(daySealed, dayTarget);
+                rollups.advance(Granularity.DAY, dayTarget);
+            });
+        }
+    }
+
+    private void rebuildStaleHours() {
+        tx.executeWithoutResult(status -> {
+            List<Instant> hours = rollups.takeStaleHours();
+            hours.forEach(hour -> rollups.rebuildHours(hour, hour.plus(1, ChronoUnit.HOURS)));
+            Instant daySealed = rollups.sealedUntil(Granularity.DAY).orElse(Instant.EPOCH);
+            hours.stream()
+                    .map(hour -> hour.truncatedTo(ChronoUnit.DAYS))
+                    .distinct()
+                    .filter(day -> day.isBefore(daySealed))
+                    .forEach(day -> rollups.rebuildDays(day, day.plus(1, ChronoUnit.DAYS)));
+        });
+    }
+
+    /**
+     * Recomputes the sealed buckets overlapping {@code [from, to)}, e.g.
+     * after audit events were imported or deleted. Buckets past the
+     * watermarks are left to {@link #sealClosedBuckets()}.
+     */
+    public void backfill(Instant from, Instant to) {
+        Instant hourSealed = rollups.sealedUntil(Granularity.HOUR).orElse(Instant.EPOCH);
+        Instant start = from.truncatedTo(ChronoUnit.HOURS);
+        Instant end = min(to == null ? hourSealed : ceil(to, ChronoUnit.HOURS), hourSealed);
+        for (Instant chunk = start; chunk.isBefore(end); chunk = chunk.plus(CHUNK)) {
+            Instant chunkFrom = chunk;
+            Instant chunkTo = min(chunk.plus(CHUNK), end);
+            tx.executeWithoutResult(status -> rollups.rebuildHours(chunkFrom, chunkTo));
+        }
+
+        Instant daySealed = rollups.sealedUntil(Granularity.DAY).orElse(Instant.EPOCH);
+        Instant dayStart = start.truncatedTo(ChronoUnit.DAYS);
+        Instant dayEnd = min(ceil(end, ChronoUnit.DAYS), daySealed);
+        if (dayStart.isBefore(dayEnd)) {
+            tx.executeWithoutResult(status -> rollups.rebuildDays(dayStart, dayEnd));
+        }
+        log.info("Rebuilt audit rollups for [{}, {})", start, end);
+    }
+
+    private static void run(Runnable job) {
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            log.error("Audit rollup update failed", e);
+        }
+    }
+
+    private static Instant ceil(Instant instant, ChronoUnit unit) {
+        Instant floor = instant.truncatedTo(unit);
+        return floor.equals(instant) ? floor : floor.plus(1, unit);
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
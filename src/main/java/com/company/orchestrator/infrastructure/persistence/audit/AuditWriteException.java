@@ -0,0 +1,17 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+/**
+ * In SYNC mode, audit events of the caller could not be confirmed as
+ * written: they were dropped after failing to insert, or were not flushed
+ * within the sync timeout.
+ */
+public class AuditWriteException extends RuntimeException {
+
+    public AuditWriteException(String message) {
+        super(message);
+    }
+
+    public AuditWriteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
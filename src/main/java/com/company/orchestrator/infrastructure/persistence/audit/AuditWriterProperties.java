@@ -0,0 +1,23 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "orchestrator.audit.writer")
+public record AuditWriterProperties(
+        boolean enabled,
+        @DefaultValue("SYNC") Durability durability,
+        @DefaultValue("16384") int bufferCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("2s") Duration offerTimeout,
+        @DefaultValue("5s") Duration syncTimeout
+) {
+
+    public enum Durability {
+        /** Committing threads wait until their events have been flushed. */
+        SYNC,
+        /** Committing threads return as soon as their events are buffered. */
+        ASYNC
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.orchestrator.infrastructure.persistence.entity;
+
+import com.company.orchestrator.audit.AuditActor;
+import com.company.orchestrator.domain.model.TransferState;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * The SMALLINT codes of transfer states and actors in {@code audit_events}
+ * (V11 migration). A code is the position in the lists below, counting from
+ * 1; they are pinned here rather than taken from the enum ordinals because
+ * stored events outlive any reordering. New values are appended, never
+ * inserted, and the V11 lists stay as they are.
+ */
+public final class AuditCodes {
+
+    private static final TransferState[] STATES = {
+            TransferState.REQUESTED,
+            TransferState.POLICY_EVALUATION,
+            TransferState.APPROVED,
+            TransferState.DENIED,
+            TransferState.CONTRACT_NEGOTIATION,
+            TransferState.NEGOTIATED,
+            TransferState.TRANSFER_IN_PROGRESS,
+            TransferState.COMPLETED,
+            TransferState.FAILED,
+            TransferState.CANCELLED
+    };
+
+    private static final AuditActor[] ACTORS = {
+            AuditActor.API,
+            AuditActor.POLICY_ENGINE,
+            AuditActor.ORCHESTRATOR,
+            AuditActor.SYSTEM
+    };
+
+    private static final short[] STATE_CODES = codes(STATES, TransferState.values().length);
+    private static final short[] ACTOR_CODES = codes(ACTORS, AuditActor.values().length);
+
+    private AuditCodes() {
+    }
+
+    public static Short code(TransferState state) {
+        return state == null ? null : code(STATE_CODES, state);
+    }
+
+    public static Short code(AuditActor actor) {
+        return actor == null ? null : code(ACTOR_CODES, actor);
+    }
+
+    public static TransferState state(short code) {
+        return decode(STATES, code);
+    }
+
+    public static AuditActor actor(short code) {
+        return decode(ACTORS, code);
+    }
+
+    private static short[] codes(Enum<?>[] values, int size) {
+        short[] codes = new short[size];
+        for (int i = 0; i < values.length; i++) {
+            codes[values[i].ordinal()] = (short) (i + 1);
+        }
+        return codes;
+    }
+
+    private static short code(short[] codes, Enum<?> value) {
+        short code = codes[value.ordinal()];
+        if (code == 0) {
+            throw new IllegalStateException("No audit code for " + value);
+        }
+        return code;
+    }
+
+    private static <E> E decode(E[] values, short code) {
+        if (code < 1 || code > values.length) {
+            throw new IllegalArgumentException("Unknown audit code " + code);
+        }
+        return values[code - 1];
+    }
+
+    @Converter
+    public static final class StateConverter implements AttributeConverter<TransferState, Short> {
+
+        @Override
+        public Short convertToDatabaseColumn(TransferState state) {
+            return code(state);
+        }
+
+        @Override
+        public TransferState convertToEntityAttribute(Short code) {
+            return code == null ? null : state(code);
+        }
+    }
+
+    @Converter
+    public static final class ActorConverter implements AttributeConverter<AuditActor, Short> {
+
+        @Override
+        public Short convertToDatabaseColumn(AuditActor actor) {
+            return code(actor);
+        }
+
+        @Override
+        public AuditActor convertToEntityAttribute(Short code) {
+            return code == null ? null : actor(code);
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.company.orchestrator.infrastructure.persistence.entity;
 
 import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.AuditActor;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.Getter;
 
 import java.time.Instant;
 import java.util.UUID;
+import java.util.function.IntFunction;
 
+/**
+ * An audit event in typed columns: actor and states as SMALLINT codes
+ * ({@link AuditCodes}), a denial reason as an id into
+ * {@code audit_policy_reasons}, and free text only where an action has some.
+ */
 @Getter
 @Entity
 @Table(name = "audit_events",
         indexes = {
-                @Index(name = "idx_audit_transfer", columnList = "transferId"),
-                @Index(name = "idx_audit_timestamp", columnList = "timestamp")
+                @Index(name = "idx_audit_transfer", columnList = "transferId, timestamp"),
+                @Index(name = "idx_audit_timestamp_action", columnList = "timestamp, action")
         })
 public class AuditEventEntity {
 
@@ -29,11 +38,33 @@ public class AuditEventEntity {
     @Column(nullable = false, updatable = false)
     private Instant timestamp;
 
+    @Convert(converter = AuditCodes.ActorConverter.class)
     @Column(nullable = false, updatable = false)
-    private String actor;
+    private AuditActor actor;
 
+    /** The state a transition left. */
+    @Convert(converter = AuditCodes.StateConverter.class)
+    @Column(updatable = false)
+    private TransferState fromState;
+
+    /**
+     * The state a transition entered, the outcome of a policy evaluation, or
+     * {@code REQUESTED} for a request whose detail is its consumer.
+     */
+    @Convert(converter = AuditCodes.StateConverter.class)
+    @Column(updatable = false)
+    private TransferState toState;
+
+    @Column(updatable = false)
+    private Integer reasonId;
+
+    /** The text of {@link #reasonId}, set by {@link #resolveReason} once loaded. */
+    @Transient
+    private String reason;
+
+    /** The consumer of a request, or the connector's message on completion. */
     @Column(columnDefinition = "TEXT", updatable = false)
-    private String metadata;
+    private String detail;
 
     protected AuditEventEntity() {
         // JPA
@@ -42,14 +73,81 @@ public class AuditEventEntity {
     public AuditEventEntity(
             UUID transferId,
             AuditAction action,
-            String actor,
-            String metadata
+            AuditActor actor,
+            String detail
     ) {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.transferId = transferId;
         this.action = action;
         this.actor = actor;
-        this.metadata = metadata;
+        this.detail = detail;
         this.timestamp = Instant.now();
     }
+
+    public static AuditEventEntity transferRequested(UUID transferId, String consumerId) {
+        AuditEventEntity event =
+                new AuditEventEntity(transferId, AuditAction.TRANSFER_REQUESTED, AuditActor.API, consumerId);
+        event.toState = TransferState.REQUESTED;
+        return event;
+    }
+
+    public static AuditEventEntity policyApproved(UUID transferId) {
+        AuditEventEntity event =
+                new AuditEventEntity(transferId, AuditAction.POLICY_EVALUATED, AuditActor.POLICY_ENGINE, null);
+        event.toState = TransferState.APPROVED;
+        return event;
+    }
+
+    public static AuditEventEntity policyDenied(UUID transferId, Integer reasonId, String reason) {
+        AuditEventEntity event =
+                new AuditEventEntity(transferId, AuditAction.POLICY_EVALUATED, AuditActor.POLICY_ENGINE, null);
+        event.toState = TransferState.DENIED;
+        event.reasonId = reasonId;
+        event.reason = reason;
+        return event;
+    }
+
+    public static AuditEventEntity stateTransition(UUID transferId, TransferState from, TransferState to) {
+        AuditEventEntity event =
+                new AuditEventEntity(transferId, AuditAction.STATE_TRANSITION, AuditActor.ORCHESTRATOR, null);
+        event.fromState = from;
+        event.toState = to;
+        return event;
+    }
+
+    /**
+     * Looks up the text of the denial reason, e.g. with
+     * {@code AuditReasonDictionary::reason}, which caches it.
+     */
+    public void resolveReason(IntFunction<String> reasons) {
+        if (reasonId != null && reason == null) {
+            reason = reasons.apply(reasonId);
+        }
+    }
+
+    /**
+     * The event as the text it was stored as before V11, such as
+     * {@code "REQUESTED -> POLICY_EVALUATION"} or {@code "DENIED: <reason>"}.
+     */
+    public String getMetadata() {
+        return metadata(action, fromState, toState, reason, detail);
+    }
+
+    public static String metadata(
+            AuditAction action,
+            TransferState from,
+            TransferState to,
+            String reason,
+            String detail
+    ) {
+        return switch (action) {
+            case TRANSFER_REQUESTED -> to == TransferState.REQUESTED && detail != null ? "Consumer=" + detail
+                    : detail;
+            case POLICY_EVALUATED -> to == TransferState.APPROVED ? "APPROVED"
+                    : to == TransferState.DENIED ? "DENIED: " + reason
+                    : detail;
+            case STATE_TRANSITION -> from != null && to != null ? from + " -> " + to : detail;
+            default -> detail;
+        };
+    }
 }
@@ -0,0 +1,40 @@
+package com.company.orchestrator.infrastructure.persistence.entity;
+
+import com.company.orchestrator.domain.analytics.TransferCounters;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds state changes written through JPA into the in-memory
+ * {@link TransferCounters}. Runs before the entity's own callbacks, so
+ * {@link TransferEntity#getPersistedState()} still holds the previous state.
+ * Bulk-update transitions skip entity callbacks and record their deltas in
+ * {@code TransferTransitionRepositoryImpl} instead.
+ */
+@Component
+public class TransferCounterListener {
+
+    private final ObjectProvider<TransferCounters> counters;
+
+    public TransferCounterListener(ObjectProvider<TransferCounters> counters) {
+        this.counters = counters;
+    }
+
+    @PostPersist
+    void inserted(TransferEntity entity) {
+        counters.ifAvailable(c -> c.record(entity.getDataType(), null, entity.getState()));
+    }
+
+    @PostUpdate
+    void updated(TransferEntity entity) {
+        counters.ifAvailable(c -> c.record(entity.getDataType(), entity.getPersistedState(), entity.getState()));
+    }
+
+    @PostRemove
+    void removed(TransferEntity entity) {
+        counters.ifAvailable(c -> c.record(entity.getDataType(), entity.getPersistedState(), null));
+    }
+}
@@ -1,9 +1,13 @@
 package com.company.orchestrator.infrastructure.persistence.entity;
 
+import com.company.orchestrator.domain.exception.IllegalStateTransitionException;
 import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.id.UuidV7;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -12,6 +16,8 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "transfers")
+@DynamicUpdate
+@EntityListeners(TransferCounterListener.class)
 public class TransferEntity {
 
     @Id
@@ -22,15 +28,26 @@ public class TransferEntity {
     private String dataType;
 
     @Enumerated(EnumType.STRING)
+    @Setter(AccessLevel.NONE)
     private TransferState state;
 
     private Instant createdAt;
     private Instant updatedAt;
 
+    /** Null until persisted, so {@code save} of a new transfer is a plain insert. */
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
+    /** State as last loaded from or written to the database. */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private TransferState persistedState;
+
     public TransferEntity() {}
 
     public TransferEntity(String consumerId, String providerId, String dataType) {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.consumerId = consumerId;
         this.providerId = providerId;
         this.dataType = dataType;
@@ -38,5 +55,24 @@ public class TransferEntity {
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
     }
-}
 
+    /**
+     * Moves this transfer along the {@link TransferState} graph. Transfers
+     * already visible to other transactions should be moved with
+     * {@code TransferRepository.transition} instead.
+     */
+    public void transitionTo(TransferState next) {
+        if (!state.canTransitionTo(next)) {
+            throw new IllegalStateTransitionException(state, next);
+        }
+        this.state = next;
+        this.updatedAt = Instant.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        this.persistedState = state;
+    }
+}
@@ -1,19 +1,99 @@
 package com.company.orchestrator.infrastructure.persistence.repository;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import com.company.orchestrator.infrastructure.persistence.id.UuidV7;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface AuditEventRepository
         extends JpaRepository<AuditEventEntity, UUID> {
 
-    List<AuditEventEntity> findByTransferIdOrderByTimestampAsc(UUID transferId);
+    /**
+     * How far the clock stamping an audit event may be behind the one that
+     * created its transfer.
+     */
+    Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(5);
 
-    List<AuditEventEntity> findByTimestampBetween(
-            Instant from,
-            Instant to
-    );
+    /**
+     * The earliest timestamp an audit event of the transfer can have: its
+     * creation time less {@link #CLOCK_SKEW_MARGIN}. The creation time is
+     * read from a UUIDv7 id, so it is known even without the transfer row;
+     * for older random ids it is looked up with {@code createdAt}. Without
+     * either there is no bound.
+     */
+    static Instant earliestEventOf(UUID transferId, Function<UUID, Optional<Instant>> createdAt) {
+        Optional<Instant> created = transferId.version() == 7
+                ? Optional.of(UuidV7.timestamp(transferId))
+                : createdAt.apply(transferId);
+        return created.map(instant -> instant.minus(CLOCK_SKEW_MARGIN)).orElse(Instant.EPOCH);
+    }
+
+    /**
+     * A transfer has no audit events before it was created; bounding the
+     * timestamp by that lets Postgres skip older audit partitions at run time.
+     */
+    default List<AuditEventEntity> findByTransferIdOrderByTimestampAsc(UUID transferId) {
+        return findByTransferIdSince(transferId, earliestEventOf(transferId, this::findTransferCreatedAt));
+    }
+
+    @Query("""
+        SELECT e
+        FROM AuditEventEntity e
+        WHERE e.transferId = :transferId
+          AND e.timestamp >= :since
+        ORDER BY e.timestamp ASC
+    """)
+    List<AuditEventEntity> findByTransferIdSince(UUID transferId, Instant since);
+
+    @Query("SELECT t.createdAt FROM TransferEntity t WHERE t.id = :transferId")
+    Optional<Instant> findTransferCreatedAt(UUID transferId);
+
+    @Query("""
+        SELECT e.action, COUNT(e)
+        FROM AuditEventEntity e
+        WHERE e.timestamp BETWEEN :from AND :to
+        GROUP BY e.action
+    """)
+    List<Object[]> countByActionBetween(Instant from, Instant to);
+
+    @Query("""
+        SELECT e.action, COUNT(e)
+        FROM AuditEventEntity e
+        WHERE e.timestamp >= :from AND e.timestamp < :until
+        GROUP BY e.action
+    """)
+    List<Object[]> countByActionFromUntil(Instant from, Instant until);
+
+    /**
+     * Every event of the window, loaded at once; the timestamp bound prunes
+     * the monthly partitions. For wide windows use
+     * {@link #streamByTimestampBetween} instead.
+     */
+    List<AuditEventEntity> findByTimestampBetween(Instant from, Instant to);
+
+    /**
+     * Server-side cursor over the window; must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT e
+        FROM AuditEventEntity e
+        WHERE e.timestamp BETWEEN :from AND :to
+    """)
+    Stream<AuditEventEntity> streamByTimestampBetween(Instant from, Instant to);
 }
@@ -0,0 +1,137 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import com.company.orchestrator.audit.AuditAction;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Hourly and daily action counts of {@code audit_events} (V4 migration).
+ * Buckets are UTC-aligned and only complete below the granularity's
+ * {@link #sealedUntil sealed-until} watermark, apart from the
+ * {@link #takeStaleHours stale hours} that are still to be rebuilt.
+ */
+@Repository
+public class AuditRollupRepository {
+
+    public enum Granularity {
+        HOUR("audit_rollup_hourly"),
+        DAY("audit_rollup_daily");
+
+        private final String table;
+
+        Granularity(String table) {
+            this.table = table;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Instant> sealedUntil(Granularity granularity) {
+        return jdbcTemplate.query(
+                "SELECT sealed_until FROM audit_rollup_watermarks WHERE granularity = ?",
+                (rs, row) -> rs.getTimestamp(1).toInstant(),
+                granularity.name()
+        ).stream().findFirst();
+    }
+
+    /**
+     * Sums the buckets starting in {@code [from, to)} per action.
+     */
+    public List<Object[]> countByAction(Granularity granularity, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT action, SUM(event_count) FROM " + granularity.table
+                        + " WHERE bucket_start >= ? AND bucket_start < ? GROUP BY action",
+                (rs, row) -> new Object[] {
+                        AuditAction.valueOf(rs.getString(1)),
+                        rs.getLong(2)
+                },
+                utc(from),
+                utc(to)
+        );
+    }
+
+    /**
+     * Recomputes the hourly buckets in {@code [from, to)} from the raw events.
+     */
+    public void rebuildHours(Instant from, Instant to) {
+        jdbcTemplate.update(
+                "DELETE FROM audit_rollup_hourly WHERE bucket_start >= ? AND bucket_start < ?",
+                utc(from), utc(to));
+        jdbcTemplate.update("""
+                INSERT INTO audit_rollup_hourly (bucket_start, action, event_count)
+                SELECT date_trunc('hour', timestamp, 'UTC'), action, COUNT(*)
+                FROM audit_events
+                WHERE timestamp >= ? AND timestamp < ?
+                GROUP BY 1, 2
+                ON CONFLICT (bucket_start, action) DO UPDATE SET event_count = EXCLUDED.event_count
+                """, utc(from), utc(to));
+    }
+
+    /**
+     * Recomputes the daily buckets in {@code [from, to)} from the hourly
+     * buckets, which must be sealed for that range.
+     */
+    public void rebuildDays(Instant from, Instant to) {
+        jdbcTemplate.update(
+                "DELETE FROM audit_rollup_daily WHERE bucket_start >= ? AND bucket_start < ?",
+                utc(from), utc(to));
+        jdbcTemplate.update("""
+                INSERT INTO audit_rollup_daily (bucket_start, action, event_count)
+                SELECT date_trunc('day', bucket_start, 'UTC'), action, SUM(event_count)
+                FROM audit_rollup_hourly
+                WHERE bucket_start >= ? AND bucket_start < ?
+                GROUP BY 1, 2
+                ON CONFLICT (bucket_start, action) DO UPDATE SET event_count = EXCLUDED.event_count
+                """, utc(from), utc(to));
+    }
+
+    /**
+     * Removes and returns the sealed hours that received audit events after
+     * they were sealed (V12 migration), oldest first.
+     */
+    public List<Instant> takeStaleHours() {
+        return jdbcTemplate.query(
+                "DELETE FROM audit_rollup_stale_hours RETURNING bucket_start",
+                (rs, row) -> rs.getTimestamp(1).toInstant()
+        ).stream().sorted().toList();
+    }
+
+    /**
+     * Marks the hours in {@code [from, to)} to be rebuilt once more.
+     */
+    public void markStale(Instant from, Instant to) {
+        jdbcTemplate.update("""
+                INSERT INTO audit_rollup_stale_hours (bucket_start)
+                SELECT generate_series(?::timestamptz, ?::timestamptz - interval '1 hour', interval '1 hour')
+                ON CONFLICT (bucket_start) DO NOTHING
+                """, utc(from), utc(to));
+    }
+
+    /**
+     * Moves the watermark forward; it never moves back.
+     */
+    public void advance(Granularity granularity, Instant sealedUntil) {
+        jdbcTemplate.update("""
+                INSERT INTO audit_rollup_watermarks (granularity, sealed_until)
+                VALUES (?, ?)
+                ON CONFLICT (granularity) DO UPDATE
+                SET sealed_until = GREATEST(audit_rollup_watermarks.sealed_until, EXCLUDED.sealed_until)
+                """, granularity.name(), utc(sealedUntil));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
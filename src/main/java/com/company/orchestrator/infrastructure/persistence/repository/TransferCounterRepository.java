@@ -0,0 +1,76 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Striped transfer counts of {@code transfer_counters} (V8 migration),
+ * kept current by a trigger on {@code transfers}.
+ */
+@Repository
+public class TransferCounterRepository {
+
+    public enum Dimension {
+        STATE,
+        DATA_TYPE
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransferCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sums the stripes per dimension and key; rows are
+     * {@code [Dimension, String key, Long count]}.
+     */
+    public List<Object[]> sums() {
+        return jdbcTemplate.query("""
+                SELECT dimension, key, SUM(count)
+                FROM transfer_counters
+                GROUP BY dimension, key
+                HAVING SUM(count) <> 0
+                """,
+                (rs, row) -> new Object[] {
+                        Dimension.valueOf(rs.getString(1)),
+                        rs.getString(2),
+                        rs.getLong(3)
+                });
+    }
+
+    /**
+     * Corrects every count that differs from {@code transfers} and returns
+     * the number of corrected keys. Both tables are read by one statement,
+     * hence from one snapshot: transactions committing meanwhile are in
+     * neither side, and their increments still apply on top of the
+     * correction. Must run in a transaction; the advisory lock keeps
+     * concurrent reconciliations from applying the same correction twice.
+     */
+    public int reconcile() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('transfer_counters'))");
+        return jdbcTemplate.query("""
+                WITH actual AS (
+                    SELECT 'STATE' AS dimension, state AS key, COUNT(*) AS count
+                    FROM transfers GROUP BY state
+                    UNION ALL
+                    SELECT 'DATA_TYPE', data_type, COUNT(*)
+                    FROM transfers GROUP BY data_type
+                ), counted AS (
+                    SELECT dimension, key, SUM(count) AS count
+                    FROM transfer_counters GROUP BY dimension, key
+                )
+                INSERT INTO transfer_counters (dimension, key, stripe, count)
+                SELECT COALESCE(a.dimension, c.dimension),
+                       COALESCE(a.key, c.key),
+                       0,
+                       COALESCE(a.count, 0) - COALESCE(c.count, 0)
+                FROM actual a
+                FULL JOIN counted c ON c.dimension = a.dimension AND c.key = a.key
+                WHERE COALESCE(a.count, 0) <> COALESCE(c.count, 0)
+                ON CONFLICT (dimension, key, stripe) DO UPDATE SET count = transfer_counters.count + EXCLUDED.count
+                RETURNING dimension
+                """, (rs, row) -> 1).size();
+    }
+}
@@ -1,16 +1,23 @@
 package com.company.orchestrator.infrastructure.persistence.repository;
 
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.domain.model.TransferState;
 import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TransferRepository extends JpaRepository<TransferEntity, UUID> {
+public interface TransferRepository
+        extends JpaRepository<TransferEntity, UUID>,
+                TransferSearchRepository, TransferTransitionRepository {
 
     @Query("""
         SELECT t.state, COUNT(t)
@@ -26,4 +33,32 @@ public interface TransferRepository extends JpaRepository<TransferEntity, UUID>
     """)
     List<Object[]> countByDataType();
 
+    /**
+     * Newest transfers first; pass an unsorted {@code Pageable} to limit the
+     * slice. Returning a {@code List} skips the count query.
+     */
+    @Query("""
+        SELECT new com.company.orchestrator.api.dto.TransferSummaryResponse(
+            t.id, t.consumerId, t.providerId, t.dataType, t.state, t.createdAt)
+        FROM TransferEntity t
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<TransferSummaryResponse> findNewest(Pageable limit);
+
+    /**
+     * Transfers strictly after the cursor (createdAt, id) in the order of
+     * {@link #findNewest}.
+     */
+    @Query("""
+        SELECT new com.company.orchestrator.api.dto.TransferSummaryResponse(
+            t.id, t.consumerId, t.providerId, t.dataType, t.state, t.createdAt)
+        FROM TransferEntity t
+        WHERE t.createdAt <= :createdAt
+          AND (t.createdAt < :createdAt OR t.id < :id)
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<TransferSummaryResponse> findNewestBefore(Instant createdAt, UUID id, Pageable limit);
+
+    @Query("SELECT t.state FROM TransferEntity t WHERE t.id = :id")
+    Optional<TransferState> findStateById(UUID id);
 }
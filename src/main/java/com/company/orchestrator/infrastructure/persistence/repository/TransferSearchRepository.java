@@ -0,0 +1,16 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import java.util.List;
+
+import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.domain.model.TransferCursor;
+import com.company.orchestrator.domain.model.TransferSearchCriteria;
+
+public interface TransferSearchRepository {
+
+    /**
+     * Transfers matching {@code criteria}, newest first, strictly after
+     * {@code after} (null for the first slice), at most {@code limit} rows.
+     */
+    List<TransferSummaryResponse> search(TransferSearchCriteria criteria, TransferCursor after, int limit);
+}
@@ -0,0 +1,82 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.domain.model.TransferCursor;
+import com.company.orchestrator.domain.model.TransferSearchCriteria;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Builds the search from the filters that are set, so every combination
+ * becomes a plain conjunction of equality and range predicates followed by
+ * the (created_at, id) keyset. The V7 migration indexes the selective
+ * filters with that ordering and includes the projected columns, so the
+ * common searches are answered by an index-only scan.
+ */
+class TransferSearchRepositoryImpl implements TransferSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransferSummaryResponse> search(TransferSearchCriteria criteria, TransferCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransferSummaryResponse> query = cb.createQuery(TransferSummaryResponse.class);
+        Root<TransferEntity> transfer = query.from(TransferEntity.class);
+        Path<Instant> createdAt = transfer.get("createdAt");
+        Path<UUID> id = transfer.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        addEqual(where, cb, transfer.get("consumerId"), criteria.consumerId());
+        addEqual(where, cb, transfer.get("providerId"), criteria.providerId());
+        addEqual(where, cb, transfer.get("dataType"), criteria.dataType());
+        addEqual(where, cb, transfer.<TransferState>get("state"), criteria.state());
+        if (criteria.createdFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(createdAt, criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            where.add(cb.lessThan(createdAt, criteria.createdTo()));
+        }
+        if (after != null) {
+            where.add(cb.lessThanOrEqualTo(createdAt, after.createdAt()));
+            where.add(cb.or(
+                    cb.lessThan(createdAt, after.createdAt()),
+                    cb.lessThan(id, after.id())
+            ));
+        }
+
+        query.select(cb.construct(
+                        TransferSummaryResponse.class,
+                        id,
+                        transfer.get("consumerId"),
+                        transfer.get("providerId"),
+                        transfer.get("dataType"),
+                        transfer.get("state"),
+                        createdAt
+                ))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static <T> void addEqual(List<Predicate> where, CriteriaBuilder cb, Path<T> path, T value) {
+        if (value != null) {
+            where.add(cb.equal(path, value));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import com.company.orchestrator.domain.analytics.TransferStage;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Per-minute stage duration histograms of {@code transfer_stage_histograms}
+ * (V9 migration).
+ */
+@Repository
+public class TransferStageHistogramRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransferStageHistogramRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds histograms to the stored ones; rows are
+     * {@code [Instant bucketStart, TransferStage, String dataType, String providerId, long[] counts]}.
+     */
+    public void merge(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            args.add(new Object[] {
+                    utc((Instant) row[0]), ((TransferStage) row[1]).name(), row[2], row[3], row[4]
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transfer_stage_histograms (bucket_start, stage, data_type, provider_id, counts)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (bucket_start, stage, data_type, provider_id) DO UPDATE
+                SET counts = ARRAY(
+                    SELECT COALESCE(stored, 0) + COALESCE(added, 0)
+                    FROM unnest(transfer_stage_histograms.counts, EXCLUDED.counts)
+                         WITH ORDINALITY AS c(stored, added, position)
+                    ORDER BY position
+                )
+                """, args);
+    }
+
+    /**
+     * Histograms of the minutes in {@code [from, to)}, optionally restricted
+     * to one data type and/or provider; rows as for {@link #merge}.
+     */
+    public List<Object[]> find(Instant from, Instant to, String dataType, String providerId) {
+        return jdbcTemplate.query("""
+                SELECT bucket_start, stage, data_type, provider_id, counts
+                FROM transfer_stage_histograms
+                WHERE bucket_start >= ? AND bucket_start < ?
+                  AND (CAST(? AS VARCHAR) IS NULL OR data_type = ?)
+                  AND (CAST(? AS VARCHAR) IS NULL OR provider_id = ?)
+                """,
+                (rs, row) -> new Object[] {
+                        rs.getTimestamp(1).toInstant(),
+                        TransferStage.valueOf(rs.getString(2)),
+                        rs.getString(3),
+                        rs.getString(4),
+                        toLongs(rs.getArray(5))
+                },
+                utc(from), utc(to), dataType, dataType, providerId, providerId);
+    }
+
+    private static long[] toLongs(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] counts = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            counts[i] = ((Number) values[i]).longValue();
+        }
+        return counts;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.company.orchestrator.domain.exception.IllegalStateTransitionException;
+import com.company.orchestrator.domain.model.TransferState;
+
+public interface TransferTransitionRepository {
+
+    /**
+     * Moves the transfer from {@code from} to {@code to} with a single
+     * targeted update. Returns {@code false} if the transfer is missing or
+     * has left {@code from} in the meantime, without loading the entity.
+     *
+     * @throws IllegalStateTransitionException if the graph has no such edge
+     */
+    boolean transition(UUID id, TransferState from, TransferState to);
+
+    /**
+     * Moves the transfer to {@code to} from whichever state it is in. A lost
+     * race re-reads the state and tries again while the graph still allows
+     * the move; states only move forward, so this ends after a few rounds.
+     *
+     * @return the state the transfer left, or empty if it is missing or can
+     *         no longer reach {@code to}
+     */
+    Optional<TransferState> transitionFromCurrent(UUID id, TransferState to);
+}
@@ -0,0 +1,76 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.company.orchestrator.domain.analytics.TransferCounters;
+import com.company.orchestrator.domain.exception.IllegalStateTransitionException;
+import com.company.orchestrator.domain.model.TransferState;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compare-and-set transitions as bulk updates. They bypass the entity
+ * listeners, so a successful update records its counter delta here, as
+ * {@code TransferCounterListener} does for changes written through the
+ * entity.
+ */
+class TransferTransitionRepositoryImpl implements TransferTransitionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectProvider<TransferCounters> counters;
+
+    TransferTransitionRepositoryImpl(ObjectProvider<TransferCounters> counters) {
+        this.counters = counters;
+    }
+
+    @Override
+    @Transactional
+    public boolean transition(UUID id, TransferState from, TransferState to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalStateTransitionException(from, to);
+        }
+        int updated = entityManager.createQuery("""
+                UPDATE TransferEntity t
+                SET t.state = :to, t.updatedAt = :updatedAt, t.version = t.version + 1
+                WHERE t.id = :id AND t.state = :from
+                """)
+                .setParameter("id", id)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("updatedAt", Instant.now())
+                .executeUpdate();
+        if (updated != 1) {
+            return false;
+        }
+        // a state move leaves the data type count alone, so the type is not needed
+        counters.ifAvailable(c -> c.record(null, from, to));
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public Optional<TransferState> transitionFromCurrent(UUID id, TransferState to) {
+        Optional<TransferState> current = findState(id);
+        while (current.isPresent() && current.get().canTransitionTo(to)) {
+            if (transition(id, current.get(), to)) {
+                return current;
+            }
+            current = findState(id);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<TransferState> findState(UUID id) {
+        return entityManager
+                .createQuery("SELECT t.state FROM TransferEntity t WHERE t.id = :id", TransferState.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+}
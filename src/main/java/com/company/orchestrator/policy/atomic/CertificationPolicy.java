@@ -10,6 +10,10 @@ public final class CertificationPolicy implements AtomicPolicy {
         this.requiredCertification = requiredCertification;
     }
 
+    public String requiredCertification() {
+        return requiredCertification;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         if (!context.consumerCertifications().contains(requiredCertification)) {
@@ -8,6 +8,10 @@ public final class GeographicPolicy implements AtomicPolicy {
     private static final Set<String> EU_REGIONS =
             Set.of("EU", "DE", "FR", "NL", "IT", "ES");
 
+    public Set<String> allowedRegions() {
+        return EU_REGIONS;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         if (!EU_REGIONS.contains(context.consumerRegion())) {
@@ -10,6 +10,10 @@ public final class RateLimitPolicy implements AtomicPolicy {
         this.maxRequestsPerHour = maxRequestsPerHour;
     }
 
+    public long maxRequestsPerHour() {
+        return maxRequestsPerHour;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         if (context.requestsInLastHour() > maxRequestsPerHour) {
@@ -16,6 +16,18 @@ public final class TimeBasedPolicy implements AtomicPolicy {
         this.zone = zone;
     }
 
+    public LocalTime start() {
+        return start;
+    }
+
+    public LocalTime end() {
+        return end;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         var localTime = context.requestTime()
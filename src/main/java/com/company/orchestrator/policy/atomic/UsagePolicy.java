@@ -10,6 +10,10 @@ public final class UsagePolicy implements AtomicPolicy {
         this.allowedPurpose = allowedPurpose;
     }
 
+    public String allowedPurpose() {
+        return allowedPurpose;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         if (!allowedPurpose.equalsIgnoreCase(context.usagePurpose())) {
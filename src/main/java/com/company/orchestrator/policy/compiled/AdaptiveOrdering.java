@@ -0,0 +1,18 @@
+package com.company.orchestrator.policy.compiled;
+
+import java.time.Duration;
+
+/**
+ * Turns on adaptive child ordering in a {@link CompiledPolicy}.
+ *
+ * @param sampleRate one in this many evaluations is sampled
+ * @param interval how often the order is recomputed from the samples
+ */
+public record AdaptiveOrdering(int sampleRate, Duration interval) {
+
+    public AdaptiveOrdering {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be at least 1");
+        }
+    }
+}
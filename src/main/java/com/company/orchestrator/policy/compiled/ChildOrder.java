@@ -0,0 +1,102 @@
+package com.company.orchestrator.policy.compiled;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The order in which a {@link CompiledPolicy} evaluates the children of its
+ * adaptive AND and OR nodes, recomputed from sampled evaluations.
+ * <p>
+ * A sampled evaluation times every child of an adaptive node and records
+ * whether it would have short-circuited the node (a denial under AND, an
+ * allow under OR). It runs all children, so children late in the order are
+ * sampled as often as early ones. Once per interval, the first sampling
+ * thread to notice sorts each node's children by mean cost over
+ * short-circuit rate, which minimizes the expected cost for independent
+ * children. Ties, and children that never short-circuit, stay in
+ * declaration order. The result is published as a new immutable table, and
+ * the counts are halved so that the order follows changes in traffic.
+ */
+final class ChildOrder {
+
+    private final int[][] declared;
+    private final int sampleRate;
+    private final long intervalNanos;
+    private final AtomicLongArray samples;
+    private final AtomicLongArray shortCircuits;
+    private final AtomicLongArray nanos;
+    private final AtomicLong nextReorder;
+    private volatile int[][] current;
+
+    /**
+     * @param declared per node, its children in declaration order if the
+     *                 node is adaptive, otherwise {@code null}
+     */
+    ChildOrder(int[][] declared, AdaptiveOrdering settings) {
+        this.declared = declared;
+        this.sampleRate = settings.sampleRate();
+        this.intervalNanos = settings.interval().toNanos();
+        this.samples = new AtomicLongArray(declared.length);
+        this.shortCircuits = new AtomicLongArray(declared.length);
+        this.nanos = new AtomicLongArray(declared.length);
+        this.nextReorder = new AtomicLong(System.nanoTime() + intervalNanos);
+        this.current = declared;
+    }
+
+    int[][] current() {
+        return current;
+    }
+
+    boolean sample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    void record(int child, long elapsedNanos, boolean shortCircuited) {
+        samples.incrementAndGet(child);
+        nanos.addAndGet(child, elapsedNanos);
+        if (shortCircuited) {
+            shortCircuits.incrementAndGet(child);
+        }
+    }
+
+    void reorderIfDue() {
+        long due = nextReorder.get();
+        long now = System.nanoTime();
+        if (now - due >= 0 && nextReorder.compareAndSet(due, now + intervalNanos)) {
+            reorder();
+        }
+    }
+
+    private void reorder() {
+        int[][] next = new int[declared.length][];
+        for (int node = 0; node < declared.length; node++) {
+            if (declared[node] != null) {
+                next[node] = sorted(declared[node]);
+            }
+        }
+        current = next;
+        for (int node = 0; node < declared.length; node++) {
+            samples.set(node, samples.get(node) >> 1);
+            shortCircuits.set(node, shortCircuits.get(node) >> 1);
+            nanos.set(node, nanos.get(node) >> 1);
+        }
+    }
+
+    private int[] sorted(int[] children) {
+        // children are in pre-order, so their node index is their declaration order
+        return Arrays.stream(children)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(this::rank).thenComparingInt(child -> child))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /** Mean cost over short-circuit rate, i.e. the nanoseconds spent per short circuit. */
+    private double rank(int child) {
+        long hits = shortCircuits.get(child);
+        return hits == 0 ? Double.POSITIVE_INFINITY : (double) nanos.get(child) / hits;
+    }
+}
@@ -0,0 +1,282 @@
+package com.company.orchestrator.policy.compiled;
+
+import com.company.orchestrator.policy.CompositePolicy;
+import com.company.orchestrator.policy.Policy;
+import com.company.orchestrator.policy.PolicyContext;
+import com.company.orchestrator.policy.PolicyEvaluationResult;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Set;
+
+/**
+ * Flat, pre-resolved form of a policy tree produced by {@link PolicyCompiler}.
+ * Evaluation returns exactly what the source tree would return, but shares
+ * immutable results instead of allocating one per node: allowed evaluations
+ * allocate nothing, and only denials whose reason depends on the context
+ * build a new result.
+ * <p>
+ * Compiled with {@link AdaptiveOrdering}, the AND and OR nodes chosen by the
+ * compiler evaluate their children in the order published by
+ * {@link ChildOrder}. Sampled evaluations run all children of those nodes
+ * to measure them, and return the same result as an unsampled one.
+ */
+public final class CompiledPolicy implements CompositePolicy {
+
+    static final byte AND = 0;
+    static final byte OR = 1;
+    static final byte NOT = 2;
+    static final byte CERTIFICATION = 3;
+    static final byte GEOGRAPHIC = 4;
+    static final byte RATE_LIMIT = 5;
+    static final byte TIME_WINDOW = 6;
+    static final byte TIME_WINDOW_FIXED = 7;
+    static final byte USAGE = 8;
+    static final byte DELEGATE = 9;
+
+    static final PolicyEvaluationResult ALLOWED =
+            PolicyEvaluationResult.allow();
+    static final PolicyEvaluationResult OR_DENIAL =
+            PolicyEvaluationResult.deny("None of the OR-composed policies were satisfied");
+    static final PolicyEvaluationResult NOT_DENIAL =
+            PolicyEvaluationResult.deny("NOT policy violation");
+    static final PolicyEvaluationResult GEOGRAPHIC_DENIAL =
+            PolicyEvaluationResult.deny("Data transfer outside EU region is not permitted");
+    static final PolicyEvaluationResult TIME_WINDOW_DENIAL =
+            PolicyEvaluationResult.deny("Transfer not allowed outside business hours");
+
+    private static final String USAGE_DENIAL_PREFIX = "Usage purpose not allowed: ";
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Policy source;
+    private final byte[] ops;
+    private final int[] ends;
+    private final Object[] operands;
+    private final long[] lower;
+    private final long[] upper;
+    private final int[] offsets;
+    private final PolicyEvaluationResult[] denials;
+    private final OffsetWindow[] offsetWindows;
+    private final ChildOrder order;
+
+    CompiledPolicy(
+            Policy source,
+            byte[] ops,
+            int[] ends,
+            Object[] operands,
+            long[] lower,
+            long[] upper,
+            int[] offsets,
+            PolicyEvaluationResult[] denials,
+            ChildOrder order
+    ) {
+        this.source = source;
+        this.ops = ops;
+        this.ends = ends;
+        this.operands = operands;
+        this.lower = lower;
+        this.upper = upper;
+        this.offsets = offsets;
+        this.denials = denials;
+        this.offsetWindows = new OffsetWindow[ops.length];
+        this.order = order;
+    }
+
+    /**
+     * The tree this program was compiled from.
+     */
+    public Policy source() {
+        return source;
+    }
+
+    /**
+     * The children of a node in the order they are currently evaluated in,
+     * or {@code null} if the node is not reordered.
+     */
+    int[] childOrder(int node) {
+        return order == null ? null : order.current()[node];
+    }
+
+    @Override
+    public PolicyEvaluationResult evaluate(PolicyContext context) {
+        if (order == null) {
+            return evaluate(0, context, null, false);
+        }
+        boolean sample = order.sample();
+        PolicyEvaluationResult result = evaluate(0, context, order.current(), sample);
+        if (sample) {
+            order.reorderIfDue();
+        }
+        return result;
+    }
+
+    private PolicyEvaluationResult evaluate(int node, PolicyContext context, int[][] orders, boolean sample) {
+        switch (ops[node]) {
+            case AND -> {
+                int[] children = orders == null ? null : orders[node];
+                if (children != null) {
+                    try {
+                        if (sample) {
+                            return sampleChildren(node, children, context, orders);
+                        }
+                        for (int child : children) {
+                            PolicyEvaluationResult result = evaluate(child, context, orders, false);
+                            if (!result.allowed()) {
+                                return result;
+                            }
+                        }
+                        return ALLOWED;
+                    } catch (RuntimeException e) {
+                        // fall through, so that a child that fails does so exactly as in declaration order
+                    }
+                }
+                for (int child = node + 1; child < ends[node]; child = ends[child]) {
+                    PolicyEvaluationResult result = evaluate(child, context, orders, sample);
+                    if (!result.allowed()) {
+                        return result;
+                    }
+                }
+                return ALLOWED;
+            }
+            case OR -> {
+                int[] children = orders == null ? null : orders[node];
+                if (children != null) {
+                    try {
+                        if (sample) {
+                            return sampleChildren(node, children, context, orders);
+                        }
+                        for (int child : children) {
+                            if (evaluate(child, context, orders, false).allowed()) {
+                                return ALLOWED;
+                            }
+                        }
+                        return OR_DENIAL;
+                    } catch (RuntimeException e) {
+                        // fall through, as for AND
+                    }
+                }
+                for (int child = node + 1; child < ends[node]; child = ends[child]) {
+                    if (evaluate(child, context, orders, sample).allowed()) {
+                        return ALLOWED;
+                    }
+                }
+                return OR_DENIAL;
+            }
+            case NOT -> {
+                return evaluate(node + 1, context, orders, sample).allowed() ? NOT_DENIAL : ALLOWED;
+            }
+            case CERTIFICATION -> {
+                return context.consumerCertifications().contains((String) operands[node])
+                        ? ALLOWED
+                        : denials[node];
+            }
+            case GEOGRAPHIC -> {
+                @SuppressWarnings("unchecked")
+                Set<String> regions = (Set<String>) operands[node];
+                return regions.contains(context.consumerRegion()) ? ALLOWED : denials[node];
+            }
+            case RATE_LIMIT -> {
+                return context.requestsInLastHour() > lower[node] ? denials[node] : ALLOWED;
+            }
+            case TIME_WINDOW, TIME_WINDOW_FIXED -> {
+                long nanoOfDay = localNanoOfDay(node, context.requestTime());
+                return nanoOfDay < lower[node] || nanoOfDay > upper[node]
+                        ? denials[node]
+                        : ALLOWED;
+            }
+            case USAGE -> {
+                return ((String) operands[node]).equalsIgnoreCase(context.usagePurpose())
+                        ? ALLOWED
+                        : PolicyEvaluationResult.deny(USAGE_DENIAL_PREFIX + context.usagePurpose());
+            }
+            case DELEGATE -> {
+                return ((Policy) operands[node]).evaluate(context);
+            }
+            default -> throw new IllegalStateException("Unknown op " + ops[node]);
+        }
+    }
+
+    /**
+     * Evaluates the children of a reordered AND or OR node for a sample:
+     * runs and times every child, and returns what the first child in the
+     * current order to short-circuit the node decides, as an unsampled
+     * evaluation would.
+     */
+    private PolicyEvaluationResult sampleChildren(
+            int node,
+            int[] children,
+            PolicyContext context,
+            int[][] orders
+    ) {
+        boolean and = ops[node] == AND;
+        PolicyEvaluationResult decided = null;
+        long started = System.nanoTime();
+        for (int child : children) {
+            PolicyEvaluationResult result = evaluate(child, context, orders, true);
+            long finished = System.nanoTime();
+            boolean shortCircuits = result.allowed() != and;
+            order.record(child, finished - started, shortCircuits);
+            started = finished;
+            if (shortCircuits && decided == null) {
+                decided = and ? result : ALLOWED;
+            }
+        }
+        if (decided != null) {
+            return decided;
+        }
+        return and ? ALLOWED : OR_DENIAL;
+    }
+
+    /**
+     * Same arithmetic as {@code instant.atZone(zone).toLocalTime().toNanoOfDay()}
+     * without the intermediate date-time objects.
+     */
+    private long localNanoOfDay(int node, Instant instant) {
+        long epochSecond = instant.getEpochSecond();
+        int offset = ops[node] == TIME_WINDOW_FIXED
+                ? offsets[node]
+                : offsetAt(node, instant, epochSecond);
+        long secondOfDay = Math.floorMod(epochSecond + offset, SECONDS_PER_DAY);
+        return secondOfDay * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    private int offsetAt(int node, Instant instant, long epochSecond) {
+        OffsetWindow window = offsetWindows[node];
+        if (window != null && epochSecond >= window.from && epochSecond < window.until) {
+            return window.offsetSeconds;
+        }
+        window = OffsetWindow.around((ZoneRules) operands[node], instant);
+        offsetWindows[node] = window;
+        return window.offsetSeconds;
+    }
+
+    /**
+     * Span of epoch seconds over which a zone keeps the same offset. Cached
+     * per node so that offsets are only looked up again at DST transitions.
+     */
+    private static final class OffsetWindow {
+
+        final long from;
+        final long until;
+        final int offsetSeconds;
+
+        private OffsetWindow(long from, long until, int offsetSeconds) {
+            this.from = from;
+            this.until = until;
+            this.offsetSeconds = offsetSeconds;
+        }
+
+        static OffsetWindow around(ZoneRules rules, Instant instant) {
+            ZoneOffset offset = rules.getOffset(instant);
+            ZoneOffsetTransition previous = rules.previousTransition(instant);
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            long from = previous != null && previous.getOffsetAfter().equals(offset)
+                    ? previous.toEpochSecond()
+                    : instant.getEpochSecond();
+            long until = next != null ? next.toEpochSecond() : Long.MAX_VALUE;
+            return new OffsetWindow(from, until, offset.getTotalSeconds());
+        }
+    }
+}
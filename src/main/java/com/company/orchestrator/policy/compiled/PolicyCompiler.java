@@ -0,0 +1,178 @@
+package com.company.orchestrator.policy.compiled;
+
+import com.company.orchestrator.policy.Policy;
+import com.company.orchestrator.policy.PolicyEvaluationResult;
+import com.company.orchestrator.policy.atomic.*;
+import com.company.orchestrator.policy.composite.*;
+import java.time.Instant;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flattens a policy tree into a {@link CompiledPolicy}: nodes are laid out
+ * in pre-order, every atomic check has its parameters and denial result
+ * resolved up front, and policy types the compiler does not know are kept
+ * as delegates so any tree can be compiled.
+ * <p>
+ * With {@link AdaptiveOrdering}, AND and OR nodes may evaluate their
+ * children in the order that {@link ChildOrder} learns from traffic. Only
+ * nodes whose result does not depend on which child decided it qualify: OR
+ * nodes, which allow or return one fixed denial, and AND nodes whose denial
+ * reason is discarded by an enclosing OR or NOT. An AND whose reason reaches
+ * the caller keeps declaration order, so the reported violation is always
+ * the first one declared. Nodes with a delegate below them keep declaration
+ * order too, since delegates may have side effects.
+ */
+public final class PolicyCompiler {
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    private PolicyCompiler() {}
+
+    public static CompiledPolicy compile(Policy policy) {
+        return compile(policy, null);
+    }
+
+    /**
+     * @param ordering adaptive child ordering, or {@code null} to always
+     *                 evaluate children in declaration order
+     */
+    public static CompiledPolicy compile(Policy policy, AdaptiveOrdering ordering) {
+        if (policy instanceof CompiledPolicy compiled) {
+            return compiled;
+        }
+        PolicyCompiler compiler = new PolicyCompiler();
+        compiler.emit(policy, false);
+        return compiler.build(policy, ordering);
+    }
+
+    private void emit(Policy policy, boolean reasonDiscarded) {
+        Node node = new Node();
+        node.reasonDiscarded = reasonDiscarded;
+        nodes.add(node);
+
+        switch (policy) {
+            case AndPolicy and -> {
+                node.op = CompiledPolicy.AND;
+                and.policies().forEach(child -> emit(child, reasonDiscarded));
+            }
+            case OrPolicy or -> {
+                node.op = CompiledPolicy.OR;
+                or.policies().forEach(child -> emit(child, true));
+            }
+            case NotPolicy not -> {
+                node.op = CompiledPolicy.NOT;
+                emit(not.policy(), true);
+            }
+            case CertificationPolicy certification -> {
+                node.op = CompiledPolicy.CERTIFICATION;
+                node.operand = certification.requiredCertification();
+                node.denial = PolicyEvaluationResult.deny(
+                        "Missing required certification: " + certification.requiredCertification()
+                );
+            }
+            case GeographicPolicy geographic -> {
+                node.op = CompiledPolicy.GEOGRAPHIC;
+                node.operand = geographic.allowedRegions();
+                node.denial = CompiledPolicy.GEOGRAPHIC_DENIAL;
+            }
+            case RateLimitPolicy rateLimit -> {
+                node.op = CompiledPolicy.RATE_LIMIT;
+                node.lower = rateLimit.maxRequestsPerHour();
+                node.denial = PolicyEvaluationResult.deny(
+                        "Rate limit exceeded: max " + rateLimit.maxRequestsPerHour() + " requests/hour"
+                );
+            }
+            case TimeBasedPolicy timeBased -> {
+                ZoneRules rules = timeBased.zone().getRules();
+                node.op = rules.isFixedOffset()
+                        ? CompiledPolicy.TIME_WINDOW_FIXED
+                        : CompiledPolicy.TIME_WINDOW;
+                node.operand = rules;
+                node.offsetSeconds = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+                node.lower = timeBased.start().toNanoOfDay();
+                node.upper = timeBased.end().toNanoOfDay();
+                node.denial = CompiledPolicy.TIME_WINDOW_DENIAL;
+            }
+            case UsagePolicy usage -> {
+                node.op = CompiledPolicy.USAGE;
+                node.operand = usage.allowedPurpose();
+            }
+            default -> {
+                node.op = CompiledPolicy.DELEGATE;
+                node.operand = policy;
+            }
+        }
+        node.end = nodes.size();
+    }
+
+    private CompiledPolicy build(Policy source, AdaptiveOrdering ordering) {
+        int size = nodes.size();
+        byte[] ops = new byte[size];
+        int[] ends = new int[size];
+        Object[] operands = new Object[size];
+        long[] lower = new long[size];
+        long[] upper = new long[size];
+        int[] offsets = new int[size];
+        PolicyEvaluationResult[] denials = new PolicyEvaluationResult[size];
+        for (int i = 0; i < size; i++) {
+            Node node = nodes.get(i);
+            ops[i] = node.op;
+            ends[i] = node.end;
+            operands[i] = node.operand;
+            lower[i] = node.lower;
+            upper[i] = node.upper;
+            offsets[i] = node.offsetSeconds;
+            denials[i] = node.denial;
+        }
+        ChildOrder order = ordering == null ? null : childOrder(ends, ordering);
+        return new CompiledPolicy(source, ops, ends, operands, lower, upper, offsets, denials, order);
+    }
+
+    /**
+     * The order of the nodes that may be reordered, or {@code null} if there
+     * are none.
+     */
+    private ChildOrder childOrder(int[] ends, AdaptiveOrdering ordering) {
+        int[][] declared = new int[nodes.size()][];
+        boolean any = false;
+        for (int i = 0; i < declared.length; i++) {
+            Node node = nodes.get(i);
+            boolean reorderable = node.op == CompiledPolicy.OR
+                    || node.op == CompiledPolicy.AND && node.reasonDiscarded;
+            if (!reorderable || containsDelegate(i)) {
+                continue;
+            }
+            List<Integer> children = new ArrayList<>();
+            for (int child = i + 1; child < ends[i]; child = ends[child]) {
+                children.add(child);
+            }
+            if (children.size() > 1) {
+                declared[i] = children.stream().mapToInt(Integer::intValue).toArray();
+                any = true;
+            }
+        }
+        return any ? new ChildOrder(declared, ordering) : null;
+    }
+
+    private boolean containsDelegate(int node) {
+        for (int i = node; i < nodes.get(node).end; i++) {
+            if (nodes.get(i).op == CompiledPolicy.DELEGATE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        byte op;
+        int end;
+        Object operand;
+        long lower;
+        long upper;
+        int offsetSeconds;
+        PolicyEvaluationResult denial;
+        boolean reasonDiscarded;
+    }
+}
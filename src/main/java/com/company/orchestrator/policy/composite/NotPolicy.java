@@ -10,6 +10,10 @@ public final class NotPolicy implements CompositePolicy {
         this.policy = policy;
     }
 
+    public Policy policy() {
+        return policy;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         var result = policy.evaluate(context);
@@ -11,6 +11,10 @@ public final class OrPolicy implements CompositePolicy {
         this.policies = List.copyOf(policies);
     }
 
+    public List<Policy> policies() {
+        return policies;
+    }
+
     @Override
     public PolicyEvaluationResult evaluate(PolicyContext context) {
         for (Policy policy : policies) {
@@ -0,0 +1,74 @@
+package com.company.orchestrator.policy.registry;
+
+import com.company.orchestrator.policy.Policy;
+import com.company.orchestrator.policy.atomic.*;
+import com.company.orchestrator.policy.composite.AndPolicy;
+import com.company.orchestrator.policy.composite.NotPolicy;
+import com.company.orchestrator.policy.composite.OrPolicy;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serialized form of a policy tree. Exactly one field is set per node, e.g.
+ * <pre>
+ * allOf:
+ *   - timeWindow: { start: "08:00", end: "18:00", zone: CET }
+ *   - geographic: true
+ *   - certification: ISO_9001
+ * </pre>
+ */
+public record PolicyDefinition(
+        List<PolicyDefinition> allOf,
+        List<PolicyDefinition> anyOf,
+        PolicyDefinition not,
+        String certification,
+        Boolean geographic,
+        Long maxRequestsPerHour,
+        TimeWindow timeWindow,
+        String usagePurpose
+) {
+
+    public record TimeWindow(
+            LocalTime start,
+            LocalTime end,
+            ZoneId zone
+    ) {}
+
+    public Policy toPolicy() {
+        List<Policy> candidates = new ArrayList<>(1);
+        if (allOf != null) {
+            candidates.add(new AndPolicy(allOf.stream().map(PolicyDefinition::toPolicy).toList()));
+        }
+        if (anyOf != null) {
+            candidates.add(new OrPolicy(anyOf.stream().map(PolicyDefinition::toPolicy).toList()));
+        }
+        if (not != null) {
+            candidates.add(new NotPolicy(not.toPolicy()));
+        }
+        if (certification != null) {
+            candidates.add(new CertificationPolicy(certification));
+        }
+        if (Boolean.TRUE.equals(geographic)) {
+            candidates.add(new GeographicPolicy());
+        }
+        if (maxRequestsPerHour != null) {
+            candidates.add(new RateLimitPolicy(maxRequestsPerHour));
+        }
+        if (timeWindow != null) {
+            if (timeWindow.start() == null || timeWindow.end() == null || timeWindow.zone() == null) {
+                throw new IllegalArgumentException("timeWindow requires start, end and zone");
+            }
+            candidates.add(new TimeBasedPolicy(timeWindow.start(), timeWindow.end(), timeWindow.zone()));
+        }
+        if (usagePurpose != null) {
+            candidates.add(new UsagePolicy(usagePurpose));
+        }
+        if (candidates.size() != 1) {
+            throw new IllegalArgumentException(
+                    "Policy definition must declare exactly one policy, found " + candidates.size());
+        }
+        return candidates.get(0);
+    }
+}
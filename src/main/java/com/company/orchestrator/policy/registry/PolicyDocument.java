@@ -0,0 +1,23 @@
+package com.company.orchestrator.policy.registry;
+
+import java.util.List;
+
+/**
+ * Root of a policy registry file: the default policy plus optional
+ * bindings that override it per provider and/or data type.
+ */
+public record PolicyDocument(
+        PolicyDefinition defaultPolicy,
+        List<Binding> bindings
+) {
+
+    /**
+     * A policy bound to a provider, a data type, or both. A missing field
+     * matches any value.
+     */
+    public record Binding(
+            String providerId,
+            String dataType,
+            PolicyDefinition policy
+    ) {}
+}
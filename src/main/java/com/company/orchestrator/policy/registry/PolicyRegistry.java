@@ -0,0 +1,197 @@
+package com.company.orchestrator.policy.registry;
+
+import com.company.orchestrator.policy.compiled.AdaptiveOrdering;
+import com.company.orchestrator.policy.compiled.CompiledPolicy;
+import com.company.orchestrator.policy.compiled.PolicyCompiler;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+/**
+ * Serves compiled policies per (provider, data type) from an immutable
+ * {@link PolicySnapshot}. Reloads build a complete new snapshot and swap it
+ * in atomically, so evaluations never wait on a reload and never see a
+ * partially loaded registry. A reload that fails keeps the current snapshot.
+ */
+@Slf4j
+@Component
+public class PolicyRegistry {
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final AdaptiveOrdering ordering;
+    private final AtomicReference<PolicySnapshot> snapshot = new AtomicReference<>();
+    private final ScheduledExecutorService watcher;
+
+    private long lastModified;
+
+    public PolicyRegistry(
+            PolicyRegistryProperties properties,
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper
+    ) {
+        this.resource = resourceLoader.getResource(properties.location());
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(PolicyDocument.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        PolicyRegistryProperties.Adaptive adaptive = properties.adaptive();
+        this.ordering = adaptive.enabled()
+                ? new AdaptiveOrdering(adaptive.sampleRate(), adaptive.reorderInterval())
+                : null;
+
+        this.lastModified = lastModified();
+        this.snapshot.set(load(1));
+        log.info("Loaded {} policy bindings from {}",
+                snapshot.get().bindings().size(), properties.location());
+
+        Duration interval = properties.reloadInterval();
+        if (interval.isPositive()) {
+            this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "policy-registry-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.watcher.scheduleWithFixedDelay(
+                    this::reloadIfModified,
+                    interval.toMillis(),
+                    interval.toMillis(),
+                    TimeUnit.MILLISECONDS
+            );
+        } else {
+            this.watcher = null;
+        }
+    }
+
+    public CompiledPolicy resolve(String providerId, String dataType) {
+        return snapshot.get().resolve(providerId, dataType);
+    }
+
+    public PolicySnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Loads and compiles the policy source and publishes it as the current
+     * snapshot. Throws if the source cannot be read or is invalid; the
+     * previous snapshot stays in effect in that case.
+     */
+    public synchronized PolicySnapshot reload() {
+        long modified = lastModified();
+        PolicySnapshot next = load(snapshot.get().version() + 1);
+        snapshot.set(next);
+        lastModified = modified;
+        log.info("Reloaded policy registry version {} with {} bindings",
+                next.version(), next.bindings().size());
+        return next;
+    }
+
+    private synchronized void reloadIfModified() {
+        long modified = lastModified();
+        if (modified <= 0 || modified == lastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // don't retry the same broken file on every tick
+            lastModified = modified;
+            log.error("Policy reload from {} failed, keeping version {}",
+                    resource.getDescription(), snapshot.get().version(), e);
+        }
+    }
+
+    private PolicySnapshot load(long version) {
+        PolicyDocument document = read();
+        if (document.defaultPolicy() == null) {
+            throw new IllegalArgumentException(
+                    "Policy source " + resource.getDescription() + " declares no defaultPolicy");
+        }
+        Map<PolicySnapshot.Key, CompiledPolicy> bindings = new HashMap<>();
+        List<PolicyDocument.Binding> declared =
+                document.bindings() == null ? List.of() : document.bindings();
+        for (PolicyDocument.Binding binding : declared) {
+            if (binding.providerId() == null && binding.dataType() == null) {
+                throw new IllegalArgumentException(
+                        "Policy binding needs a providerId and/or dataType; use defaultPolicy instead");
+            }
+            if (binding.policy() == null) {
+                throw new IllegalArgumentException("Policy binding " + describe(binding) + " has no policy");
+            }
+            PolicySnapshot.Key key = new PolicySnapshot.Key(
+                    binding.providerId() == null ? PolicySnapshot.ANY : binding.providerId(),
+                    binding.dataType() == null ? PolicySnapshot.ANY : binding.dataType()
+            );
+            CompiledPolicy policy = PolicyCompiler.compile(binding.policy().toPolicy(), ordering);
+            if (bindings.put(key, policy) != null) {
+                throw new IllegalArgumentException("Duplicate policy binding " + describe(binding));
+            }
+        }
+        return new PolicySnapshot(
+                version,
+                Instant.now(),
+                resource.getDescription(),
+                PolicyCompiler.compile(document.defaultPolicy().toPolicy(), ordering),
+                bindings
+        );
+    }
+
+    private PolicyDocument read() {
+        String filename = resource.getFilename();
+        boolean yaml = filename != null && (filename.endsWith(".yml") || filename.endsWith(".yaml"));
+        try (InputStream in = resource.getInputStream()) {
+            if (yaml) {
+                Object tree = new Yaml(new SafeConstructor(new LoaderOptions())).load(in);
+                if (tree == null) {
+                    throw new IllegalArgumentException(
+                            "Policy source " + resource.getDescription() + " is empty");
+                }
+                JsonNode node = objectMapper.valueToTree(tree);
+                return reader.readValue(node);
+            }
+            return reader.readValue(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "Cannot read policy source " + resource.getDescription(), e);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static String describe(PolicyDocument.Binding binding) {
+        return "(" + binding.providerId() + ", " + binding.dataType() + ")";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+}
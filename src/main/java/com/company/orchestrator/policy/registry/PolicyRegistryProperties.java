@@ -0,0 +1,25 @@
+package com.company.orchestrator.policy.registry;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "orchestrator.policy")
+public record PolicyRegistryProperties(
+        @DefaultValue("classpath:policies.yml") String location,
+        @DefaultValue("0s") Duration reloadInterval,
+        @DefaultValue Adaptive adaptive
+) {
+
+    /**
+     * Adaptive child ordering of compiled policies. One in
+     * {@code sampleRate} evaluations measures the children of reorderable
+     * AND and OR nodes, and their order is recomputed every
+     * {@code reorderInterval}. A reload starts over in declaration order.
+     */
+    public record Adaptive(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("128") int sampleRate,
+            @DefaultValue("10s") Duration reorderInterval
+    ) {}
+}
@@ -0,0 +1,41 @@
+package com.company.orchestrator.policy.registry;
+
+import com.company.orchestrator.policy.compiled.CompiledPolicy;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable, compiled view of one version of the policy registry.
+ * Lookups try (provider, data type), then provider only, then data type
+ * only, then the default policy.
+ */
+public record PolicySnapshot(
+        long version,
+        Instant loadedAt,
+        String source,
+        CompiledPolicy defaultPolicy,
+        Map<Key, CompiledPolicy> bindings
+) {
+
+    static final String ANY = "*";
+
+    public record Key(String providerId, String dataType) {}
+
+    public PolicySnapshot {
+        bindings = Map.copyOf(bindings);
+    }
+
+    public CompiledPolicy resolve(String providerId, String dataType) {
+        if (bindings.isEmpty()) {
+            return defaultPolicy;
+        }
+        CompiledPolicy policy = bindings.get(new Key(providerId, dataType));
+        if (policy == null) {
+            policy = bindings.get(new Key(providerId, ANY));
+        }
+        if (policy == null) {
+            policy = bindings.get(new Key(ANY, dataType));
+        }
+        return policy != null ? policy : defaultPolicy;
+    }
+}
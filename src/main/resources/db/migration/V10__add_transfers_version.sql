@@ -0,0 +1,2 @@
+-- Optimistic lock for writes through JPA; compare-and-set state updates bump it as well.
+ALTER TABLE transfers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,73 @@
+-- Replaces the free-text actor and metadata of audit events with typed columns:
+--   actor                SMALLINT code of AuditActor
+--   from_state, to_state SMALLINT codes of TransferState; to_state also holds
+--                        the outcome (APPROVED / DENIED) of a policy evaluation,
+--                        and REQUESTED on a request whose detail is its consumer
+--   reason_id            denial reason, from the audit_policy_reasons dictionary
+--   detail               the remaining free text: the consumer of a request and
+--                        the connector's message on completion or failure
+-- The codes are positions in the lists below, counting from 1, and must match
+-- AuditCodes. Metadata that does not have the expected form is kept in detail.
+-- Partitions detached for archiving before this migration keep the old columns.
+CREATE TABLE audit_policy_reasons (
+      id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+      reason TEXT NOT NULL UNIQUE
+);
+
+INSERT INTO audit_policy_reasons (reason)
+SELECT DISTINCT substr(metadata, 9)
+FROM audit_events
+WHERE action = 'POLICY_EVALUATED' AND metadata LIKE 'DENIED: %';
+
+CREATE FUNCTION pg_temp.transfer_state_code(state TEXT) RETURNS SMALLINT
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT array_position(ARRAY[
+        'REQUESTED', 'POLICY_EVALUATION', 'APPROVED', 'DENIED', 'CONTRACT_NEGOTIATION',
+        'NEGOTIATED', 'TRANSFER_IN_PROGRESS', 'COMPLETED', 'FAILED', 'CANCELLED'
+    ], state)::SMALLINT
+$$;
+
+-- [from, to] of metadata in the form 'FROM -> TO' with two known states, otherwise NULL
+CREATE FUNCTION pg_temp.transition(metadata TEXT) RETURNS SMALLINT[]
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE WHEN codes[1] IS NOT NULL AND codes[2] IS NOT NULL
+                     AND metadata = split_part(metadata, ' -> ', 1) || ' -> ' || split_part(metadata, ' -> ', 2)
+                THEN codes END
+    FROM (SELECT ARRAY[pg_temp.transfer_state_code(split_part(metadata, ' -> ', 1)),
+                       pg_temp.transfer_state_code(split_part(metadata, ' -> ', 2))] AS codes) c
+$$;
+
+ALTER TABLE audit_events
+    ADD COLUMN actor_code SMALLINT,
+    ADD COLUMN from_state SMALLINT,
+    ADD COLUMN to_state SMALLINT,
+    ADD COLUMN reason_id INTEGER REFERENCES audit_policy_reasons (id),
+    ADD COLUMN detail TEXT;
+
+-- rewrites every row once; dead rows are left to autovacuum
+UPDATE audit_events
+SET actor_code = COALESCE(
+            array_position(ARRAY['API', 'POLICY_ENGINE', 'ORCHESTRATOR', 'SYSTEM'], actor),
+            4),
+    from_state = CASE WHEN action = 'STATE_TRANSITION' THEN (pg_temp.transition(metadata))[1] END,
+    to_state = CASE
+            WHEN action = 'STATE_TRANSITION' THEN (pg_temp.transition(metadata))[2]
+            WHEN action = 'POLICY_EVALUATED' AND metadata = 'APPROVED' THEN 3
+            WHEN action = 'POLICY_EVALUATED' AND metadata LIKE 'DENIED: %' THEN 4
+            WHEN action = 'TRANSFER_REQUESTED' AND metadata LIKE 'Consumer=%' THEN 1
+        END,
+    reason_id = CASE
+            WHEN action = 'POLICY_EVALUATED' AND metadata LIKE 'DENIED: %'
+            THEN (SELECT r.id FROM audit_policy_reasons r WHERE r.reason = substr(metadata, 9))
+        END,
+    detail = CASE
+            WHEN action = 'STATE_TRANSITION' AND pg_temp.transition(metadata) IS NOT NULL THEN NULL
+            WHEN action = 'POLICY_EVALUATED' AND (metadata = 'APPROVED' OR metadata LIKE 'DENIED: %') THEN NULL
+            WHEN action = 'TRANSFER_REQUESTED' AND metadata LIKE 'Consumer=%' THEN substr(metadata, 10)
+            ELSE metadata
+        END;
+
+ALTER TABLE audit_events DROP COLUMN actor;
+ALTER TABLE audit_events DROP COLUMN metadata;
+ALTER TABLE audit_events RENAME COLUMN actor_code TO actor;
+ALTER TABLE audit_events ALTER COLUMN actor SET NOT NULL;
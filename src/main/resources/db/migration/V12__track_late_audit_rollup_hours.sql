@@ -0,0 +1,25 @@
+-- Hours whose sealed rollup bucket is out of date, because audit events were
+-- inserted into them after they were sealed: the writer buffers events and
+-- batches insert them after their timestamp was taken. AuditRollupUpdater
+-- rebuilds these hours, and their sealed days, on its next run.
+CREATE TABLE audit_rollup_stale_hours (
+      bucket_start TIMESTAMPTZ PRIMARY KEY
+);
+
+-- Once per statement, so a batched insert looks the watermark up only once.
+CREATE FUNCTION audit_rollup_mark_stale() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO audit_rollup_stale_hours (bucket_start)
+    SELECT DISTINCT date_trunc('hour', i.timestamp, 'UTC')
+    FROM inserted i
+    JOIN audit_rollup_watermarks w ON w.granularity = 'HOUR'
+    WHERE i.timestamp < w.sealed_until
+    ON CONFLICT (bucket_start) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER audit_events_late_rollup
+    AFTER INSERT ON audit_events
+    REFERENCING NEW TABLE AS inserted
+    FOR EACH STATEMENT EXECUTE FUNCTION audit_rollup_mark_stale();
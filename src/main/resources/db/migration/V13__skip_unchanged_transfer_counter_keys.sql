@@ -0,0 +1,24 @@
+-- An update only moves the counts of the columns it changed. A state
+-- transition, the common case, no longer writes a -1/+1 pair on the same
+-- data type key, which netted to zero but still took a row lock.
+CREATE OR REPLACE FUNCTION transfer_counters_track() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        IF OLD.state IS DISTINCT FROM NEW.state THEN
+            PERFORM transfer_counters_add('STATE', OLD.state, -1);
+            PERFORM transfer_counters_add('STATE', NEW.state, 1);
+        END IF;
+        IF OLD.data_type IS DISTINCT FROM NEW.data_type THEN
+            PERFORM transfer_counters_add('DATA_TYPE', OLD.data_type, -1);
+            PERFORM transfer_counters_add('DATA_TYPE', NEW.data_type, 1);
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM transfer_counters_add('STATE', OLD.state, -1);
+        PERFORM transfer_counters_add('DATA_TYPE', OLD.data_type, -1);
+    ELSE
+        PERFORM transfer_counters_add('STATE', NEW.state, 1);
+        PERFORM transfer_counters_add('DATA_TYPE', NEW.data_type, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
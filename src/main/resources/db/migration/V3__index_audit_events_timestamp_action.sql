@@ -0,0 +1,3 @@
+-- Lets the compliance report count actions per window from the index alone.
+CREATE INDEX idx_audit_timestamp_action ON audit_events(timestamp, action);
+DROP INDEX idx_audit_timestamp;
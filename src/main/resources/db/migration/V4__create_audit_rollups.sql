@@ -0,0 +1,42 @@
+-- Per-hour and per-day action counts of audit_events, in UTC buckets.
+-- A bucket is only trusted below its granularity's sealed_until watermark;
+-- later events are counted from audit_events directly.
+CREATE TABLE audit_rollup_hourly (
+      bucket_start TIMESTAMPTZ NOT NULL,
+      action VARCHAR(255) NOT NULL,
+      event_count BIGINT NOT NULL,
+      PRIMARY KEY (bucket_start, action)
+);
+
+CREATE TABLE audit_rollup_daily (
+      bucket_start TIMESTAMPTZ NOT NULL,
+      action VARCHAR(255) NOT NULL,
+      event_count BIGINT NOT NULL,
+      PRIMARY KEY (bucket_start, action)
+);
+
+CREATE TABLE audit_rollup_watermarks (
+      granularity VARCHAR(10) PRIMARY KEY,
+      sealed_until TIMESTAMPTZ NOT NULL
+);
+
+-- Backfill everything up to the last closed hour (minus the default grace period).
+INSERT INTO audit_rollup_watermarks (granularity, sealed_until)
+VALUES ('HOUR', date_trunc('hour', now() - INTERVAL '5 minutes', 'UTC'));
+
+INSERT INTO audit_rollup_hourly (bucket_start, action, event_count)
+SELECT date_trunc('hour', timestamp, 'UTC'), action, COUNT(*)
+FROM audit_events
+WHERE timestamp < (SELECT sealed_until FROM audit_rollup_watermarks WHERE granularity = 'HOUR')
+GROUP BY 1, 2;
+
+INSERT INTO audit_rollup_watermarks (granularity, sealed_until)
+SELECT 'DAY', date_trunc('day', sealed_until, 'UTC')
+FROM audit_rollup_watermarks
+WHERE granularity = 'HOUR';
+
+INSERT INTO audit_rollup_daily (bucket_start, action, event_count)
+SELECT date_trunc('day', bucket_start, 'UTC'), action, SUM(event_count)
+FROM audit_rollup_hourly
+WHERE bucket_start < (SELECT sealed_until FROM audit_rollup_watermarks WHERE granularity = 'DAY')
+GROUP BY 1, 2;
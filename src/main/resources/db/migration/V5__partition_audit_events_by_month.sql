@@ -0,0 +1,47 @@
+-- Range-partitions audit_events by month (UTC) so that time-bounded queries
+-- only touch the partitions they need and retention is a partition drop.
+-- Partitions ahead of time are created by AuditPartitionManager; rows
+-- outside every monthly partition land in audit_events_default.
+CREATE TABLE audit_events_partitioned (
+      id UUID NOT NULL,
+      transfer_id UUID NOT NULL REFERENCES transfers(id) ON DELETE CASCADE,
+      action VARCHAR(255) NOT NULL,
+      timestamp TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+      actor VARCHAR(255) NOT NULL,
+      metadata TEXT,
+      PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE audit_events_default PARTITION OF audit_events_partitioned DEFAULT;
+
+DO $$
+DECLARE
+    -- UTC wall-clock months, so month arithmetic ignores the session time zone
+    bucket TIMESTAMP;
+    last_month TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', COALESCE(min(timestamp), now()) AT TIME ZONE 'UTC')
+    INTO bucket
+    FROM audit_events;
+
+    WHILE bucket <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF audit_events_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'audit_events_y' || to_char(bucket, 'YYYY"m"MM'),
+            to_char(bucket, 'YYYY-MM-DD') || ' 00:00:00+00',
+            to_char(bucket + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00'
+        );
+        bucket := bucket + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO audit_events_partitioned (id, transfer_id, action, timestamp, actor, metadata)
+SELECT id, transfer_id, action, timestamp, actor, metadata
+FROM audit_events;
+
+DROP TABLE audit_events;
+ALTER TABLE audit_events_partitioned RENAME TO audit_events;
+ALTER TABLE audit_events RENAME CONSTRAINT audit_events_partitioned_pkey TO audit_events_pkey;
+
+CREATE INDEX idx_audit_transfer ON audit_events(transfer_id, timestamp);
+CREATE INDEX idx_audit_timestamp_action ON audit_events(timestamp, action);
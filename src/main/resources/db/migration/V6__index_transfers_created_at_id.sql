@@ -0,0 +1,4 @@
+-- Keyset pagination orders by (created_at, id); with id in the index the
+-- ORDER BY ... LIMIT is a plain backward index scan, without a sort on ties.
+DROP INDEX idx_transfers_created_at;
+CREATE INDEX idx_transfers_created_at ON transfers(created_at, id);
@@ -0,0 +1,13 @@
+-- Search filters on one of these columns plus a created_at range and pages
+-- in (created_at, id) order. The remaining summary columns are INCLUDEd so
+-- that the search is an index-only scan on a vacuumed table.
+CREATE INDEX idx_transfers_consumer_created_at ON transfers(consumer_id, created_at, id)
+    INCLUDE (provider_id, data_type, state);
+
+CREATE INDEX idx_transfers_provider_created_at ON transfers(provider_id, created_at, id)
+    INCLUDE (consumer_id, data_type, state);
+
+-- supersedes idx_transfers_state, which only served equality on state
+CREATE INDEX idx_transfers_state_created_at ON transfers(state, created_at, id)
+    INCLUDE (consumer_id, provider_id, data_type);
+DROP INDEX idx_transfers_state;
@@ -0,0 +1,46 @@
+-- Per-state and per-data-type transfer counts, maintained by a trigger in
+-- the same transaction as the change to transfers. Each key is split into
+-- stripes chosen by backend, so concurrent transactions increment
+-- different rows instead of queueing on one; readers sum the stripes.
+CREATE TABLE transfer_counters (
+      dimension VARCHAR(16) NOT NULL,
+      key VARCHAR(255) NOT NULL,
+      stripe SMALLINT NOT NULL,
+      count BIGINT NOT NULL,
+      PRIMARY KEY (dimension, key, stripe)
+);
+
+CREATE FUNCTION transfer_counters_add(p_dimension VARCHAR, p_key VARCHAR, p_delta BIGINT) RETURNS void AS $$
+    INSERT INTO transfer_counters (dimension, key, stripe, count)
+    VALUES (p_dimension, p_key, pg_backend_pid() % 16, p_delta)
+    ON CONFLICT (dimension, key, stripe) DO UPDATE SET count = transfer_counters.count + EXCLUDED.count;
+$$ LANGUAGE sql;
+
+CREATE FUNCTION transfer_counters_track() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM transfer_counters_add('STATE', OLD.state, -1);
+        PERFORM transfer_counters_add('DATA_TYPE', OLD.data_type, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM transfer_counters_add('STATE', NEW.state, 1);
+        PERFORM transfer_counters_add('DATA_TYPE', NEW.data_type, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER transfers_counters
+    AFTER INSERT OR DELETE ON transfers
+    FOR EACH ROW EXECUTE FUNCTION transfer_counters_track();
+
+CREATE TRIGGER transfers_counters_update
+    AFTER UPDATE OF state, data_type ON transfers
+    FOR EACH ROW
+    WHEN (OLD.state IS DISTINCT FROM NEW.state OR OLD.data_type IS DISTINCT FROM NEW.data_type)
+    EXECUTE FUNCTION transfer_counters_track();
+
+INSERT INTO transfer_counters (dimension, key, stripe, count)
+SELECT 'STATE', state, 0, COUNT(*) FROM transfers GROUP BY state
+UNION ALL
+SELECT 'DATA_TYPE', data_type, 0, COUNT(*) FROM transfers GROUP BY data_type;
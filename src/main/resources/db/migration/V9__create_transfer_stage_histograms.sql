@@ -0,0 +1,11 @@
+-- Per-minute duration histograms of the transfer stages, written by
+-- TransferTimings. counts holds DurationHistogram buckets (trailing empty
+-- buckets trimmed); instances merge into the same row by adding counts.
+CREATE TABLE transfer_stage_histograms (
+      bucket_start TIMESTAMPTZ NOT NULL,
+      stage VARCHAR(32) NOT NULL,
+      data_type VARCHAR(255) NOT NULL,
+      provider_id VARCHAR(255) NOT NULL,
+      counts BIGINT[] NOT NULL,
+      PRIMARY KEY (bucket_start, stage, data_type, provider_id)
+);
@@ -2,6 +2,7 @@ package com.company.orchestrator.api.controller;
 
 import com.company.orchestrator.api.dto.TransferRequestDto;
 import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
 import com.company.orchestrator.infrastructure.persistence.repository.TransferRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +12,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -84,6 +87,17 @@ class TransferControllerIntegrationTest {
 
         assertThat(listJson).contains("consumer1", "provider1");
 
+        String cursorJson = mockMvc.perform(get("/api/v1/transfers/cursor")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(cursorJson).contains("consumer1", "provider1");
+
+        mockMvc.perform(get("/api/v1/transfers/cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
         String analyticsJson = mockMvc.perform(get("/api/v1/transfers/analytics"))
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
@@ -91,9 +105,136 @@ class TransferControllerIntegrationTest {
         assertThat(analyticsJson).contains("totalTransfers");
 
         mockMvc.perform(delete("/api/v1/transfers/{id}", transferId))
+                .andExpect(status().isConflict());
+
+        var finishedEntity = repository.findById(transferId).orElseThrow();
+        assertThat(finishedEntity.getState().isTerminal()).isTrue();
+        assertThat(finishedEntity.getState()).isNotEqualTo(TransferState.CANCELLED);
+    }
+
+    @Test
+    void cancelTransfer_movesUnfinishedTransferToCancelled() throws Exception {
+        TransferEntity entity = repository.save(new TransferEntity("consumer1", "provider1", "DATA_TYPE"));
+
+        mockMvc.perform(delete("/api/v1/transfers/{id}", entity.getId()))
                 .andExpect(status().isNoContent());
 
-        var updatedEntity = repository.findById(transferId).orElseThrow();
+        var updatedEntity = repository.findById(entity.getId()).orElseThrow();
         assertThat(updatedEntity.getState()).isEqualTo(TransferState.CANCELLED);
+        assertThat(updatedEntity.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void createTransfers_persistsEveryItemAndReportsItsState() throws Exception {
+        List<TransferRequestDto> batch = List.of(
+                new TransferRequestDto("consumer1", "provider1", "DATA_TYPE"),
+                new TransferRequestDto("consumer2", "provider1", "DATA_TYPE"),
+                new TransferRequestDto("consumer3", "provider2", "DATA_TYPE")
+        );
+
+        String responseBody = mockMvc.perform(post("/api/v1/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var items = objectMapper.readTree(responseBody).get("items");
+        assertThat(items).hasSize(3);
+        for (var item : items) {
+            UUID id = UUID.fromString(item.get("transferId").asText());
+            var entity = repository.findById(id).orElseThrow();
+            assertThat(entity.getState().name()).isEqualTo(item.get("state").asText());
+            assertThat(entity.getState().isTerminal()).isTrue();
+        }
+        assertThat(repository.count()).isEqualTo(3);
+
+        mockMvc.perform(post("/api/v1/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importTransfers_streamsRejectedLinesAndSummary() throws Exception {
+        String body = objectMapper.writeValueAsString(new TransferRequestDto("consumer1", "provider1", "DATA_TYPE"))
+                + "\n{\"consumerId\": \"consumer2\"}\n"
+                + objectMapper.writeValueAsString(new TransferRequestDto("consumer3", "provider2", "DATA_TYPE"))
+                + "\n";
+
+        MvcResult result = mockMvc.perform(post("/api/v1/transfers/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000);
+
+        var events = result.getResponse().getContentAsString().lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertThat(events.getFirst().get("type").asText()).isEqualTo("rejected");
+        assertThat(events.getFirst().get("line").asLong()).isEqualTo(2);
+        var summary = events.getLast();
+        assertThat(summary.get("type").asText()).isEqualTo("summary");
+        assertThat(summary.get("progress").get("imported").asLong()).isEqualTo(2);
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.findAll()).allMatch(entity -> entity.getState().isTerminal());
+
+        mockMvc.perform(post("/api/v1/transfers/import").param("file", "transfers.ndjson"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void auditExport_streamsJsonArrayOrNdjsonAndResumesAfterAnEvent() throws Exception {
+        Instant from = Instant.now().minusSeconds(60);
+        String created = mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransferRequestDto("consumer1", "provider1", "DATA_TYPE"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        UUID transferId = UUID.fromString(objectMapper.readTree(created).get("transferId").asText());
+
+        var array = objectMapper.readTree(mockMvc.perform(get("/api/v1/transfers/{id}/audit", transferId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(array.size()).isGreaterThan(2);
+        assertThat(array.get(0).get("action").asText()).isEqualTo("TRANSFER_REQUESTED");
+
+        List<String> lines = mockMvc.perform(get("/api/v1/transfers/{id}/audit", transferId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(array.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(objectMapper.readTree(lines.get(i))).isEqualTo(array.get(i));
+        }
+
+        String firstId = array.get(0).get("id").asText();
+        List<String> rest = mockMvc.perform(get("/api/v1/transfers/{id}/audit", transferId)
+                        .param("after", firstId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(rest).isEqualTo(lines.subList(1, lines.size()));
+
+        List<String> window = mockMvc.perform(get("/api/v1/transfers/audit")
+                        .param("from", from.toString())
+                        .param("to", Instant.now().plusSeconds(60).toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(window).containsAll(lines);
+
+        mockMvc.perform(get("/api/v1/transfers/{id}/audit", transferId)
+                        .param("after", UUID.randomUUID().toString()))
+                .andExpect(status().isBadRequest());
     }
 }
@@ -0,0 +1,63 @@
+package com.company.orchestrator.domain.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DurationHistogramTest {
+
+    @Test
+    void bucketBoundsRoundTrip() {
+        for (int i = 0; i < DurationHistogram.BUCKETS - 1; i++) {
+            assertThat(DurationHistogram.index(DurationHistogram.lowerBound(i))).isEqualTo(i);
+            assertThat(DurationHistogram.index(DurationHistogram.lowerBound(i + 1) - 1)).isEqualTo(i);
+        }
+        assertThat(DurationHistogram.index(Long.MAX_VALUE)).isEqualTo(DurationHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void quantilesStayWithinRelativeError() {
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        DurationHistogram histogram = new DurationHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 2 + 10);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0.5, 0.95, 0.99}) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertThat((double) histogram.quantile(q)).isCloseTo(exact, within(exact * 0.0625));
+        }
+    }
+
+    @Test
+    void mergeEqualsRecordingIntoOneHistogram() {
+        DurationHistogram all = new DurationHistogram();
+        DurationHistogram first = new DurationHistogram();
+        DurationHistogram second = new DurationHistogram();
+        for (long micros = 1; micros < 5_000_000; micros = micros * 3 / 2 + 1) {
+            all.record(micros);
+            (micros % 2 == 0 ? first : second).record(micros);
+        }
+
+        first.merge(second);
+
+        assertThat(first.toArray()).isEqualTo(all.toArray());
+        assertThat(DurationHistogram.fromArray(all.toArray()).quantile(0.99)).isEqualTo(all.quantile(0.99));
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        DurationHistogram histogram = new DurationHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.quantile(0.5)).isZero();
+        assertThat(histogram.toArray()).isEmpty();
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.orchestrator.domain.analytics;
+
+import com.company.orchestrator.api.dto.TransferAnalyticsResponse;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferCounterRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferCounterRepository.Dimension;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferCountersTest {
+
+    @Mock
+    private TransferCounterRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransferCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new TransferCounters(
+                repository,
+                transactionManager,
+                entityManagerFactory,
+                new TransferCounterProperties(true, Duration.ofSeconds(1), Duration.ofHours(1)),
+                false
+        );
+    }
+
+    @Test
+    void snapshot_isEmptyUntilFirstRefresh() {
+        assertThat(counters.snapshot()).isEmpty();
+    }
+
+    @Test
+    void snapshot_addsLocalDeltasToLoadedCounts() {
+        when(repository.sums()).thenReturn(List.of(
+                new Object[] {Dimension.STATE, "COMPLETED", 3L},
+                new Object[] {Dimension.STATE, "REQUESTED", 1L},
+                new Object[] {Dimension.DATA_TYPE, "TYPE_A", 4L}
+        ));
+        counters.refresh();
+
+        counters.record("TYPE_B", null, TransferState.REQUESTED);
+        counters.record("TYPE_A", TransferState.REQUESTED, TransferState.FAILED);
+
+        TransferAnalyticsResponse snapshot = counters.snapshot().orElseThrow();
+        assertThat(snapshot.totalTransfers()).isEqualTo(5);
+        assertThat(snapshot.byState()).containsOnly(
+                entry("COMPLETED", 3L), entry("REQUESTED", 1L), entry("FAILED", 1L));
+        assertThat(snapshot.byDataType()).containsOnly(entry("TYPE_A", 4L), entry("TYPE_B", 1L));
+    }
+
+    @Test
+    void refresh_replacesLocalDeltasWithStoredCounts() {
+        when(repository.sums())
+                .thenReturn(List.of())
+                .thenReturn(List.<Object[]>of(
+                        new Object[] {Dimension.STATE, "REQUESTED", 1L},
+                        new Object[] {Dimension.DATA_TYPE, "TYPE_A", 1L}
+                ));
+        counters.refresh();
+        counters.record("TYPE_A", null, TransferState.REQUESTED);
+
+        counters.refresh();
+
+        TransferAnalyticsResponse snapshot = counters.snapshot().orElseThrow();
+        assertThat(snapshot.totalTransfers()).isEqualTo(1);
+        assertThat(snapshot.byDataType()).containsOnly(entry("TYPE_A", 1L));
+    }
+
+    @Test
+    void refresh_waitsForALocalCommitInFlight() throws InterruptedException {
+        when(repository.sums())
+                .thenReturn(List.of())
+                .thenReturn(List.<Object[]>of(
+                        new Object[] {Dimension.STATE, "REQUESTED", 1L},
+                        new Object[] {Dimension.DATA_TYPE, "TYPE_A", 1L}
+                ));
+        counters.refresh();
+        Synchronization commit = recordInJpaTransaction("TYPE_A", null, TransferState.REQUESTED);
+
+        // flushed and committing: the table already counts the transfer
+        commit.beforeCompletion();
+        Thread refresher = Thread.ofVirtual().start(counters::refresh);
+        refresher.join(300);
+        assertThat(refresher.isAlive()).isTrue();
+        commit.afterCompletion(Status.STATUS_COMMITTED);
+        refresher.join(5000);
+
+        assertThat(refresher.isAlive()).isFalse();
+        assertThat(counters.snapshot().orElseThrow().totalTransfers()).isEqualTo(1);
+    }
+
+    private Synchronization recordInJpaTransaction(String dataType, TransferState from, TransferState to) {
+        EntityManager entityManager = mock(EntityManager.class);
+        Session session = mock(Session.class);
+        Transaction transaction = mock(Transaction.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getTransaction()).thenReturn(transaction);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            counters.record(dataType, from, to);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ArgumentCaptor<Synchronization> guard = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transaction).registerSynchronization(guard.capture());
+        return guard.getValue();
+    }
+
+    @Test
+    void record_whenDisabled_isIgnored() {
+        counters = new TransferCounters(
+                repository,
+                transactionManager,
+                entityManagerFactory,
+                new TransferCounterProperties(false, Duration.ofSeconds(1), Duration.ofHours(1)),
+                false
+        );
+
+        counters.record("TYPE_A", null, TransferState.REQUESTED);
+
+        assertThat(counters.snapshot()).isEmpty();
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.orchestrator.domain.analytics;
+
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse;
+import com.company.orchestrator.api.dto.TransferTimeseriesResponse.Point;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferStageHistogramRepository;
+import com.company.orchestrator.support.MutableClock;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+@SpringBootTest(properties = {
+        "orchestrator.analytics.timings.enabled=false",
+        "orchestrator.audit.rollup.enabled=false"
+})
+class TransferTimingsTest extends PostgresIntegrationTest {
+
+    private static final Instant START = Instant.parse("2025-03-01T10:00:00Z");
+
+    @Autowired
+    private TransferStageHistogramRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MutableClock clock = new MutableClock(START);
+
+    @BeforeEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM transfer_stage_histograms");
+        clock.set(START);
+    }
+
+    private TransferTimings timings() {
+        return timings(repository);
+    }
+
+    private TransferTimings timings(TransferStageHistogramRepository repository) {
+        return new TransferTimings(
+                repository,
+                transactionManager,
+                new TransferTimingProperties(true, 10, Duration.ofSeconds(15)),
+                clock
+        );
+    }
+
+    @Test
+    void queriesMergeFlushedAndOpenMinutesAcrossInstances() {
+        TransferTimings first = timings();
+        TransferTimings second = timings();
+        for (int minute = 0; minute < 5; minute++) {
+            clock.set(START.plus(Duration.ofMinutes(minute)));
+            for (int i = 1; i <= 100; i++) {
+                first.record(TransferStage.END_TO_END, "DATA", "provider", Duration.ofMillis(i));
+                second.record(TransferStage.END_TO_END, "DATA", "provider", Duration.ofMillis(i));
+                first.record(TransferStage.POLICY, "DATA", "other", Duration.ofMillis(1));
+            }
+        }
+        // minutes 0-2 are flushed, 3 and 4 stay in memory
+        first.flush();
+        second.flush();
+
+        TransferTimeseriesResponse response = first.query(
+                START, START.plus(Duration.ofMinutes(5)), Duration.ofMinutes(5), "DATA", "provider");
+
+        assertThat(response.series()).hasSize(1);
+        Point point = response.series().get(0).points().get(0);
+        // the second instance's open minutes are not visible yet
+        assertThat(point.finished()).isEqualTo(3 * 200 + 2 * 100);
+        assertThat(point.stages().get("END_TO_END").p50Millis()).isCloseTo(50, within(50 * 0.0625));
+        assertThat(point.stages().get("END_TO_END").p99Millis()).isCloseTo(99, within(99 * 0.0625));
+    }
+
+    @Test
+    void stepsSplitTheRangeAndSeriesAreGroupedByDataTypeAndProvider() {
+        TransferTimings timings = timings();
+        for (int minute = 0; minute < 4; minute++) {
+            clock.set(START.plus(Duration.ofMinutes(minute)));
+            timings.record(TransferStage.END_TO_END, "DATA", "provider", Duration.ofSeconds(1));
+            timings.record(TransferStage.END_TO_END, "DATA", "other", Duration.ofSeconds(2));
+        }
+        clock.set(START.plus(Duration.ofHours(1)));
+        timings.flush();
+
+        TransferTimeseriesResponse response = timings.query(
+                START, START.plus(Duration.ofMinutes(4)), Duration.ofMinutes(2), null, null);
+
+        assertThat(response.stepSeconds()).isEqualTo(120);
+        assertThat(response.series())
+                .extracting(TransferTimeseriesResponse.Series::providerId)
+                .containsExactlyInAnyOrder("provider", "other");
+        assertThat(response.series()).allSatisfy(series -> {
+            assertThat(series.points()).extracting(Point::bucketStart)
+                    .containsExactly(START, START.plus(Duration.ofMinutes(2)));
+            assertThat(series.points()).extracting(Point::finished).containsExactly(2L, 2L);
+        });
+    }
+
+    @Test
+    void evictedMinutesAreQueriedAndSurviveAFailedFlush() {
+        TransferStageHistogramRepository flaky = spy(new TransferStageHistogramRepository(jdbcTemplate));
+        doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .doCallRealMethod()
+                .when(flaky).merge(any());
+        TransferTimings timings = timings(flaky);
+        // twelve minutes through a ring of ten push minutes 0 and 1 out of it
+        for (int minute = 0; minute < 12; minute++) {
+            clock.set(START.plus(Duration.ofMinutes(minute)));
+            timings.record(TransferStage.END_TO_END, "DATA", "provider", Duration.ofSeconds(1));
+        }
+        assertThat(finished(timings)).isEqualTo(12);
+
+        assertThatThrownBy(timings::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(finished(timings)).isEqualTo(12);
+        timings.flush();
+
+        assertThat(finished(timings)).isEqualTo(12);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transfer_stage_histograms", Long.class))
+                .isEqualTo(10);
+    }
+
+    private long finished(TransferTimings timings) {
+        return timings.query(START, START.plus(Duration.ofMinutes(12)), Duration.ofMinutes(12), null, null)
+                .series().get(0).points().get(0).finished();
+    }
+}
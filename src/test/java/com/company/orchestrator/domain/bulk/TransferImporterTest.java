@@ -0,0 +1,204 @@
+package com.company.orchestrator.domain.bulk;
+
+import com.company.orchestrator.api.dto.TransferBatchResponse;
+import com.company.orchestrator.api.dto.TransferRequestDto;
+import com.company.orchestrator.domain.exception.InvalidImportException;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.service.TransferOrchestrator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransferImporterTest {
+
+    private TransferOrchestrator orchestrator;
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        orchestrator = mock(TransferOrchestrator.class);
+        listener = new RecordingListener();
+        when(orchestrator.initiateTransfers(anyList())).thenAnswer(inv -> respond(inv.getArgument(0)));
+    }
+
+    private TransferImporter importer(int batchSize, int queuedBatches, int maxLineLength, Path directory) {
+        return new TransferImporter(
+                orchestrator,
+                new ObjectMapper(),
+                new TransferImportProperties(batchSize, queuedBatches, 1, maxLineLength, 2, directory,
+                        Duration.ofMinutes(1))
+        );
+    }
+
+    /** Completes every transfer, except those of consumer "denied". */
+    private static TransferBatchResponse respond(List<TransferRequestDto> requests) {
+        return new TransferBatchResponse(requests.stream()
+                .map(request -> new TransferBatchResponse.Item(
+                        UUID.randomUUID(),
+                        request.consumerId().equals("denied") ? TransferState.DENIED : TransferState.COMPLETED,
+                        null))
+                .toList());
+    }
+
+    private static String line(String consumerId) {
+        return "{\"consumerId\":\"" + consumerId + "\",\"providerId\":\"provider\",\"dataType\":\"DATA\"}";
+    }
+
+    @Test
+    void importsValidLinesInBatchesAndReportsInvalidOnes() throws IOException {
+        String input = line("c1") + "\n"
+                + "not json\n"
+                + "\n"
+                + "{\"consumerId\":\"c2\",\"providerId\":\" \",\"dataType\":\"DATA\"}\r\n"
+                + line("c3") + "\r\n"
+                + line("denied");
+
+        TransferImportProgress summary = importer(2, 4, 1024, null)
+                .importTransfers(new StringReader(input), listener);
+
+        verify(orchestrator).initiateTransfers(List.of(
+                new TransferRequestDto("c1", "provider", "DATA"),
+                new TransferRequestDto("c3", "provider", "DATA")));
+        verify(orchestrator).initiateTransfers(List.of(new TransferRequestDto("denied", "provider", "DATA")));
+        assertThat(listener.rejected).hasSize(2);
+        assertThat(listener.rejected.get(0)).startsWith("2: Invalid JSON");
+        assertThat(listener.rejected.get(1)).isEqualTo("4: providerId must not be blank");
+        assertThat(summary).isEqualTo(new TransferImportProgress(5, 2, 3,
+                Map.of(TransferState.COMPLETED, 2L, TransferState.DENIED, 1L)));
+        assertThat(listener.progress).isNotEmpty();
+    }
+
+    @Test
+    void rejectsOverlongLinesAndEveryLineOfAFailedBatch() throws IOException {
+        when(orchestrator.initiateTransfers(anyList()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(inv -> respond(inv.getArgument(0)));
+        String input = line("c1") + "\n" + line("c2") + "\n"
+                + line("x".repeat(100)) + "\n"
+                + line("c3") + "\n";
+
+        TransferImportProgress summary = importer(2, 4, 80, null)
+                .importTransfers(new StringReader(input), listener);
+
+        assertThat(listener.rejected).containsExactlyInAnyOrder(
+                "3: Line is longer than 80 characters",
+                "1: Batch failed: database down",
+                "2: Batch failed: database down");
+        assertThat(summary.rejected()).isEqualTo(3);
+        assertThat(summary.imported()).isEqualTo(1);
+    }
+
+    @Test
+    void pausesReadingWhileBatchesWaitForAWorker() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orchestrator.initiateTransfers(anyList())).thenAnswer(inv -> {
+            release.await();
+            return respond(inv.getArgument(0));
+        });
+        OneLinePerRead input = new OneLinePerRead(100);
+
+        Future<TransferImportProgress> run = importer(1, 1, 1024, null).submit(input, listener);
+        Thread.sleep(300);
+
+        // one batch in the worker, one queued, one waiting to be queued
+        assertThat(input.served.get()).isEqualTo(3);
+        release.countDown();
+        assertThat(run.get(5, TimeUnit.SECONDS).imported()).isEqualTo(100);
+    }
+
+    @Test
+    void cancellingTheImportInterruptsAWorkerBlockedInABatch() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(orchestrator.initiateTransfers(anyList())).thenAnswer(inv -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return respond(inv.getArgument(0));
+        });
+        OneLinePerRead input = new OneLinePerRead(100);
+
+        Future<TransferImportProgress> run = importer(1, 1, 1024, null).submit(input, listener);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        run.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(run.isCancelled()).isTrue();
+        verify(orchestrator, times(1)).initiateTransfers(anyList());
+    }
+
+    @Test
+    void resolvesFilesOnlyInsideTheImportDirectory(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("transfers.ndjson"), line("c1"));
+
+        assertThat(importer(2, 4, 1024, directory).resolve("transfers.ndjson")).isEqualTo(file.toRealPath());
+        assertThatThrownBy(() -> importer(2, 4, 1024, directory).resolve("../transfers.ndjson"))
+                .isInstanceOf(InvalidImportException.class);
+        assertThatThrownBy(() -> importer(2, 4, 1024, null).resolve("transfers.ndjson"))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("File imports are disabled");
+    }
+
+    private static final class RecordingListener implements TransferImporter.Listener {
+
+        final List<String> rejected = new CopyOnWriteArrayList<>();
+        final List<TransferImportProgress> progress = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void rejected(long line, String message) {
+            rejected.add(line + ": " + message);
+        }
+
+        @Override
+        public void progress(TransferImportProgress progress) {
+            this.progress.add(progress);
+        }
+    }
+
+    /** Hands out one line per read, so the lines served are the lines consumed. */
+    private static final class OneLinePerRead extends Reader {
+
+        final AtomicInteger served = new AtomicInteger();
+        private final int lines;
+
+        OneLinePerRead(int lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (served.get() == lines) {
+                return -1;
+            }
+            String text = line("c" + served.incrementAndGet()) + "\n";
+            text.getChars(0, text.length(), buffer, offset);
+            return text.length();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
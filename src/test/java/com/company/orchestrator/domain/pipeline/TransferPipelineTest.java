@@ -0,0 +1,228 @@
+package com.company.orchestrator.domain.pipeline;
+
+import com.company.orchestrator.domain.analytics.TransferTimings;
+import com.company.orchestrator.domain.model.TransferRequest;
+import com.company.orchestrator.domain.model.TransferResult;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.service.AuditService;
+import com.company.orchestrator.domain.service.PolicyEvaluationService;
+import com.company.orchestrator.domain.status.TransferStatusCache;
+import com.company.orchestrator.infrastructure.edc.EdcConnectorClient;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferRepository;
+import com.company.orchestrator.policy.PolicyEvaluationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransferPipelineTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final Duration HAND_OFF_TIMEOUT = Duration.ofMillis(TIMEOUT_MILLIS);
+
+    private TransferRepository repository;
+    private PolicyEvaluationService policyService;
+    private AuditService auditService;
+    private EdcConnectorClient edcConnectorClient;
+    private TransferPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TransferRepository.class);
+        policyService = mock(PolicyEvaluationService.class);
+        auditService = mock(AuditService.class);
+        edcConnectorClient = mock(EdcConnectorClient.class);
+        when(repository.transition(any(), any(), any())).thenReturn(true);
+        when(repository.transitionFromCurrent(any(), any())).thenReturn(Optional.of(TransferState.REQUESTED));
+        when(policyService.evaluate(any(), any())).thenReturn(PolicyEvaluationResult.allow());
+        when(edcConnectorClient.negotiateContract(any()))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+        when(edcConnectorClient.initiateTransfer(any())).thenReturn(DataTransferResult.ok("process-1"));
+        pipeline = pipeline(1000, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    private TransferPipeline pipeline(int policyCapacity, int negotiationCapacity) {
+        return new TransferPipeline(
+                repository,
+                policyService,
+                auditService,
+                edcConnectorClient,
+                mock(PlatformTransactionManager.class),
+                new TransferPipelineProperties(true,
+                        new TransferPipelineProperties.Stage(policyCapacity, 1),
+                        new TransferPipelineProperties.Stage(negotiationCapacity, 1),
+                        new TransferPipelineProperties.Stage(1000, 1),
+                        HAND_OFF_TIMEOUT),
+                mock(TransferTimings.class),
+                mock(TransferStatusCache.class)
+        );
+    }
+
+    private static TransferRequest request() {
+        return new TransferRequest(UUID.randomUUID(), "consumer", "provider", "DATA", null, null);
+    }
+
+    @Test
+    void handsATransferFromStageToStageUntilItCompletes() {
+        TransferRequest request = request();
+        UUID id = request.transferId();
+
+        pipeline.submit(request);
+
+        verify(repository, timeout(TIMEOUT_MILLIS)).transitionFromCurrent(id, TransferState.COMPLETED);
+        InOrder order = inOrder(repository, policyService, edcConnectorClient);
+        order.verify(repository).transition(id, TransferState.REQUESTED, TransferState.POLICY_EVALUATION);
+        order.verify(policyService).evaluate(any(), any());
+        order.verify(repository).transition(id, TransferState.POLICY_EVALUATION, TransferState.APPROVED);
+        order.verify(repository).transition(id, TransferState.APPROVED, TransferState.CONTRACT_NEGOTIATION);
+        order.verify(edcConnectorClient).negotiateContract(any());
+        order.verify(repository).transition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
+        order.verify(repository).transition(id, TransferState.NEGOTIATED, TransferState.TRANSFER_IN_PROGRESS);
+        order.verify(edcConnectorClient).initiateTransfer(any());
+        order.verify(repository).transitionFromCurrent(id, TransferState.COMPLETED);
+        verify(auditService, timeout(TIMEOUT_MILLIS)).logTransferCompletion(id, TransferResult.ok());
+    }
+
+    @Test
+    void submitFailsTheTransferWhenThePolicyStageIsFull() throws InterruptedException {
+        pipeline.shutdown();
+        pipeline = pipeline(1, 1000);
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(policyService.evaluate(any(), any())).thenAnswer(inv -> {
+            evaluating.countDown();
+            release.await();
+            return PolicyEvaluationResult.deny("Denied");
+        });
+        TransferRequest running = request();
+        TransferRequest queued = request();
+        TransferRequest rejected = request();
+
+        pipeline.submit(running);
+        assertThat(evaluating.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        pipeline.submit(queued);
+        pipeline.submit(rejected);
+
+        verify(repository).transitionFromCurrent(rejected.transferId(), TransferState.FAILED);
+        verify(auditService).logTransferCompletion(
+                rejected.transferId(), TransferResult.failure("Transfer pipeline saturated"));
+        release.countDown();
+        verify(repository, timeout(TIMEOUT_MILLIS))
+                .transition(queued.transferId(), TransferState.POLICY_EVALUATION, TransferState.DENIED);
+        verify(repository, never()).transitionFromCurrent(queued.transferId(), TransferState.FAILED);
+    }
+
+    @Test
+    void submitApprovedWaitsForRoomInAFullNegotiationStage() throws Exception {
+        pipeline.shutdown();
+        pipeline = pipeline(1000, 1);
+        CountDownLatch negotiating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(edcConnectorClient.negotiateContract(any())).thenAnswer(inv -> {
+            negotiating.countDown();
+            release.await();
+            return ContractNegotiationResult.ok("agreement-1");
+        });
+        TransferRequest running = request();
+        TransferRequest queued = request();
+        TransferRequest waiting = request();
+
+        pipeline.submitApproved(running, HAND_OFF_TIMEOUT);
+        assertThat(negotiating.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        pipeline.submitApproved(queued, HAND_OFF_TIMEOUT);
+        AtomicBoolean accepted = new AtomicBoolean();
+        Thread producer = Thread.ofVirtual()
+                .start(() -> accepted.set(pipeline.submitApproved(waiting, HAND_OFF_TIMEOUT)));
+        producer.join(300);
+
+        assertThat(producer.isAlive()).isTrue();
+        release.countDown();
+        producer.join(TIMEOUT_MILLIS);
+        assertThat(producer.isAlive()).isFalse();
+        assertThat(accepted).isTrue();
+        verify(repository, timeout(TIMEOUT_MILLIS))
+                .transitionFromCurrent(waiting.transferId(), TransferState.COMPLETED);
+        verify(repository, never()).transitionFromCurrent(any(), eq(TransferState.FAILED));
+    }
+
+    @Test
+    void submitApprovedFailsTheTransferWhenTheNegotiationStageStaysFull() throws Exception {
+        pipeline.shutdown();
+        pipeline = pipeline(1000, 1);
+        CountDownLatch negotiating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(edcConnectorClient.negotiateContract(any())).thenAnswer(inv -> {
+            negotiating.countDown();
+            release.await();
+            return ContractNegotiationResult.ok("agreement-1");
+        });
+        pipeline.submitApproved(request(), HAND_OFF_TIMEOUT);
+        assertThat(negotiating.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        pipeline.submitApproved(request(), HAND_OFF_TIMEOUT);
+        TransferRequest rejected = request();
+
+        boolean accepted = pipeline.submitApproved(rejected, Duration.ofMillis(300));
+
+        assertThat(accepted).isFalse();
+        verify(repository).transitionFromCurrent(rejected.transferId(), TransferState.FAILED);
+        verify(auditService).logTransferCompletion(rejected.transferId(),
+                TransferResult.failure("Transfer pipeline saturated"));
+        release.countDown();
+    }
+
+    @Test
+    void cancelDuringNegotiationStopsTheTransfer() {
+        TransferRequest request = request();
+        UUID id = request.transferId();
+        // the transfer was cancelled while the contract was being negotiated
+        when(repository.transition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED))
+                .thenReturn(false);
+
+        pipeline.submitApproved(request, HAND_OFF_TIMEOUT);
+
+        verify(repository, timeout(TIMEOUT_MILLIS))
+                .transition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
+        pipeline.shutdown();
+        verify(edcConnectorClient, never()).initiateTransfer(any());
+        verify(repository, never()).transitionFromCurrent(any(), any());
+        verify(auditService)
+                .logStateTransition(id, TransferState.APPROVED, TransferState.CONTRACT_NEGOTIATION);
+        verify(auditService, never())
+                .logStateTransition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
+    }
+
+    @Test
+    void shutdownDrainsQueuedTransfersAndFailsLaterOnes() {
+        TransferRequest first = request();
+        TransferRequest second = request();
+        pipeline.submitApproved(first, HAND_OFF_TIMEOUT);
+        pipeline.submitApproved(second, HAND_OFF_TIMEOUT);
+
+        pipeline.shutdown();
+        TransferRequest late = request();
+        assertThat(pipeline.submitApproved(late, HAND_OFF_TIMEOUT)).isFalse();
+
+        verify(repository).transitionFromCurrent(first.transferId(), TransferState.COMPLETED);
+        verify(repository).transitionFromCurrent(second.transferId(), TransferState.COMPLETED);
+        verify(repository).transitionFromCurrent(late.transferId(), TransferState.FAILED);
+        verify(edcConnectorClient, times(2)).initiateTransfer(any());
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.orchestrator.domain.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SlidingWindowRequestCounterTest {
+
+    private AtomicLong now;
+    private SlidingWindowRequestCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_700_000_000_000L);
+        counter = new SlidingWindowRequestCounter(Duration.ofHours(1), 60, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toMillis());
+    }
+
+    @Test
+    void countsRequestsIncludingCurrentOne() {
+        assertThat(counter.record("consumer")).isEqualTo(1);
+        assertThat(counter.record("consumer")).isEqualTo(2);
+        assertThat(counter.record("other")).isEqualTo(1);
+        assertThat(counter.count("consumer")).isEqualTo(2);
+        assertThat(counter.count("unknown")).isZero();
+    }
+
+    @Test
+    void dropsRequestsOlderThanWindow() {
+        counter.record("consumer");
+        advance(Duration.ofMinutes(30));
+        counter.record("consumer");
+
+        advance(Duration.ofMinutes(31));
+
+        assertThat(counter.count("consumer")).isEqualTo(1);
+
+        advance(Duration.ofMinutes(30));
+
+        assertThat(counter.count("consumer")).isZero();
+    }
+
+    @Test
+    void evictsIdleConsumers() {
+        counter.record("idle");
+        advance(Duration.ofMinutes(61));
+
+        counter.record("active");
+
+        assertThat(counter.trackedConsumers()).isEqualTo(1);
+        assertThat(counter.count("idle")).isZero();
+        assertThat(counter.record("idle")).isEqualTo(1);
+    }
+
+    @Test
+    void countsExactlyUnderContentionAcrossManyConsumers() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int consumers = 20_000;
+        int rounds = 3;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        for (int i = 0; i < consumers; i++) {
+                            counter.record("consumer-" + i);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(counter.trackedConsumers()).isEqualTo(consumers);
+        for (int i = 0; i < consumers; i++) {
+            assertThat(counter.count("consumer-" + i)).isEqualTo((long) threads * rounds);
+        }
+    }
+}
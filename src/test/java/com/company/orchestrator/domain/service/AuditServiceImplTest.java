@@ -1,13 +1,19 @@
 package com.company.orchestrator.domain.service;
 
 import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.AuditActor;
 import com.company.orchestrator.audit.ComplianceReport;
 import com.company.orchestrator.domain.model.TransferRequest;
 import com.company.orchestrator.domain.model.TransferResult;
 import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditEventWriter;
+import com.company.orchestrator.infrastructure.persistence.audit.AuditReasonDictionary;
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
 import com.company.orchestrator.infrastructure.persistence.repository.AuditEventRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository.Granularity;
 import com.company.orchestrator.policy.PolicyEvaluationResult;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +21,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +39,18 @@ class AuditServiceImplTest {
     @Mock
     private AuditEventRepository repository;
 
+    @Mock
+    private AuditRollupRepository rollups;
+
+    @Mock
+    private ObjectProvider<AuditEventWriter> writerProvider;
+
+    @Mock
+    private AuditReasonDictionary reasons;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private AuditServiceImpl auditService;
 
@@ -38,6 +59,7 @@ class AuditServiceImplTest {
     @BeforeEach
     void setUp() {
         transferId = UUID.randomUUID();
+        ReflectionTestUtils.setField(auditService, "entityManager", entityManager);
     }
 
     // ---------------------------------------------------------
@@ -55,12 +77,13 @@ class AuditServiceImplTest {
 
         auditService.logTransferRequest(request);
 
-        verify(repository).save(captor.capture());
+        verify(entityManager).persist(captor.capture());
         AuditEventEntity event = captor.getValue();
 
         assertThat(event.getTransferId()).isEqualTo(transferId);
         assertThat(event.getAction()).isEqualTo(AuditAction.TRANSFER_REQUESTED);
-        assertThat(event.getActor()).isEqualTo("API");
+        assertThat(event.getActor()).isEqualTo(AuditActor.API);
+        assertThat(event.getDetail()).isEqualTo("consumer-123");
         assertThat(event.getMetadata()).isEqualTo("Consumer=consumer-123");
     }
 
@@ -74,11 +97,12 @@ class AuditServiceImplTest {
 
         auditService.logPolicyEvaluation(transferId, result);
 
-        verify(repository).save(captor.capture());
+        verify(entityManager).persist(captor.capture());
         AuditEventEntity event = captor.getValue();
 
         assertThat(event.getAction()).isEqualTo(AuditAction.POLICY_EVALUATED);
-        assertThat(event.getActor()).isEqualTo("POLICY_ENGINE");
+        assertThat(event.getActor()).isEqualTo(AuditActor.POLICY_ENGINE);
+        assertThat(event.getToState()).isEqualTo(TransferState.APPROVED);
         assertThat(event.getMetadata()).isEqualTo("APPROVED");
     }
 
@@ -87,15 +111,19 @@ class AuditServiceImplTest {
         PolicyEvaluationResult result = mock(PolicyEvaluationResult.class);
         when(result.allowed()).thenReturn(false);
         when(result.violationReason()).thenReturn("NOT_AUTHORIZED");
+        when(reasons.id("NOT_AUTHORIZED")).thenReturn(7);
 
         ArgumentCaptor<AuditEventEntity> captor =
                 ArgumentCaptor.forClass(AuditEventEntity.class);
 
         auditService.logPolicyEvaluation(transferId, result);
 
-        verify(repository).save(captor.capture());
+        verify(entityManager).persist(captor.capture());
         AuditEventEntity event = captor.getValue();
 
+        assertThat(event.getToState()).isEqualTo(TransferState.DENIED);
+        assertThat(event.getReasonId()).isEqualTo(7);
+        assertThat(event.getDetail()).isNull();
         assertThat(event.getMetadata())
                 .isEqualTo("DENIED: NOT_AUTHORIZED");
     }
@@ -111,15 +139,38 @@ class AuditServiceImplTest {
                 TransferState.POLICY_EVALUATION
         );
 
-        verify(repository).save(captor.capture());
+        verify(entityManager).persist(captor.capture());
         AuditEventEntity event = captor.getValue();
 
         assertThat(event.getAction()).isEqualTo(AuditAction.STATE_TRANSITION);
-        assertThat(event.getActor()).isEqualTo("ORCHESTRATOR");
+        assertThat(event.getActor()).isEqualTo(AuditActor.ORCHESTRATOR);
+        assertThat(event.getFromState()).isEqualTo(TransferState.REQUESTED);
+        assertThat(event.getToState()).isEqualTo(TransferState.POLICY_EVALUATION);
         assertThat(event.getMetadata())
                 .isEqualTo("REQUESTED -> POLICY_EVALUATION");
     }
 
+    @Test
+    void logStateTransition_whenWriterEnabled_appendsToWriter() {
+        AuditEventWriter writer = mock(AuditEventWriter.class);
+        when(writerProvider.getIfAvailable()).thenReturn(writer);
+
+        ArgumentCaptor<AuditEventEntity> captor =
+                ArgumentCaptor.forClass(AuditEventEntity.class);
+
+        auditService.logStateTransition(
+                transferId,
+                TransferState.APPROVED,
+                TransferState.CONTRACT_NEGOTIATION
+        );
+
+        verify(writer).append(captor.capture());
+        verify(entityManager, never()).persist(any());
+        assertThat(captor.getValue().getTransferId()).isEqualTo(transferId);
+        assertThat(captor.getValue().getMetadata())
+                .isEqualTo("APPROVED -> CONTRACT_NEGOTIATION");
+    }
+
     @Test
     void logTransferCompletion_whenSuccess() {
         TransferResult result = mock(TransferResult.class);
@@ -131,7 +182,7 @@ class AuditServiceImplTest {
 
         auditService.logTransferCompletion(transferId, result);
 
-        verify(repository).save(captor.capture());
+        verify(entityManager).persist(captor.capture());
         AuditEventEntity event = captor.getValue();
 
         assertThat(event.getAction())
@@ -150,7 +201,7 @@ class AuditServiceImplTest {
 
         auditService.logTransferCompletion(transferId, result);
 
-        verify(repository).save(captor.capture());
+        verify(entityManager).persist(captor.capture());
         AuditEventEntity event = captor.getValue();
 
         assertThat(event.getAction())
@@ -158,6 +209,21 @@ class AuditServiceImplTest {
         assertThat(event.getMetadata()).isEqualTo("TIMEOUT");
     }
 
+    @Test
+    void getAuditTrail_resolvesDenialReasonsThroughTheDictionary() {
+        AuditEventEntity denied = AuditEventEntity.policyDenied(transferId, 7, null);
+        when(repository.findByTransferIdOrderByTimestampAsc(transferId))
+                .thenReturn(List.of(denied));
+        when(reasons.reason(7)).thenReturn("NOT_AUTHORIZED");
+
+        List<AuditEventEntity> result =
+                auditService.getAuditTrail(transferId);
+
+        assertThat(result.get(0).getReason()).isEqualTo("NOT_AUTHORIZED");
+        assertThat(result.get(0).getMetadata())
+                .isEqualTo("DENIED: NOT_AUTHORIZED");
+    }
+
     @Test
     void getAuditTrail_returnsRepositoryResult() {
         List<AuditEventEntity> events =
@@ -179,24 +245,11 @@ class AuditServiceImplTest {
         Instant from = Instant.now().minusSeconds(3600);
         Instant to = Instant.now();
 
-        AuditEventEntity completed = mock(AuditEventEntity.class);
-        when(completed.getAction())
-                .thenReturn(AuditAction.TRANSFER_COMPLETED);
-
-        AuditEventEntity failed = mock(AuditEventEntity.class);
-        when(failed.getAction())
-                .thenReturn(AuditAction.TRANSFER_FAILED);
-
-        AuditEventEntity requested = mock(AuditEventEntity.class);
-        when(requested.getAction())
-                .thenReturn(AuditAction.TRANSFER_REQUESTED);
-
-        when(repository.findByTimestampBetween(from, to))
+        when(repository.countByActionBetween(from, to))
                 .thenReturn(List.of(
-                        completed,
-                        failed,
-                        requested,
-                        completed
+                        new Object[] {AuditAction.TRANSFER_COMPLETED, 2L},
+                        new Object[] {AuditAction.TRANSFER_FAILED, 1L},
+                        new Object[] {AuditAction.TRANSFER_REQUESTED, 1L}
                 ));
 
         ComplianceReport report =
@@ -214,12 +267,46 @@ class AuditServiceImplTest {
         assertThat(counts.get(AuditAction.TRANSFER_REQUESTED)).isEqualTo(1);
     }
 
+    @Test
+    void generateComplianceReport_combinesRollupBucketsWithRawEdges() {
+        Instant from = Instant.parse("2025-01-01T10:30:00Z");
+        Instant to = Instant.parse("2025-01-04T05:15:00Z");
+        Instant firstHour = Instant.parse("2025-01-01T11:00:00Z");
+        Instant firstDay = Instant.parse("2025-01-02T00:00:00Z");
+        Instant daySealed = Instant.parse("2025-01-03T00:00:00Z");
+        Instant hourSealed = Instant.parse("2025-01-04T03:00:00Z");
+
+        when(rollups.sealedUntil(Granularity.HOUR)).thenReturn(Optional.of(hourSealed));
+        when(rollups.sealedUntil(Granularity.DAY)).thenReturn(Optional.of(daySealed));
+        when(repository.countByActionFromUntil(from, firstHour))
+                .thenReturn(List.<Object[]>of(new Object[] {AuditAction.TRANSFER_COMPLETED, 1L}));
+        when(rollups.countByAction(Granularity.HOUR, firstHour, firstDay))
+                .thenReturn(List.<Object[]>of(new Object[] {AuditAction.TRANSFER_COMPLETED, 10L}));
+        when(rollups.countByAction(Granularity.DAY, firstDay, daySealed))
+                .thenReturn(List.of(
+                        new Object[] {AuditAction.TRANSFER_COMPLETED, 100L},
+                        new Object[] {AuditAction.TRANSFER_FAILED, 5L}
+                ));
+        when(rollups.countByAction(Granularity.HOUR, daySealed, hourSealed))
+                .thenReturn(List.<Object[]>of(new Object[] {AuditAction.TRANSFER_FAILED, 2L}));
+        when(repository.countByActionBetween(hourSealed, to))
+                .thenReturn(List.<Object[]>of(new Object[] {AuditAction.TRANSFER_REQUESTED, 7L}));
+
+        ComplianceReport report =
+                auditService.generateComplianceReport(from, to);
+
+        assertThat(report.successfulTransfers()).isEqualTo(111);
+        assertThat(report.failedTransfers()).isEqualTo(7);
+        assertThat(report.totalTransfers()).isEqualTo(118);
+        assertThat(report.actionCounts().get(AuditAction.TRANSFER_REQUESTED)).isEqualTo(7);
+    }
+
     @Test
     void generateComplianceReport_whenNoEvents() {
         Instant from = Instant.now().minusSeconds(3600);
         Instant to = Instant.now();
 
-        when(repository.findByTimestampBetween(from, to))
+        when(repository.countByActionBetween(from, to))
                 .thenReturn(List.of());
 
         ComplianceReport report =
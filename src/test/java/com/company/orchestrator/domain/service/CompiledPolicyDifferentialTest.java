@@ -0,0 +1,264 @@
+package com.company.orchestrator.domain.service;
+
+import com.company.orchestrator.api.controller.DemoPolicies;
+import com.company.orchestrator.policy.CompositePolicy;
+import com.company.orchestrator.policy.Policy;
+import com.company.orchestrator.policy.PolicyContext;
+import com.company.orchestrator.policy.PolicyEvaluationResult;
+import com.company.orchestrator.policy.atomic.*;
+import com.company.orchestrator.policy.compiled.AdaptiveOrdering;
+import com.company.orchestrator.policy.compiled.CompiledPolicy;
+import com.company.orchestrator.policy.compiled.PolicyCompiler;
+import com.company.orchestrator.policy.composite.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Differential tests: a compiled policy must return exactly what the
+ * interpreted tree returns, for the scenarios covered by
+ * {@link PolicyEvaluationAllTests} and for randomly generated trees.
+ */
+class CompiledPolicyDifferentialTest {
+
+    private static final List<ZoneId> ZONES = List.of(
+            ZoneId.of("UTC"),
+            ZoneId.of("CET"),
+            ZoneId.of("America/New_York"),
+            ZoneId.of("Australia/Lord_Howe"),
+            ZoneOffset.ofHoursMinutes(5, 30)
+    );
+
+    private static PolicyContext baseContext() {
+        return new PolicyContext(
+                "consumer-1",
+                "provider-1",
+                "DATA",
+                "EU",
+                Set.of("ISO_9001"),
+                "QUALITY_ANALYSIS",
+                Instant.parse("2025-01-01T10:00:00Z"),
+                ZoneId.of("UTC"),
+                5
+        );
+    }
+
+    private static PolicyContext context(
+            String region,
+            Set<String> certifications,
+            String purpose,
+            Instant requestTime,
+            long requestsInLastHour
+    ) {
+        return new PolicyContext(
+                "c", "p", "d",
+                region,
+                certifications,
+                purpose,
+                requestTime,
+                ZoneId.of("UTC"),
+                requestsInLastHour
+        );
+    }
+
+    private static void assertSameResult(Policy policy, PolicyContext ctx) {
+        CompiledPolicy compiled = PolicyCompiler.compile(policy);
+        assertThat(compiled.evaluate(ctx))
+                .as("compiled result for %s", ctx)
+                .isEqualTo(policy.evaluate(ctx));
+    }
+
+    private static Policy fixed(PolicyEvaluationResult result) {
+        return new CompositePolicy() {
+            @Override
+            public PolicyEvaluationResult evaluate(PolicyContext context) {
+                return result;
+            }
+        };
+    }
+
+    @Test
+    void matchesInterpreterOnAtomicPolicyScenarios() {
+        PolicyContext outsideEu = context("US", Set.of(), "USE", Instant.now(), 0);
+        PolicyContext overLimit = context("EU", Set.of(), "USE", Instant.now(), 50);
+        PolicyContext lateNight = context("EU", Set.of(), "USE",
+                Instant.parse("2025-01-01T23:00:00Z"), 1);
+        PolicyContext marketing = context("EU", Set.of(), "MARKETING", Instant.now(), 1);
+
+        TimeBasedPolicy businessHours = new TimeBasedPolicy(
+                LocalTime.of(9, 0), LocalTime.of(17, 0), ZoneId.of("UTC"));
+
+        for (PolicyContext ctx : List.of(baseContext(), outsideEu, overLimit, lateNight, marketing)) {
+            assertSameResult(new CertificationPolicy("ISO_9001"), ctx);
+            assertSameResult(new CertificationPolicy("SOC_2"), ctx);
+            assertSameResult(new GeographicPolicy(), ctx);
+            assertSameResult(new RateLimitPolicy(10), ctx);
+            assertSameResult(businessHours, ctx);
+            assertSameResult(new UsagePolicy("QUALITY_ANALYSIS"), ctx);
+            assertSameResult(DemoPolicies.defaultPolicy(), ctx);
+        }
+    }
+
+    @Test
+    void matchesInterpreterOnCompositeScenarios() {
+        Policy allow = fixed(PolicyEvaluationResult.allow());
+        Policy deny = fixed(PolicyEvaluationResult.deny("FAIL"));
+        PolicyContext ctx = baseContext();
+
+        assertSameResult(new AndPolicy(List.of(allow, allow)), ctx);
+        assertSameResult(new AndPolicy(List.of(deny, allow)), ctx);
+        assertSameResult(new OrPolicy(List.of(deny, allow)), ctx);
+        assertSameResult(new OrPolicy(List.of(deny, deny)), ctx);
+        assertSameResult(new NotPolicy(allow), ctx);
+        assertSameResult(new NotPolicy(deny), ctx);
+        assertSameResult(new AndPolicy(List.of()), ctx);
+        assertSameResult(new OrPolicy(List.of()), ctx);
+    }
+
+    @Test
+    void shortCircuitsLikeInterpreter() {
+        Policy neverCalled = new CompositePolicy() {
+            @Override
+            public PolicyEvaluationResult evaluate(PolicyContext context) {
+                throw new AssertionError("should not be evaluated");
+            }
+        };
+
+        CompiledPolicy and = PolicyCompiler.compile(new AndPolicy(List.of(
+                new GeographicPolicy(), neverCalled)));
+        CompiledPolicy or = PolicyCompiler.compile(new OrPolicy(List.of(
+                new GeographicPolicy(), neverCalled)));
+
+        assertThat(and.evaluate(context("US", Set.of(), "USE", Instant.now(), 0)).allowed())
+                .isFalse();
+        assertThat(or.evaluate(baseContext()).allowed()).isTrue();
+    }
+
+    @Test
+    void allowedEvaluationsShareOneResult() {
+        CompiledPolicy compiled = PolicyCompiler.compile(new AndPolicy(List.of(
+                new GeographicPolicy(),
+                new CertificationPolicy("ISO_9001"),
+                new RateLimitPolicy(10)
+        )));
+
+        assertThat(compiled.evaluate(baseContext()))
+                .isSameAs(compiled.evaluate(baseContext()));
+    }
+
+    @Test
+    void matchesInterpreterAcrossDaylightSavingTransitions() {
+        Policy policy = new TimeBasedPolicy(
+                LocalTime.of(2, 30), LocalTime.of(18, 0), ZoneId.of("CET"));
+        CompiledPolicy compiled = PolicyCompiler.compile(policy);
+
+        Instant time = Instant.parse("2024-01-01T00:00:00Z");
+        Instant until = Instant.parse("2026-01-01T00:00:00Z");
+        while (time.isBefore(until)) {
+            PolicyContext ctx = context("EU", Set.of(), "USE", time, 0);
+            assertThat(compiled.evaluate(ctx)).isEqualTo(policy.evaluate(ctx));
+            time = time.plusSeconds(599);
+        }
+    }
+
+    @Test
+    void matchesInterpreterOnRandomTrees() {
+        Random random = new Random(20250101L);
+        for (int tree = 0; tree < 500; tree++) {
+            Policy policy = randomTree(random, 4);
+            CompiledPolicy compiled = PolicyCompiler.compile(policy);
+            for (int i = 0; i < 200; i++) {
+                PolicyContext ctx = randomContext(random);
+                assertThat(compiled.evaluate(ctx))
+                        .as("tree %d, context %s", tree, ctx)
+                        .isEqualTo(policy.evaluate(ctx));
+            }
+        }
+    }
+
+    @Test
+    void matchesInterpreterWithAdaptiveOrdering() {
+        // every evaluation is sampled and reorders, so orders change constantly
+        AdaptiveOrdering ordering = new AdaptiveOrdering(1, Duration.ZERO);
+        Random random = new Random(20250102L);
+        for (int tree = 0; tree < 500; tree++) {
+            Policy policy = randomTree(random, 4, false);
+            CompiledPolicy compiled = PolicyCompiler.compile(policy, ordering);
+            for (int i = 0; i < 200; i++) {
+                PolicyContext ctx = randomContext(random);
+                assertThat(compiled.evaluate(ctx))
+                        .as("tree %d, context %s", tree, ctx)
+                        .isEqualTo(policy.evaluate(ctx));
+            }
+        }
+    }
+
+    private static Policy randomTree(Random random, int depth) {
+        return randomTree(random, depth, true);
+    }
+
+    private static Policy randomTree(Random random, int depth, boolean delegates) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            return randomAtomic(random, delegates);
+        }
+        List<Policy> children = new ArrayList<>();
+        int count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            children.add(randomTree(random, depth - 1, delegates));
+        }
+        return switch (random.nextInt(3)) {
+            case 0 -> new AndPolicy(children);
+            case 1 -> new OrPolicy(children);
+            default -> new NotPolicy(children.get(0));
+        };
+    }
+
+    private static Policy randomAtomic(Random random, boolean delegates) {
+        return switch (random.nextInt(delegates ? 6 : 5)) {
+            case 0 -> new CertificationPolicy(
+                    List.of("ISO_9001", "SOC_2", "TISAX").get(random.nextInt(3)));
+            case 1 -> new GeographicPolicy();
+            case 2 -> new RateLimitPolicy(random.nextInt(20));
+            case 3 -> new TimeBasedPolicy(
+                    LocalTime.of(random.nextInt(12), random.nextInt(60)),
+                    LocalTime.of(12 + random.nextInt(12), random.nextInt(60),
+                            random.nextInt(60), random.nextInt(1_000_000_000)),
+                    ZONES.get(random.nextInt(ZONES.size())));
+            case 4 -> new UsagePolicy(
+                    List.of("QUALITY_ANALYSIS", "marketing").get(random.nextInt(2)));
+            default -> fixed(random.nextBoolean()
+                    ? PolicyEvaluationResult.allow()
+                    : PolicyEvaluationResult.deny("CUSTOM"));
+        };
+    }
+
+    private static PolicyContext randomContext(Random random) {
+        Set<String> certifications = new HashSet<>();
+        for (String certification : List.of("ISO_9001", "SOC_2", "TISAX")) {
+            if (random.nextBoolean()) {
+                certifications.add(certification);
+            }
+        }
+        return context(
+                List.of("EU", "DE", "FR", "US", "CN").get(random.nextInt(5)),
+                certifications,
+                List.of("QUALITY_ANALYSIS", "quality_analysis", "MARKETING", "")
+                        .get(random.nextInt(4)),
+                Instant.ofEpochSecond(
+                        1_600_000_000L + (long) (random.nextDouble() * 300_000_000L),
+                        random.nextInt(1_000_000_000)),
+                random.nextInt(30)
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.orchestrator.domain.service;
+
+import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.ComplianceReport;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Collector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A compliance window of one million audit events must be reported without
+ * loading the events into the heap.
+ */
+@SpringBootTest
+class ComplianceReportLargeWindowTest extends PostgresIntegrationTest {
+
+    private static final int EVENTS = 1_000_000;
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant END = START.plusMillis(EVENTS - 1);
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT count(*) FROM audit_events", Long.class) == EVENTS) {
+            return;
+        }
+        UUID transferId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, updated_at)
+                VALUES (?, 'consumer', 'provider', 'DATA', 'COMPLETED', now())
+                """, transferId);
+        jdbcTemplate.update("""
+                INSERT INTO audit_events (id, transfer_id, action, timestamp, actor, detail)
+                SELECT gen_random_uuid(), ?,
+                       (ARRAY['TRANSFER_REQUESTED', 'POLICY_EVALUATED', 'STATE_TRANSITION',
+                              'TRANSFER_COMPLETED', 'TRANSFER_FAILED'])[1 + i % 5],
+                       ?::timestamptz + i * interval '1 millisecond',
+                       3, -- ORCHESTRATOR
+                       'event ' || i
+                FROM generate_series(0, ? - 1) AS i
+                """, transferId, Timestamp.from(START), EVENTS);
+        jdbcTemplate.execute("ANALYZE audit_events");
+    }
+
+    @Test
+    void reportCountsMillionEventWindowInDatabase() {
+        long baseline = usedHeapAfterGc();
+
+        ComplianceReport report = auditService.generateComplianceReport(START, END);
+
+        assertThat(report.actionCounts()).hasSize(5)
+                .containsEntry(AuditAction.TRANSFER_COMPLETED, 200_000L)
+                .containsEntry(AuditAction.STATE_TRANSITION, 200_000L);
+        assertThat(report.totalTransfers()).isEqualTo(400_000);
+        assertThat(report.successfulTransfers()).isEqualTo(200_000);
+        assertThat(usedHeapAfterGc() - baseline).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    @Test
+    void streamingAggregationKeepsHeapBounded() {
+        long baseline = usedHeapAfterGc();
+        long[] peak = {0};
+
+        long failed = auditService.aggregateAuditEvents(START, END, Collector.of(
+                () -> new long[2],
+                (acc, event) -> {
+                    if (event.getAction() == AuditAction.TRANSFER_FAILED) {
+                        acc[0]++;
+                    }
+                    if (++acc[1] % 250_000 == 0) {
+                        peak[0] = Math.max(peak[0], usedHeapAfterGc() - baseline);
+                    }
+                },
+                (a, b) -> {
+                    a[0] += b[0];
+                    a[1] += b[1];
+                    return a;
+                },
+                acc -> acc[0]
+        ));
+
+        assertThat(failed).isEqualTo(200_000);
+        assertThat(peak[0]).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.orchestrator.domain.service;
+
+import com.company.orchestrator.api.dto.TransferRequestDto;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Intake throughput: one {@code initiateTransfer} call per transfer versus
+ * {@code initiateTransfers} with batches of increasing size. Every request
+ * is approved and completed by the mock connector, so both paths write the
+ * same rows.
+ * <p>
+ * Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=TransferBatchBenchmark} (needs Docker).
+ */
+@SpringBootTest(properties = "orchestrator.audit.rollup.enabled=false")
+class TransferBatchBenchmark extends PostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS = 8_000;
+
+    @DynamicPropertySource
+    static void pool(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+    }
+
+    @Autowired
+    private TransferOrchestrator orchestrator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareSingleAndBatchedIntake() throws Exception {
+        List<TransferRequestDto> requests = IntStream.range(0, TRANSFERS)
+                .mapToObj(i -> new TransferRequestDto("consumer-" + i % 100, "provider-" + i % 10, "DATA"))
+                .toList();
+
+        run(requests, 1, chunk -> orchestrator.initiateTransfer(chunk.getFirst()));
+        clear();
+
+        report("single calls", run(requests, 1, chunk -> orchestrator.initiateTransfer(chunk.getFirst())));
+        for (int size : new int[] {10, 100, 1000}) {
+            clear();
+            report("batches of " + size, run(requests, size, orchestrator::initiateTransfers));
+        }
+    }
+
+    private long run(List<TransferRequestDto> requests, int size, Consumer<List<TransferRequestDto>> sink)
+            throws Exception {
+        List<List<TransferRequestDto>> chunks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i += size) {
+            chunks.add(requests.subList(i, Math.min(i + size, requests.size())));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                for (int i = offset; i < chunks.size(); i += THREADS) {
+                    sink.accept(chunks.get(i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        return System.nanoTime() - started;
+    }
+
+    private void clear() {
+        jdbcTemplate.update("DELETE FROM audit_events");
+        jdbcTemplate.update("DELETE FROM transfers");
+    }
+
+    private void report(String name, long nanos) {
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM transfers", Long.class))
+                .isEqualTo(TRANSFERS);
+        System.out.printf("%-16s %,10.0f transfers/s  (%,d transfers in %d ms)%n",
+                name, TRANSFERS / (nanos / 1e9), TRANSFERS, nanos / 1_000_000);
+    }
+}
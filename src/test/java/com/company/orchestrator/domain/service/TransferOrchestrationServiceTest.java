@@ -1,10 +1,20 @@
 package com.company.orchestrator.domain.service;
 
 import com.company.orchestrator.api.dto.TransferAnalyticsResponse;
+import com.company.orchestrator.api.dto.TransferBatchResponse;
 import com.company.orchestrator.api.dto.TransferRequestDto;
+import com.company.orchestrator.api.dto.TransferSliceResponse;
 import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.domain.analytics.TransferCounters;
+import com.company.orchestrator.domain.analytics.TransferStage;
+import com.company.orchestrator.domain.analytics.TransferTimings;
+import com.company.orchestrator.domain.exception.InvalidCursorException;
 import com.company.orchestrator.domain.exception.TransferNotFoundException;
+import com.company.orchestrator.domain.exception.TransferStateConflictException;
 import com.company.orchestrator.domain.model.*;
+import com.company.orchestrator.domain.pipeline.TransferPipeline;
+import com.company.orchestrator.domain.ratelimit.SlidingWindowRequestCounter;
+import com.company.orchestrator.domain.status.TransferStatusCache;
 import com.company.orchestrator.infrastructure.edc.EdcConnectorClient;
 import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
 import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
@@ -13,16 +23,25 @@ import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
 import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
 import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
 import com.company.orchestrator.infrastructure.persistence.repository.TransferRepository;
+import com.company.orchestrator.policy.PolicyContext;
 import com.company.orchestrator.policy.PolicyEvaluationResult;
+import com.company.orchestrator.policy.atomic.GeographicPolicy;
+import com.company.orchestrator.policy.compiled.CompiledPolicy;
+import com.company.orchestrator.policy.compiled.PolicyCompiler;
+import com.company.orchestrator.policy.registry.PolicyRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +61,27 @@ class TransferOrchestrationServiceTest {
     @Mock
     private EdcConnectorClient edcConnectorClient;
 
+    @Mock
+    private ObjectProvider<TransferPipeline> pipelineProvider;
+
+    @Mock
+    private SlidingWindowRequestCounter requestCounter;
+
+    @Mock
+    private PolicyRegistry policyRegistry;
+
+    @Mock
+    private TransferCounters counters;
+
+    @Mock
+    private TransferTimings timings;
+
+    @Mock
+    private TransferStatusCache statusCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private TransferOrchestrationService service;
 
@@ -86,6 +126,68 @@ class TransferOrchestrationServiceTest {
         verify(repository, times(1)).save(any(TransferEntity.class));
     }
 
+    @Test
+    void initiateTransfer_passesConsumerRequestCountToPolicyContext() {
+        TransferRequestDto dto = new TransferRequestDto(
+                "consumer",
+                "provider",
+                "DATA_TYPE"
+        );
+
+        TransferEntity entity = new TransferEntity(
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType()
+        );
+        entity.setId(transferId);
+
+        when(repository.save(any(TransferEntity.class)))
+                .thenReturn(entity);
+        when(requestCounter.record("consumer")).thenReturn(101L);
+
+        PolicyEvaluationResult denied = mock(PolicyEvaluationResult.class);
+        when(denied.allowed()).thenReturn(false);
+
+        ArgumentCaptor<PolicyContext> captor =
+                ArgumentCaptor.forClass(PolicyContext.class);
+        when(policyService.evaluate(any(), captor.capture()))
+                .thenReturn(denied);
+
+        service.initiateTransfer(dto);
+
+        assertThat(captor.getValue().requestsInLastHour()).isEqualTo(101L);
+    }
+
+    @Test
+    void initiateTransfer_evaluatesPolicyResolvedForProviderAndDataType() {
+        TransferRequestDto dto = new TransferRequestDto(
+                "consumer",
+                "provider",
+                "DATA_TYPE"
+        );
+
+        TransferEntity entity = new TransferEntity(
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType()
+        );
+        entity.setId(transferId);
+
+        CompiledPolicy policy = PolicyCompiler.compile(new GeographicPolicy());
+        when(repository.save(any(TransferEntity.class)))
+                .thenReturn(entity);
+        when(policyRegistry.resolve("provider", "DATA_TYPE")).thenReturn(policy);
+
+        PolicyEvaluationResult denied = mock(PolicyEvaluationResult.class);
+        when(denied.allowed()).thenReturn(false);
+        when(policyService.evaluate(same(policy), any()))
+                .thenReturn(denied);
+
+        service.initiateTransfer(dto);
+
+        verify(policyService).evaluate(same(policy), any());
+    }
+
     @Test
     void initiateTransfer_successfulFlow_completesTransfer() {
         TransferRequestDto dto = new TransferRequestDto(
@@ -132,7 +234,12 @@ class TransferOrchestrationServiceTest {
                 .logStateTransition(eq(transferId), any(), any());
         verify(edcConnectorClient).negotiateContract(any());
         verify(edcConnectorClient).initiateTransfer(any());
-        verify(repository, atLeast(2)).save(any(TransferEntity.class));
+        verify(repository, times(1)).save(any(TransferEntity.class));
+        assertThat(entity.getState()).isEqualTo(TransferState.COMPLETED);
+        verify(statusCache).update(transferId, TransferState.COMPLETED, entity.getUpdatedAt());
+        for (TransferStage stage : TransferStage.values()) {
+            verify(timings).record(eq(stage), eq("DATA_TYPE"), eq("provider"), any());
+        }
     }
 
     @Test
@@ -173,6 +280,254 @@ class TransferOrchestrationServiceTest {
         assertThat(entity.getState()).isEqualTo(TransferState.FAILED);
     }
 
+    @Test
+    void initiateTransfer_negotiationRejected_failsWithoutStartingTheTransfer() {
+        TransferRequestDto dto = new TransferRequestDto(
+                "consumer",
+                "provider",
+                "DATA_TYPE"
+        );
+
+        TransferEntity entity = new TransferEntity(
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType()
+        );
+        entity.setId(transferId);
+
+        when(repository.save(any(TransferEntity.class)))
+                .thenReturn(entity);
+        when(policyService.evaluate(any(), any()))
+                .thenReturn(PolicyEvaluationResult.allow());
+        when(edcConnectorClient.negotiateContract(any()))
+                .thenReturn(ContractNegotiationResult.failure("Concurrency limit reached"));
+
+        service.initiateTransfer(dto);
+
+        assertThat(entity.getState()).isEqualTo(TransferState.FAILED);
+        verify(auditService).logStateTransition(
+                transferId, TransferState.CONTRACT_NEGOTIATION, TransferState.FAILED);
+        verify(auditService, never()).logStateTransition(
+                transferId, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
+        verify(edcConnectorClient, never()).initiateTransfer(any());
+    }
+
+    @Test
+    void submitTransfer_persistsRequestedAndHandsOffToPipeline() {
+        TransferRequestDto dto = new TransferRequestDto(
+                "consumer",
+                "provider",
+                "DATA_TYPE"
+        );
+
+        TransferEntity entity = new TransferEntity(
+                dto.consumerId(),
+                dto.providerId(),
+                dto.dataType()
+        );
+        entity.setId(transferId);
+
+        TransferPipeline pipeline = mock(TransferPipeline.class);
+        when(pipelineProvider.getIfAvailable()).thenReturn(pipeline);
+        when(repository.save(any(TransferEntity.class)))
+                .thenReturn(entity);
+
+        UUID result = service.submitTransfer(dto);
+
+        assertThat(result).isEqualTo(transferId);
+        assertThat(entity.getState()).isEqualTo(TransferState.REQUESTED);
+
+        ArgumentCaptor<TransferRequest> captor =
+                ArgumentCaptor.forClass(TransferRequest.class);
+        verify(auditService).logTransferRequest(any());
+        verify(pipeline).submit(captor.capture());
+        assertThat(captor.getValue().transferId()).isEqualTo(transferId);
+        verifyNoInteractions(policyService, edcConnectorClient);
+    }
+
+    @Test
+    void submitTransfer_whenPipelineDisabled_throwsException() {
+        TransferRequestDto dto = new TransferRequestDto(
+                "consumer",
+                "provider",
+                "DATA_TYPE"
+        );
+
+        assertThatThrownBy(() -> service.submitTransfer(dto))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(repository, auditService);
+    }
+
+    @Test
+    void initiateTransfers_evaluatesAllBeforePersistingAndCompletesApproved() {
+        List<TransferRequestDto> dtos = List.of(
+                new TransferRequestDto("consumer", "provider", "ALLOWED"),
+                new TransferRequestDto("consumer", "provider", "DENIED")
+        );
+        when(policyService.evaluate(any(), any())).thenAnswer(inv ->
+                ((PolicyContext) inv.getArgument(1)).dataType().equals("ALLOWED")
+                        ? PolicyEvaluationResult.allow()
+                        : PolicyEvaluationResult.deny("Data type not allowed"));
+        when(repository.transition(any(), any(), any())).thenReturn(true);
+        when(edcConnectorClient.negotiateContract(any()))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+        when(edcConnectorClient.initiateTransfer(any()))
+                .thenReturn(DataTransferResult.ok("process-1"));
+
+        var response = service.initiateTransfers(dtos);
+
+        assertThat(response.items())
+                .extracting(TransferBatchResponse.Item::state, TransferBatchResponse.Item::violationReason)
+                .containsExactly(
+                        tuple(TransferState.COMPLETED, null),
+                        tuple(TransferState.DENIED, "Data type not allowed")
+                );
+        InOrder order = inOrder(policyService, repository, auditService);
+        order.verify(policyService, times(2)).evaluate(any(), any());
+        order.verify(repository).saveAll(ArgumentMatchers.<Iterable<TransferEntity>>argThat(entities ->
+                ((Collection<?>) entities).size() == 2));
+        order.verify(auditService).logTransferRequests(
+                argThat(requests -> requests.size() == 2),
+                argThat(results -> results.size() == 2));
+        verify(repository, never()).save(any());
+        verify(edcConnectorClient, times(1)).negotiateContract(any());
+        verify(statusCache).update(
+                eq(response.items().get(1).transferId()), eq(TransferState.DENIED), any(Instant.class));
+    }
+
+    @Test
+    void initiateTransfers_connectsApprovedOnlyAfterTheInsertsCommitted() {
+        when(policyService.evaluate(any(), any())).thenReturn(PolicyEvaluationResult.allow());
+        when(repository.transition(any(), any(), any())).thenReturn(true);
+        when(edcConnectorClient.negotiateContract(any()))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+        when(edcConnectorClient.initiateTransfer(any()))
+                .thenReturn(DataTransferResult.ok("process-1"));
+
+        var response = service.initiateTransfers(List.of(
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE")));
+
+        UUID id = response.items().get(0).transferId();
+        InOrder order = inOrder(transactionManager, repository, edcConnectorClient);
+        order.verify(repository).saveAll(any());
+        order.verify(transactionManager).commit(any());
+        order.verify(repository).transition(id, TransferState.APPROVED, TransferState.CONTRACT_NEGOTIATION);
+        order.verify(edcConnectorClient).negotiateContract(any());
+        order.verify(repository).transition(id, TransferState.TRANSFER_IN_PROGRESS, TransferState.COMPLETED);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void initiateTransfers_stopsConnectingATransferCancelledAfterCommit() {
+        when(policyService.evaluate(any(), any())).thenReturn(PolicyEvaluationResult.allow());
+        when(repository.transition(any(), eq(TransferState.APPROVED), eq(TransferState.CONTRACT_NEGOTIATION)))
+                .thenReturn(false);
+        when(repository.findStateById(any())).thenReturn(Optional.of(TransferState.CANCELLED));
+
+        var response = service.initiateTransfers(List.of(
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE")));
+
+        assertThat(response.items())
+                .extracting(TransferBatchResponse.Item::state)
+                .containsExactly(TransferState.CANCELLED);
+        verifyNoInteractions(edcConnectorClient);
+    }
+
+    @Test
+    void initiateTransfers_failsOnlyTheTransferWhoseConnectorCallThrew() {
+        when(policyService.evaluate(any(), any())).thenReturn(PolicyEvaluationResult.allow());
+        when(repository.transition(any(), any(), any())).thenReturn(true);
+        when(edcConnectorClient.negotiateContract(any()))
+                .thenThrow(new IllegalStateException("connector down"))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+        when(edcConnectorClient.initiateTransfer(any()))
+                .thenReturn(DataTransferResult.ok("process-1"));
+        when(repository.transitionFromCurrent(any(), eq(TransferState.FAILED)))
+                .thenReturn(Optional.of(TransferState.CONTRACT_NEGOTIATION));
+        when(repository.findStateById(any())).thenReturn(Optional.of(TransferState.FAILED));
+
+        var response = service.initiateTransfers(List.of(
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE"),
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE")));
+
+        assertThat(response.items())
+                .extracting(TransferBatchResponse.Item::state)
+                .containsExactly(TransferState.FAILED, TransferState.COMPLETED);
+        verify(auditService).logStateTransition(
+                response.items().get(0).transferId(), TransferState.CONTRACT_NEGOTIATION, TransferState.FAILED);
+    }
+
+    @Test
+    void initiateTransfers_failedNegotiation_failsTheTransferWithoutStartingIt() {
+        when(policyService.evaluate(any(), any())).thenReturn(PolicyEvaluationResult.allow());
+        when(repository.transition(any(), any(), any())).thenReturn(true);
+        when(edcConnectorClient.negotiateContract(any()))
+                .thenReturn(ContractNegotiationResult.failure("Circuit open"));
+
+        var response = service.initiateTransfers(List.of(
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE")));
+
+        UUID id = response.items().get(0).transferId();
+        assertThat(response.items())
+                .extracting(TransferBatchResponse.Item::state)
+                .containsExactly(TransferState.FAILED);
+        verify(repository).transition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.FAILED);
+        verify(repository, never()).transition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
+        verify(auditService, never())
+                .logStateTransition(id, TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED);
+        verify(edcConnectorClient, never()).initiateTransfer(any());
+        verify(timings).record(eq(TransferStage.END_TO_END), eq("DATA_TYPE"), eq("provider"), any());
+    }
+
+    @Test
+    void initiateTransfers_handsApprovedTransfersToPipeline() {
+        TransferPipeline pipeline = mock(TransferPipeline.class);
+        when(pipelineProvider.getIfAvailable()).thenReturn(pipeline);
+        when(pipeline.handOffTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(pipeline.submitApproved(any(), any())).thenReturn(true);
+        when(policyService.evaluate(any(), any()))
+                .thenReturn(PolicyEvaluationResult.allow(), PolicyEvaluationResult.deny("Denied"));
+
+        var response = service.initiateTransfers(List.of(
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE"),
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE")
+        ));
+
+        assertThat(response.items())
+                .extracting(TransferBatchResponse.Item::state)
+                .containsExactly(TransferState.APPROVED, TransferState.DENIED);
+        ArgumentCaptor<TransferRequest> captor =
+                ArgumentCaptor.forClass(TransferRequest.class);
+        verify(pipeline).submitApproved(captor.capture(), any());
+        assertThat(captor.getValue().transferId()).isEqualTo(response.items().get(0).transferId());
+        assertThat(response.items()).extracting(TransferBatchResponse.Item::rejection).containsOnlyNulls();
+        verifyNoInteractions(edcConnectorClient);
+    }
+
+    @Test
+    void initiateTransfers_reportsTransfersTheFullPipelineRejectedAsQueueFull() {
+        TransferPipeline pipeline = mock(TransferPipeline.class);
+        when(pipelineProvider.getIfAvailable()).thenReturn(pipeline);
+        when(pipeline.handOffTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(pipeline.submitApproved(any(), any())).thenReturn(true, false);
+        when(policyService.evaluate(any(), any())).thenReturn(PolicyEvaluationResult.allow());
+
+        var response = service.initiateTransfers(List.of(
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE"),
+                new TransferRequestDto("consumer", "provider", "DATA_TYPE")
+        ));
+
+        assertThat(response.items())
+                .extracting(TransferBatchResponse.Item::state, TransferBatchResponse.Item::rejection)
+                .containsExactly(
+                        tuple(TransferState.APPROVED, null),
+                        tuple(TransferState.FAILED, TransferBatchResponse.Rejection.QUEUE_FULL));
+        ArgumentCaptor<Duration> maxWait = ArgumentCaptor.forClass(Duration.class);
+        verify(pipeline, times(2)).submitApproved(any(), maxWait.capture());
+        assertThat(maxWait.getAllValues()).allSatisfy(wait ->
+                assertThat(wait).isBetween(Duration.ZERO, Duration.ofSeconds(5)));
+    }
+
     @Test
     void getTransferStatus_returnsStatus() {
         TransferEntity entity = mock(TransferEntity.class);
@@ -184,6 +539,7 @@ class TransferOrchestrationServiceTest {
 
         when(repository.findById(transferId))
                 .thenReturn(Optional.of(entity));
+        loadThroughCache();
 
         TransferStatus status = service.getTransferStatus(transferId);
 
@@ -196,26 +552,59 @@ class TransferOrchestrationServiceTest {
     void getTransferStatus_whenMissing_throwsException() {
         when(repository.findById(transferId))
                 .thenReturn(Optional.empty());
+        loadThroughCache();
 
         assertThatThrownBy(() -> service.getTransferStatus(transferId))
                 .isInstanceOf(TransferNotFoundException.class);
     }
 
     @Test
-    void cancelTransfer_setsCancelledState() {
-        TransferEntity entity = mock(TransferEntity.class);
+    void getTransferStatus_whenCached_skipsRepository() {
+        TransferStatus cached = new TransferStatus(transferId, TransferState.NEGOTIATED, Instant.now());
+        when(statusCache.get(eq(transferId), any())).thenReturn(cached);
 
-        when(repository.findById(transferId))
-                .thenReturn(Optional.of(entity));
+        assertThat(service.getTransferStatus(transferId)).isEqualTo(cached);
+        verifyNoInteractions(repository);
+    }
+
+    private void loadThroughCache() {
+        when(statusCache.get(eq(transferId), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TransferStatus>>getArgument(1).get());
+    }
+
+    @Test
+    void cancelTransfer_setsCancelledState() {
+        when(repository.transitionFromCurrent(transferId, TransferState.CANCELLED))
+                .thenReturn(Optional.of(TransferState.NEGOTIATED));
 
         service.cancelTransfer(transferId);
 
-        verify(entity).setState(TransferState.CANCELLED);
         verify(auditService).logStateTransition(
-                eq(transferId),
-                any(),
-                eq(TransferState.CANCELLED)
+                transferId,
+                TransferState.NEGOTIATED,
+                TransferState.CANCELLED
         );
+        verify(statusCache).update(eq(transferId), eq(TransferState.CANCELLED), any());
+    }
+
+    @Test
+    void cancelTransfer_whenAlreadyFinished_throwsConflict() {
+        when(repository.transitionFromCurrent(transferId, TransferState.CANCELLED))
+                .thenReturn(Optional.empty());
+        when(repository.existsById(transferId)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.cancelTransfer(transferId))
+                .isInstanceOf(TransferStateConflictException.class);
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void cancelTransfer_whenMissing_throwsException() {
+        when(repository.transitionFromCurrent(transferId, TransferState.CANCELLED))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.cancelTransfer(transferId))
+                .isInstanceOf(TransferNotFoundException.class);
     }
 
     @Test
@@ -258,6 +647,63 @@ class TransferOrchestrationServiceTest {
         assertThat(summary.consumerId()).isEqualTo("consumer");
     }
 
+    @Test
+    void listTransfersByCursor_returnsNextCursorWhenMoreRowsFollow() {
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+        UUID second = UUID.randomUUID();
+        when(repository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(
+                new TransferSummaryResponse(transferId, "c", "p", "D", TransferState.COMPLETED, createdAt),
+                new TransferSummaryResponse(second, "c", "p", "D", TransferState.FAILED, createdAt),
+                new TransferSummaryResponse(UUID.randomUUID(), "c", "p", "D", TransferState.FAILED, createdAt)
+        ));
+
+        TransferSliceResponse first = service.listTransfers(null, 2);
+
+        assertThat(first.content()).extracting(TransferSummaryResponse::id)
+                .containsExactly(transferId, second);
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(repository.findNewestBefore(createdAt, second, PageRequest.of(0, 3)))
+                .thenReturn(List.of());
+
+        TransferSliceResponse next = service.listTransfers(first.nextCursor(), 2);
+
+        assertThat(next.content()).isEmpty();
+        assertThat(next.nextCursor()).isNull();
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void listTransfersByCursor_whenCursorMalformed_throwsException() {
+        assertThatThrownBy(() -> service.listTransfers("not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void searchTransfers_passesCriteriaAndCursorToRepository() {
+        TransferSearchCriteria criteria = new TransferSearchCriteria(
+                "consumer", null, null, TransferState.FAILED, Instant.EPOCH, null);
+        TransferCursor after = new TransferCursor(Instant.parse("2025-01-01T10:00:00Z"), transferId);
+        TransferSummaryResponse row = new TransferSummaryResponse(
+                UUID.randomUUID(), "consumer", "p", "D", TransferState.FAILED, Instant.EPOCH);
+        when(repository.search(criteria, after, 11)).thenReturn(List.of(row));
+
+        TransferSliceResponse slice = service.searchTransfers(criteria, after.encode(), 10);
+
+        assertThat(slice.content()).containsExactly(row);
+        assertThat(slice.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAnalytics_whenCountersLoaded_skipsRepositoryQueries() {
+        TransferAnalyticsResponse counted = new TransferAnalyticsResponse(
+                2L, Map.of("COMPLETED", 2L), Map.of("TYPE_A", 2L));
+        when(counters.snapshot()).thenReturn(Optional.of(counted));
+
+        assertThat(service.getAnalytics()).isSameAs(counted);
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void getAnalytics_aggregatesCounts() {
         when(repository.count()).thenReturn(5L);
@@ -0,0 +1,208 @@
+package com.company.orchestrator.domain.status;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.model.TransferStatus;
+import com.company.orchestrator.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransferStatusCacheTest {
+
+    private static final List<TransferState> PATH = List.of(
+            TransferState.REQUESTED,
+            TransferState.POLICY_EVALUATION,
+            TransferState.APPROVED,
+            TransferState.CONTRACT_NEGOTIATION,
+            TransferState.NEGOTIATED,
+            TransferState.TRANSFER_IN_PROGRESS,
+            TransferState.COMPLETED
+    );
+
+    private MutableClock clock;
+    private TransferStatusStream stream;
+    private TransferStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        stream = mock(TransferStatusStream.class);
+        cache = new TransferStatusCache(
+                new TransferStatusCacheProperties(true, Duration.ofSeconds(5), Duration.ofMinutes(10), 10),
+                stream,
+                clock
+        );
+    }
+
+    private static TransferStatus status(UUID id, TransferState state) {
+        return new TransferStatus(id, state, Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    @Test
+    void servesPollsFromMemoryAndKeepsFinishedTransfersLonger() {
+        UUID running = UUID.randomUUID();
+        UUID finished = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(running, () -> {
+                loads.incrementAndGet();
+                return status(running, TransferState.NEGOTIATED);
+            });
+            cache.get(finished, () -> {
+                loads.incrementAndGet();
+                return status(finished, TransferState.COMPLETED);
+            });
+        }
+        assertThat(loads).hasValue(2);
+        assertThat(cache.hits()).isEqualTo(4);
+
+        clock.advance(Duration.ofSeconds(6));
+        cache.get(running, () -> {
+            loads.incrementAndGet();
+            return status(running, TransferState.TRANSFER_IN_PROGRESS);
+        });
+        cache.get(finished, () -> {
+            throw new AssertionError("finished transfer reloaded");
+        });
+
+        assertThat(loads).hasValue(3);
+        assertThat(cache.expirations()).isEqualTo(1);
+    }
+
+    @Test
+    void staleLoadDoesNotOverwriteNewerWriteThrough() {
+        UUID id = UUID.randomUUID();
+
+        cache.update(id, TransferState.COMPLETED, Instant.now());
+        cache.put(status(id, TransferState.TRANSFER_IN_PROGRESS));
+
+        assertThat(cache.get(id, () -> status(id, TransferState.TRANSFER_IN_PROGRESS)).state())
+                .isEqualTo(TransferState.COMPLETED);
+    }
+
+    @Test
+    void evictsFinishedTransfersBeforeInFlightOnesWhenFull() {
+        List<UUID> inFlight = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            cache.put(status(UUID.randomUUID(), TransferState.COMPLETED));
+        }
+        for (int i = 0; i < 6; i++) {
+            UUID id = UUID.randomUUID();
+            inFlight.add(id);
+            cache.put(status(id, TransferState.NEGOTIATED));
+        }
+
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.evictions()).isEqualTo(2);
+        for (UUID id : inFlight) {
+            assertThat(cache.get(id, () -> {
+                throw new AssertionError("in-flight transfer evicted");
+            }).state()).isEqualTo(TransferState.NEGOTIATED);
+        }
+    }
+
+    @Test
+    void concurrentLoadsNeverHideCommittedStateChanges() throws Exception {
+        // in-flight entries expire immediately, so every poll races a load
+        // of the row against the write-through of the next transition
+        cache = new TransferStatusCache(
+                new TransferStatusCacheProperties(true, Duration.ZERO, Duration.ofMinutes(10), 10_000),
+                stream,
+                Clock.systemUTC()
+        );
+        Map<UUID, TransferState> database = new ConcurrentHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            database.put(UUID.randomUUID(), TransferState.REQUESTED);
+        }
+        List<UUID> ids = List.copyOf(database.keySet());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> pollers = new ArrayList<>();
+            for (int t = 0; t < 6; t++) {
+                pollers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        for (UUID id : ids) {
+                            cache.get(id, () -> new TransferStatus(id, database.get(id), Instant.now()));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                start.await();
+                for (TransferState state : PATH.subList(1, PATH.size())) {
+                    for (UUID id : ids) {
+                        database.put(id, state);
+                        cache.update(id, state, Instant.now());
+                    }
+                }
+                return null;
+            });
+
+            start.countDown();
+            writer.get(30, TimeUnit.SECONDS);
+            writing.set(false);
+            for (Future<?> poller : pollers) {
+                poller.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (UUID id : ids) {
+            assertThat(cache.get(id, () -> {
+                throw new AssertionError("stale status replaced the completed one");
+            }).state()).isEqualTo(TransferState.COMPLETED);
+        }
+        assertThat(cache.misses()).isPositive();
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        cache = new TransferStatusCache(
+                new TransferStatusCacheProperties(false, Duration.ofSeconds(5), Duration.ofMinutes(10), 10),
+                stream,
+                clock
+        );
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.update(id, TransferState.COMPLETED, Instant.now());
+        cache.get(id, () -> {
+            loads.incrementAndGet();
+            return status(id, TransferState.COMPLETED);
+        });
+        cache.get(id, () -> {
+            loads.incrementAndGet();
+            return status(id, TransferState.COMPLETED);
+        });
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+        verify(stream).publish(argThat(status ->
+                status.transferId().equals(id) && status.state() == TransferState.COMPLETED));
+    }
+}
@@ -0,0 +1,171 @@
+package com.company.orchestrator.domain.status;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.domain.model.TransferStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TransferStatusStreamTest {
+
+    private ExecutorService dispatcher;
+    private TransferStatusStream stream;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = Executors.newCachedThreadPool();
+        stream = new TransferStatusStream(dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdownNow();
+    }
+
+    private static TransferStatus status(UUID id, TransferState state) {
+        return new TransferStatus(id, state, Instant.now());
+    }
+
+    @Test
+    void fansOutToEverySubscriberAndCompletesWhenAllTransfersFinished() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        RecordingSink both = new RecordingSink();
+        RecordingSink onlyFirst = new RecordingSink();
+        stream.subscribe(List.of(first, second), both);
+        stream.subscribe(List.of(first), onlyFirst);
+
+        stream.publish(status(first, TransferState.NEGOTIATED));
+        assertThat(both.next().state()).isEqualTo(TransferState.NEGOTIATED);
+        assertThat(onlyFirst.next().state()).isEqualTo(TransferState.NEGOTIATED);
+
+        stream.publish(status(first, TransferState.COMPLETED));
+        assertThat(onlyFirst.next().state()).isEqualTo(TransferState.COMPLETED);
+        assertThat(onlyFirst.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(both.next().state()).isEqualTo(TransferState.COMPLETED);
+        assertThat(both.completed.getCount()).isEqualTo(1);
+
+        stream.publish(status(second, TransferState.CANCELLED));
+        assertThat(both.next().transferId()).isEqualTo(second);
+        assertThat(both.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stream.size()).isZero();
+    }
+
+    @Test
+    void slowSubscriberSkipsIntermediateStatesInsteadOfBuffering() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink() {
+            @Override
+            public void send(TransferStatus status) throws IOException {
+                super.send(status);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stream.subscribe(List.of(id), sink);
+
+        stream.publish(status(id, TransferState.REQUESTED));
+        assertThat(sink.next().state()).isEqualTo(TransferState.REQUESTED);
+        for (TransferState state : List.of(TransferState.POLICY_EVALUATION, TransferState.APPROVED,
+                TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED,
+                TransferState.TRANSFER_IN_PROGRESS, TransferState.COMPLETED)) {
+            stream.publish(status(id, state));
+        }
+        release.countDown();
+
+        assertThat(sink.next().state()).isEqualTo(TransferState.COMPLETED);
+        assertThat(sink.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sink.received).isEmpty();
+    }
+
+    @Test
+    void ignoresStatusesOlderThanOneAlreadyOffered() throws Exception {
+        UUID id = UUID.randomUUID();
+        RecordingSink sink = new RecordingSink();
+        var subscription = stream.subscribe(List.of(id), sink);
+
+        stream.publish(status(id, TransferState.NEGOTIATED));
+        assertThat(sink.next().state()).isEqualTo(TransferState.NEGOTIATED);
+        // e.g. the current status read while subscribing
+        subscription.offer(status(id, TransferState.REQUESTED));
+        subscription.offer(status(id, TransferState.NEGOTIATED));
+        stream.publish(status(id, TransferState.FAILED));
+
+        assertThat(sink.next().state()).isEqualTo(TransferState.FAILED);
+        assertThat(sink.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sink.received).isEmpty();
+    }
+
+    @Test
+    void cancelledOrFailingSubscriptionsAreRemoved() throws Exception {
+        UUID id = UUID.randomUUID();
+        RecordingSink cancelled = new RecordingSink();
+        stream.subscribe(List.of(id), cancelled).cancel();
+        CountDownLatch failed = new CountDownLatch(1);
+        stream.subscribe(Set.of(id), new TransferStatusStream.Sink() {
+            @Override
+            public void send(TransferStatus status) throws IOException {
+                failed.countDown();
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void complete() {
+            }
+        });
+
+        stream.publish(status(id, TransferState.NEGOTIATED));
+
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitNoSubscriptions();
+        assertThat(cancelled.received).isEmpty();
+    }
+
+    private void awaitNoSubscriptions() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stream.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.size()).isZero();
+    }
+
+    private static class RecordingSink implements TransferStatusStream.Sink {
+
+        final BlockingQueue<TransferStatus> received = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(TransferStatus status) throws IOException {
+            received.add(status);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        TransferStatus next() throws InterruptedException {
+            TransferStatus status = received.poll(5, TimeUnit.SECONDS);
+            assertThat(status).as("status delivered").isNotNull();
+            return status;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingEdcConnectorClientTest {
+
+    private static final ContractNegotiationRequest REQUEST =
+            new ContractNegotiationRequest("consumer", "provider", "DATA");
+
+    private EdcConnectorClient delegate;
+    private MutableClock clock;
+    private CachingEdcConnectorClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(EdcConnectorClient.class);
+        clock = new MutableClock();
+        client = new CachingEdcConnectorClient(delegate, Duration.ofMinutes(5), 2, clock);
+    }
+
+    @Test
+    void reusesAgreementForSameTriple() {
+        when(delegate.negotiateContract(REQUEST))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+
+        ContractNegotiationResult first = client.negotiateContract(REQUEST);
+        ContractNegotiationResult second = client.negotiateContract(REQUEST);
+
+        assertThat(second.contractAgreementId()).isEqualTo("agreement-1");
+        assertThat(second).isEqualTo(first);
+        verify(delegate, times(1)).negotiateContract(REQUEST);
+        assertThat(client.hits()).isEqualTo(1);
+        assertThat(client.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void renegotiatesAfterTtl() {
+        when(delegate.negotiateContract(REQUEST))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"))
+                .thenReturn(ContractNegotiationResult.ok("agreement-2"));
+
+        client.negotiateContract(REQUEST);
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThat(client.negotiateContract(REQUEST).contractAgreementId())
+                .isEqualTo("agreement-2");
+        assertThat(client.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheFailedNegotiation() {
+        when(delegate.negotiateContract(REQUEST))
+                .thenReturn(ContractNegotiationResult.failure("rejected"))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+
+        assertThat(client.negotiateContract(REQUEST).success()).isFalse();
+        assertThat(client.negotiateContract(REQUEST).success()).isTrue();
+        verify(delegate, times(2)).negotiateContract(REQUEST);
+    }
+
+    @Test
+    void failedTransferInvalidatesAgreement() {
+        when(delegate.negotiateContract(REQUEST))
+                .thenReturn(ContractNegotiationResult.ok("agreement-1"));
+        when(delegate.initiateTransfer(any()))
+                .thenReturn(DataTransferResult.failure("agreement revoked"));
+
+        client.negotiateContract(REQUEST);
+        client.initiateTransfer(new DataTransferRequest("agreement-1", "src", "dst", "provider-1"));
+
+        assertThat(client.size()).isZero();
+        assertThat(client.invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsWhenFull() {
+        when(delegate.negotiateContract(any()))
+                .thenAnswer(inv -> ContractNegotiationResult.ok(
+                        ((ContractNegotiationRequest) inv.getArgument(0)).dataType()));
+
+        client.negotiateContract(new ContractNegotiationRequest("c", "p", "A"));
+        clock.advance(Duration.ofSeconds(1));
+        client.negotiateContract(new ContractNegotiationRequest("c", "p", "B"));
+        clock.advance(Duration.ofSeconds(1));
+        client.negotiateContract(new ContractNegotiationRequest("c", "p", "C"));
+
+        assertThat(client.size()).isEqualTo(2);
+        assertThat(client.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMissesShareOneNegotiation() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.negotiateContract(REQUEST)).thenAnswer(inv -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ContractNegotiationResult.ok("agreement-1");
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ContractNegotiationResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> client.negotiateContract(REQUEST)));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> client.negotiateContract(REQUEST)));
+            }
+            while (client.coalesced() + client.hits() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<ContractNegotiationResult> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).contractAgreementId())
+                        .isEqualTo("agreement-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(delegate, times(1)).negotiateContract(REQUEST);
+        assertThat(client.misses()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,163 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.CircuitBreaker;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Limiter;
+import com.company.orchestrator.infrastructure.edc.GuardedEdcConnectorClient.Circuit;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.support.MutableClock;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GuardedEdcConnectorClientTest {
+
+    private static final ContractNegotiationRequest PROVIDER_A =
+            new ContractNegotiationRequest("consumer", "provider-a", "DATA");
+    private static final ContractNegotiationRequest PROVIDER_B =
+            new ContractNegotiationRequest("consumer", "provider-b", "DATA");
+
+    private EdcConnectorClient delegate;
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private GuardedEdcConnectorClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(EdcConnectorClient.class);
+        clock = new MutableClock();
+        registry = new SimpleMeterRegistry();
+        client = client(4);
+    }
+
+    private GuardedEdcConnectorClient client(int initialLimit) {
+        return new GuardedEdcConnectorClient(
+                delegate,
+                new Limiter(true, initialLimit, 1, 8, Duration.ofSeconds(1), 0.5, 1, Duration.ofMillis(100)),
+                new CircuitBreaker(true, 4, 4, 0.5, Duration.ofSeconds(30), 2),
+                registry,
+                clock
+        );
+    }
+
+    private double gauge(String name, String provider) {
+        return registry.get(name).tag("provider", provider).gauge().value();
+    }
+
+    /**
+     * For polling from the test thread: the gauge is only registered once a
+     * call for the provider has started, so a missing gauge means not yet.
+     */
+    private boolean gaugeIs(String name, String provider, double expected) {
+        Gauge gauge = registry.find(name).tag("provider", provider).gauge();
+        return gauge != null && gauge.value() == expected;
+    }
+
+    @Test
+    void limitBacksOffOnSlowCallsAndGrowsWhileInUse() {
+        when(delegate.negotiateContract(PROVIDER_A)).thenAnswer(inv -> {
+            clock.advance(Duration.ofSeconds(2));
+            return ContractNegotiationResult.ok("agreement-1");
+        });
+        client.negotiateContract(PROVIDER_A);
+        client.negotiateContract(PROVIDER_A);
+        assertThat(client.limit("provider-a")).isEqualTo(1);
+
+        when(delegate.negotiateContract(PROVIDER_A)).thenReturn(ContractNegotiationResult.ok("agreement-1"));
+        for (int i = 0; i < 10; i++) {
+            client.negotiateContract(PROVIDER_A);
+        }
+        // one call at a time keeps at least half of a limit of 2, but not of 3
+        assertThat(client.limit("provider-a")).isEqualTo(3);
+        assertThat(gauge("edc.limiter.limit", "provider-a")).isEqualTo(3);
+    }
+
+    @Test
+    void queuesBrieflyThenRejectsCallsBeyondTheLimit() throws Exception {
+        client = client(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.initiateTransfer(any())).thenAnswer(inv -> {
+            release.await();
+            return DataTransferResult.ok("process-1");
+        });
+        DataTransferRequest request = new DataTransferRequest("agreement-1", "src", "dst", "provider-a");
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<DataTransferResult> first = executor.submit(() -> client.initiateTransfer(request));
+            Future<DataTransferResult> second = executor.submit(() -> client.initiateTransfer(request));
+            await(() -> gaugeIs("edc.limiter.in.flight", "provider-a", 2));
+            Future<DataTransferResult> queued = executor.submit(() -> client.initiateTransfer(request));
+            await(() -> gaugeIs("edc.limiter.queued", "provider-a", 1));
+
+            DataTransferResult rejected = client.initiateTransfer(request);
+
+            assertThat(rejected.success()).isFalse();
+            assertThat(rejected.errorMessage()).isEqualTo("EDC provider provider-a is overloaded: 2 calls in flight");
+            assertThat(queued.get(5, TimeUnit.SECONDS).success()).isFalse();
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).success()).isTrue();
+            assertThat(second.get(5, TimeUnit.SECONDS).success()).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(delegate, times(2)).initiateTransfer(any());
+        assertThat(registry.get("edc.calls.rejected").tags("provider", "provider-a", "reason", "limit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void circuitOpensPerProviderAndClosesAfterSuccessfulProbes() {
+        when(delegate.negotiateContract(PROVIDER_A)).thenReturn(ContractNegotiationResult.failure("connector down"));
+        when(delegate.negotiateContract(PROVIDER_B)).thenReturn(ContractNegotiationResult.ok("agreement-b"));
+        client.negotiateContract(PROVIDER_A);
+        client.negotiateContract(PROVIDER_A);
+        client.negotiateContract(PROVIDER_B);
+        client.negotiateContract(PROVIDER_A);
+        client.negotiateContract(PROVIDER_A);
+
+        assertThat(client.circuitState("provider-a")).isEqualTo(Circuit.State.OPEN);
+        assertThat(client.negotiateContract(PROVIDER_A).errorMessage())
+                .isEqualTo("EDC provider provider-a is unavailable: circuit open");
+        assertThat(client.negotiateContract(PROVIDER_B).success()).isTrue();
+        verify(delegate, times(4)).negotiateContract(PROVIDER_A);
+        assertThat(gauge("edc.circuit.state", "provider-a")).isEqualTo(2);
+
+        clock.advance(Duration.ofSeconds(31));
+        client.negotiateContract(PROVIDER_A);
+        assertThat(client.circuitState("provider-a")).isEqualTo(Circuit.State.OPEN);
+
+        clock.advance(Duration.ofSeconds(31));
+        when(delegate.negotiateContract(PROVIDER_A)).thenReturn(ContractNegotiationResult.ok("agreement-a"));
+        client.negotiateContract(PROVIDER_A);
+        assertThat(client.circuitState("provider-a")).isEqualTo(Circuit.State.HALF_OPEN);
+        client.negotiateContract(PROVIDER_A);
+
+        assertThat(client.circuitState("provider-a")).isEqualTo(Circuit.State.CLOSED);
+        assertThat(registry.get("edc.circuit.opened").tag("provider", "provider-a")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,231 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Http;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HttpEdcConnectorClientTest {
+
+    private static final ContractNegotiationRequest NEGOTIATION =
+            new ContractNegotiationRequest("consumer", "provider", "DATA");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StubManagementApi edc;
+    private HttpEdcConnectorClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        edc = new StubManagementApi();
+        client = client(Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        edc.stop();
+    }
+
+    private HttpEdcConnectorClient client(Duration requestTimeout) {
+        return new HttpEdcConnectorClient(
+                new Http(
+                        URI.create("http://localhost:" + edc.port() + "/management/"),
+                        "secret",
+                        "http://provider/protocol",
+                        "dataspace-protocol-http",
+                        Duration.ofSeconds(1),
+                        requestTimeout,
+                        Duration.ofSeconds(2),
+                        Duration.ofMillis(10)
+                ),
+                objectMapper
+        );
+    }
+
+    @Test
+    void pollsNegotiationUntilFinalized() {
+        ContractNegotiationResult result = client.negotiateContract(NEGOTIATION);
+
+        assertThat(result).isEqualTo(ContractNegotiationResult.ok("agreement-neg-1"));
+        JsonNode request = edc.requests.get("POST /management/v3/contractnegotiations");
+        assertThat(request.path("counterPartyId").asText()).isEqualTo("provider");
+        assertThat(request.path("policy").path("target").asText()).isEqualTo("DATA");
+        assertThat(edc.polls.get("neg-1")).hasValue(3);
+        assertThat(edc.apiKeys).containsOnly("secret");
+    }
+
+    @Test
+    void reportsTerminatedNegotiationsAndErrorResponsesAsFailures() {
+        edc.terminateNegotiations = true;
+        assertThat(client.negotiateContract(NEGOTIATION).errorMessage())
+                .isEqualTo("EDC negotiation neg-1 terminated: policy rejected");
+
+        edc.failTransfers = true;
+        DataTransferResult transfer = client.initiateTransfer(
+                new DataTransferRequest("agreement-neg-1", "source", "http://sink", "provider"));
+        assertThat(transfer.success()).isFalse();
+        assertThat(transfer.errorMessage())
+                .isEqualTo("EDC returned 500 for POST /management/v3/transferprocesses: connector down");
+    }
+
+    @Test
+    void startsQueriesAndTerminatesTransferProcesses() {
+        DataTransferResult transfer = client.initiateTransfer(
+                new DataTransferRequest("agreement-neg-1", "source", "http://sink", "provider"));
+
+        assertThat(transfer).isEqualTo(DataTransferResult.ok("process-1"));
+        JsonNode request = edc.requests.get("POST /management/v3/transferprocesses");
+        assertThat(request.path("contractId").asText()).isEqualTo("agreement-neg-1");
+        assertThat(request.path("dataDestination").path("baseUrl").asText()).isEqualTo("http://sink");
+        assertThat(client.getTransferState("process-1")).isEqualTo(TransferState.TRANSFER_IN_PROGRESS);
+        assertThat(client.getTransferState("process-1")).isEqualTo(TransferState.COMPLETED);
+
+        client.terminateTransfer("process-1");
+        assertThat(edc.requests).containsKey("POST /management/v3/transferprocesses/process-1/terminate");
+        assertThatThrownBy(() -> client.getTransferState("unknown"))
+                .isInstanceOf(EdcClientException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void failsCallsThatExceedTheRequestTimeout() {
+        client.shutdown();
+        client = client(Duration.ofMillis(100));
+        edc.delay = Duration.ofMillis(500);
+
+        assertThat(client.negotiateContract(NEGOTIATION).errorMessage())
+                .isEqualTo("EDC negotiation timed out after PT0.1S");
+    }
+
+    @Test
+    void runsConcurrentNegotiationsWithoutBlockingCallers() {
+        List<CompletableFuture<ContractNegotiationResult>> negotiations = IntStream.range(0, 50)
+                .mapToObj(i -> client.negotiateContractAsync(NEGOTIATION))
+                .toList();
+
+        assertThat(CompletableFuture.allOf(negotiations.toArray(CompletableFuture[]::new)))
+                .succeedsWithin(Duration.ofSeconds(10));
+        assertThat(negotiations)
+                .extracting(CompletableFuture::join)
+                .allMatch(ContractNegotiationResult::success)
+                .extracting(ContractNegotiationResult::contractAgreementId)
+                .doesNotHaveDuplicates();
+    }
+
+    /**
+     * Mimics the EDC management API: negotiations are finalized on their
+     * third poll, transfer processes complete on their second.
+     */
+    private class StubManagementApi {
+
+        final Map<String, JsonNode> requests = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> polls = new ConcurrentHashMap<>();
+        final List<String> apiKeys = new CopyOnWriteArrayList<>();
+        private final AtomicInteger ids = new AtomicInteger();
+        private final HttpServer server;
+
+        volatile boolean terminateNegotiations;
+        volatile boolean failTransfers;
+        volatile Duration delay = Duration.ZERO;
+
+        StubManagementApi() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/management/v3/", this::handle);
+            server.start();
+        }
+
+        int port() {
+            return server.getAddress().getPort();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                Thread.sleep(delay);
+                String method = exchange.getRequestMethod();
+                String path = exchange.getRequestURI().getPath();
+                apiKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("X-Api-Key")));
+                if (method.equals("POST")) {
+                    requests.put(method + " " + path, objectMapper.readTree(exchange.getRequestBody()));
+                }
+                String[] segments = path.substring("/management/v3/".length()).split("/");
+                switch (method + " " + segments[0] + (segments.length > 1 ? "/" : "")) {
+                    case "POST contractnegotiations" ->
+                            respond(exchange, 200, Map.of("@id", "neg-" + ids.incrementAndGet()));
+                    case "GET contractnegotiations/" -> pollNegotiation(exchange, segments[1]);
+                    case "POST transferprocesses" -> {
+                        if (failTransfers) {
+                            respond(exchange, 500, "connector down");
+                        } else {
+                            respond(exchange, 200, Map.of("@id", "process-" + ids.incrementAndGet()));
+                        }
+                    }
+                    case "GET transferprocesses/" -> pollTransfer(exchange, segments[1]);
+                    case "POST transferprocesses/" -> exchange.sendResponseHeaders(204, -1);
+                    default -> respond(exchange, 404, "not found");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void pollNegotiation(HttpExchange exchange, String id) throws IOException {
+            int poll = polls.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+            if (terminateNegotiations) {
+                respond(exchange, 200, Map.of("@id", id, "state", "TERMINATED", "errorDetail", "policy rejected"));
+            } else if (poll < 3) {
+                respond(exchange, 200, Map.of("@id", id, "state", "REQUESTED"));
+            } else {
+                respond(exchange, 200, Map.of("@id", id, "state", "FINALIZED",
+                        "contractAgreementId", "agreement-" + id));
+            }
+        }
+
+        private void pollTransfer(HttpExchange exchange, String id) throws IOException {
+            if (!id.startsWith("process-")) {
+                respond(exchange, 404, "unknown process " + id);
+                return;
+            }
+            int poll = polls.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+            respond(exchange, 200, Map.of("@id", id, "state", poll < 2 ? "STARTED" : "COMPLETED"));
+        }
+
+        private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+            byte[] bytes = body instanceof String text
+                    ? text.getBytes(StandardCharsets.UTF_8)
+                    : objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.orchestrator.infrastructure.edc;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Distribution;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Latency;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Operation;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.TransferProcess;
+import com.company.orchestrator.infrastructure.edc.EdcClientProperties.Simulation;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationRequest;
+import com.company.orchestrator.infrastructure.edc.dto.ContractNegotiationResult;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferRequest;
+import com.company.orchestrator.infrastructure.edc.dto.DataTransferResult;
+import com.company.orchestrator.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SimulatedEdcConnectorClientTest {
+
+    private static final ContractNegotiationRequest NEGOTIATION =
+            new ContractNegotiationRequest("consumer", "provider", "DATA");
+    private static final DataTransferRequest TRANSFER =
+            new DataTransferRequest("agreement", "asset", "destination", "provider");
+
+    private static Latency latency(Distribution distribution, Duration median) {
+        return new Latency(distribution, median, Duration.ZERO, Duration.ofMinutes(1), 0.5, 1.5);
+    }
+
+    private static Simulation simulation(long seed, Operation negotiation, Operation transfer, TransferProcess process) {
+        return new Simulation(seed, negotiation, transfer, process);
+    }
+
+    private static Operation operation(Latency latency, double failureRate, Duration timeout) {
+        return new Operation(latency, failureRate, timeout);
+    }
+
+    private static Simulation flaky(long seed) {
+        Operation operation = operation(latency(Distribution.LOG_NORMAL, Duration.ofMillis(40)), 0.2,
+                Duration.ofMillis(100));
+        return simulation(seed, operation, operation,
+                new TransferProcess(latency(Distribution.UNIFORM, Duration.ZERO), 0.1, Duration.ofMinutes(10)));
+    }
+
+    private record Run(List<Duration> sleeps, List<String> outcomes) {}
+
+    private static Run run(Simulation simulation, int calls) {
+        List<Duration> sleeps = new ArrayList<>();
+        MutableClock clock = new MutableClock();
+        var client = new SimulatedEdcConnectorClient(simulation, clock, sleeps::add);
+        List<String> outcomes = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            ContractNegotiationResult negotiation = client.negotiateContract(NEGOTIATION);
+            outcomes.add(negotiation.success() ? negotiation.contractAgreementId() : negotiation.errorMessage());
+            DataTransferResult transfer = client.initiateTransfer(TRANSFER);
+            outcomes.add(transfer.success() ? transfer.transferProcessId() : transfer.errorMessage());
+        }
+        return new Run(sleeps, outcomes);
+    }
+
+    @Test
+    void sameSeedReproducesLatenciesAndOutcomes() {
+        Run first = run(flaky(7), 500);
+        Run second = run(flaky(7), 500);
+        Run other = run(flaky(8), 500);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other.sleeps()).isNotEqualTo(first.sleeps());
+    }
+
+    @Test
+    void failsAndTimesOutAtConfiguredRates() {
+        Run run = run(flaky(11), 5_000);
+
+        long failures = run.outcomes().stream().filter(o -> o.endsWith("failure")).count();
+        long timeouts = run.outcomes().stream().filter(o -> o.contains("timed out")).count();
+        // log-normal with median 40ms and sigma 0.5 exceeds 100ms in ~3.4% of calls
+        assertThat(timeouts / 10_000.0).isBetween(0.02, 0.05);
+        assertThat(failures / (10_000.0 - timeouts)).isBetween(0.18, 0.22);
+        assertThat(run.sleeps()).allSatisfy(sleep -> assertThat(sleep).isLessThanOrEqualTo(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void samplesDistributionsAroundTheirMedian() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (Distribution distribution : Distribution.values()) {
+            Latency latency = new Latency(distribution, Duration.ofMillis(50), Duration.ZERO,
+                    Duration.ofMillis(100), 0.5, 1.5);
+            long[] samples = new long[20_001];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = SimulatedEdcConnectorClient.sample(latency, random).toNanos();
+            }
+            Arrays.sort(samples);
+            assertThat(Duration.ofNanos(samples[samples.length / 2]))
+                    .as(distribution.name())
+                    .isBetween(Duration.ofMillis(48), Duration.ofMillis(52));
+            assertThat(samples[0]).isGreaterThanOrEqualTo(0);
+            assertThat(samples[samples.length - 1]).isLessThanOrEqualTo(Duration.ofMillis(100).toNanos());
+        }
+    }
+
+    @Test
+    void longTailIsHeavierThanLogNormal() {
+        SplittableRandom random = new SplittableRandom(3);
+        Latency logNormal = latency(Distribution.LOG_NORMAL, Duration.ofMillis(50));
+        Latency longTail = latency(Distribution.LONG_TAIL, Duration.ofMillis(50));
+
+        assertThat(p999(longTail, random)).isGreaterThan(p999(logNormal, random).multipliedBy(5));
+    }
+
+    private static Duration p999(Latency latency, SplittableRandom random) {
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = SimulatedEdcConnectorClient.sample(latency, random).toNanos();
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[samples.length * 999 / 1000]);
+    }
+
+    @Test
+    void transferProcessesAdvanceOverTime() {
+        Operation instant = operation(latency(Distribution.FIXED, Duration.ZERO), 0, Duration.ofSeconds(1));
+        MutableClock clock = new MutableClock();
+        var client = new SimulatedEdcConnectorClient(
+                simulation(5, instant, instant, new TransferProcess(
+                        latency(Distribution.FIXED, Duration.ofSeconds(30)), 0, Duration.ofMinutes(10))),
+                clock,
+                duration -> {}
+        );
+
+        String running = client.initiateTransfer(TRANSFER).transferProcessId();
+        String terminated = client.initiateTransfer(TRANSFER).transferProcessId();
+        assertThat(client.getTransferState(running)).isEqualTo(TransferState.TRANSFER_IN_PROGRESS);
+
+        client.terminateTransfer(terminated);
+        clock.advance(Duration.ofSeconds(31));
+
+        assertThat(client.getTransferState(running)).isEqualTo(TransferState.COMPLETED);
+        assertThat(client.getTransferState(terminated)).isEqualTo(TransferState.CANCELLED);
+        assertThat(client.getTransferState("unknown")).isEqualTo(TransferState.FAILED);
+    }
+}
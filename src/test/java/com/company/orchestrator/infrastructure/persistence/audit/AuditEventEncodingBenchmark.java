@@ -0,0 +1,160 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.audit.AuditActor;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditCodes;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Row size and insert throughput of audit events as free text (before V11)
+ * versus typed columns. Both layouts get the same events, per transfer a
+ * request, an approval and six transitions, and have the primary key and
+ * the two indexes of {@code audit_events}.
+ * <p>
+ * Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=AuditEventEncodingBenchmark} (needs Docker).
+ */
+@Testcontainers
+class AuditEventEncodingBenchmark {
+
+    private static final int TRANSFERS = 50_000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final TransferState[] PATH = {
+            TransferState.REQUESTED, TransferState.POLICY_EVALUATION, TransferState.APPROVED,
+            TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED, TransferState.TRANSFER_IN_PROGRESS
+    };
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private record Event(
+            UUID id,
+            UUID transferId,
+            String action,
+            OffsetDateTime timestamp,
+            AuditActor actor,
+            TransferState from,
+            TransferState to,
+            String detail,
+            String metadata
+    ) {}
+
+    private record Layout(String table, String columns, String insertSql, int[] types,
+                          Function<Event, Object[]> values) {}
+
+    private static final Layout TEXT = new Layout(
+            "audit_events_text",
+            "actor VARCHAR(255) NOT NULL, metadata TEXT",
+            "INSERT INTO audit_events_text (id, transfer_id, action, timestamp, actor, metadata)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)",
+            new int[] {Types.OTHER, Types.OTHER, Types.VARCHAR, Types.TIMESTAMP_WITH_TIMEZONE,
+                    Types.VARCHAR, Types.VARCHAR},
+            e -> new Object[] {e.id(), e.transferId(), e.action(), e.timestamp(), e.actor().name(), e.metadata()}
+    );
+
+    private static final Layout TYPED = new Layout(
+            "audit_events_typed",
+            "actor SMALLINT NOT NULL, from_state SMALLINT, to_state SMALLINT, reason_id INTEGER, detail TEXT",
+            "INSERT INTO audit_events_typed"
+                    + " (id, transfer_id, action, timestamp, actor, from_state, to_state, reason_id, detail)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            new int[] {Types.OTHER, Types.OTHER, Types.VARCHAR, Types.TIMESTAMP_WITH_TIMEZONE,
+                    Types.SMALLINT, Types.SMALLINT, Types.SMALLINT, Types.INTEGER, Types.VARCHAR},
+            e -> new Object[] {e.id(), e.transferId(), e.action(), e.timestamp(), AuditCodes.code(e.actor()),
+                    AuditCodes.code(e.from()), AuditCodes.code(e.to()), null, e.detail()}
+    );
+
+    @Test
+    void compareTextAndTypedColumns() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                POSTGRES.getUsername(), POSTGRES.getPassword()));
+        List<Event> events = events();
+
+        for (Layout layout : List.of(TEXT, TYPED)) {
+            create(jdbcTemplate, layout);
+            insert(jdbcTemplate, layout, events.subList(0, events.size() / 10));
+            jdbcTemplate.execute("TRUNCATE " + layout.table());
+        }
+        for (Layout layout : List.of(TEXT, TYPED)) {
+            long nanos = insert(jdbcTemplate, layout, events);
+            jdbcTemplate.execute("VACUUM ANALYZE " + layout.table());
+            report(jdbcTemplate, layout, events.size(), nanos);
+        }
+    }
+
+    private static List<Event> events() {
+        List<Event> events = new ArrayList<>(TRANSFERS * 8);
+        Instant time = Instant.parse("2025-06-01T00:00:00Z");
+        for (int t = 0; t < TRANSFERS; t++) {
+            UUID transferId = UUID.randomUUID();
+            String consumer = "consumer-" + t % 100;
+            events.add(new Event(UUID.randomUUID(), transferId, "TRANSFER_REQUESTED", utc(time),
+                    AuditActor.API, null, null, consumer, "Consumer=" + consumer));
+            events.add(new Event(UUID.randomUUID(), transferId, "POLICY_EVALUATED", utc(time),
+                    AuditActor.POLICY_ENGINE, null, TransferState.APPROVED, null, "APPROVED"));
+            for (int s = 0; s + 1 < PATH.length; s++) {
+                events.add(transition(transferId, time, PATH[s], PATH[s + 1]));
+            }
+            events.add(transition(transferId, time, TransferState.TRANSFER_IN_PROGRESS, TransferState.COMPLETED));
+            time = time.plusMillis(100);
+        }
+        return events;
+    }
+
+    private static Event transition(UUID transferId, Instant time, TransferState from, TransferState to) {
+        return new Event(UUID.randomUUID(), transferId, "STATE_TRANSITION", utc(time),
+                AuditActor.ORCHESTRATOR, from, to, null, from + " -> " + to);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static void create(JdbcTemplate jdbcTemplate, Layout layout) {
+        jdbcTemplate.execute("CREATE TABLE " + layout.table() + " ("
+                + "id UUID NOT NULL, transfer_id UUID NOT NULL, action VARCHAR(255) NOT NULL,"
+                + " timestamp TIMESTAMPTZ NOT NULL, " + layout.columns() + ", PRIMARY KEY (id, timestamp))");
+        jdbcTemplate.execute("CREATE INDEX ON " + layout.table() + " (transfer_id, timestamp)");
+        jdbcTemplate.execute("CREATE INDEX ON " + layout.table() + " (timestamp, action)");
+    }
+
+    private static long insert(JdbcTemplate jdbcTemplate, Layout layout, List<Event> events) {
+        long started = System.nanoTime();
+        for (int i = 0; i < events.size(); i += BATCH_SIZE) {
+            List<Object[]> rows = events.subList(i, Math.min(i + BATCH_SIZE, events.size())).stream()
+                    .map(layout.values())
+                    .toList();
+            jdbcTemplate.batchUpdate(layout.insertSql(), rows, layout.types());
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static void report(JdbcTemplate jdbcTemplate, Layout layout, int events, long nanos) {
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + layout.table(), Long.class))
+                .isEqualTo(events);
+        Double rowBytes = jdbcTemplate.queryForObject(
+                "SELECT avg(pg_column_size(t.*)) FROM " + layout.table() + " t", Double.class);
+        Long tableBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_table_size(?::regclass)", Long.class, layout.table());
+        System.out.printf("%-20s %,10.0f events/s  %5.1f bytes/row  %,6d KiB heap  (%,d events in %d ms)%n",
+                layout.table(), events / (nanos / 1e9), rowBytes, tableBytes / 1024, events, nanos / 1_000_000);
+    }
+}
@@ -0,0 +1,133 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.api.dto.AuditEventRecord;
+import com.company.orchestrator.domain.exception.InvalidCursorException;
+import com.company.orchestrator.infrastructure.persistence.id.UuidV7;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orchestrator.audit.rollup.enabled=false",
+        "orchestrator.audit.export.chunk-size=3",
+        "orchestrator.audit.export.fetch-size=2"
+})
+class AuditEventExporterTest extends PostgresIntegrationTest {
+
+    private static final Instant CREATED = Instant.parse("2025-03-31T23:59:00Z");
+
+    @Autowired
+    private AuditEventExporter exporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID transfer;
+    private UUID other;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM transfers");
+        transfer = insertTransfer();
+        other = insertTransfer();
+        // pairs of events share a timestamp, so chunks end between equal timestamps
+        for (int i = 0; i < 10; i++) {
+            insertEvent(transfer, CREATED.plusSeconds(30L * (i / 2)));
+            insertEvent(other, CREATED.plusSeconds(30L * i + 1));
+        }
+    }
+
+    private UUID insertTransfer() {
+        return insertTransfer(UUID.randomUUID(), CREATED);
+    }
+
+    private UUID insertTransfer(UUID id, Instant created) {
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, created_at, updated_at)
+                VALUES (?, 'consumer', 'provider', 'DATA', 'COMPLETED', ?, ?)
+                """, id, created.atOffset(ZoneOffset.UTC), created.atOffset(ZoneOffset.UTC));
+        return id;
+    }
+
+    private void insertEvent(UUID transferId, Instant timestamp) {
+        jdbcTemplate.update("""
+                INSERT INTO audit_events (id, transfer_id, action, timestamp, actor, from_state, to_state)
+                VALUES (?, ?, 'STATE_TRANSITION', ?, 3, 3, 5) -- ORCHESTRATOR, APPROVED -> CONTRACT_NEGOTIATION
+                """, UUID.randomUUID(), transferId, timestamp.atOffset(ZoneOffset.UTC));
+    }
+
+    private List<AuditEventRecord> export(AuditEventExporter.Export export) throws IOException {
+        List<AuditEventRecord> events = new ArrayList<>();
+        export.writeTo(events::add);
+        return events;
+    }
+
+    private static final Comparator<AuditEventRecord> ORDER =
+            Comparator.comparing(AuditEventRecord::timestamp).thenComparing(AuditEventRecord::id);
+
+    @Test
+    void exportsTheTrailOfATransferAcrossChunksInOrder() throws IOException {
+        List<AuditEventRecord> events = export(exporter.transfer(transfer, null));
+
+        assertThat(events).hasSize(10)
+                .allMatch(event -> event.transferId().equals(transfer))
+                .allMatch(event -> event.metadata().equals("APPROVED -> CONTRACT_NEGOTIATION"))
+                .isSortedAccordingTo(ORDER)
+                .doesNotHaveDuplicates();
+
+        assertThat(export(exporter.transfer(transfer, events.get(3).id())))
+                .isEqualTo(events.subList(4, 10));
+        assertThat(export(exporter.transfer(UUID.randomUUID(), null))).isEmpty();
+    }
+
+    @Test
+    void exportsEventsStampedByAClockBehindTheTransfersOwn() throws IOException {
+        UUID legacy = insertTransfer();
+        insertEvent(legacy, CREATED.minusSeconds(90));
+        UUID id = UuidV7.next();
+        Instant created = UuidV7.timestamp(id);
+        insertTransfer(id, created.plusSeconds(60));
+        insertEvent(id, created.minusSeconds(90));
+
+        assertThat(export(exporter.transfer(legacy, null))).hasSize(1);
+        assertThat(export(exporter.transfer(id, null))).hasSize(1);
+    }
+
+    @Test
+    void exportsAHalfOpenWindowAndResumesWithinIt() throws IOException {
+        Instant from = CREATED.plusSeconds(30);
+        Instant to = CREATED.plusSeconds(150);
+
+        List<AuditEventRecord> events = export(exporter.between(from, to, null));
+
+        assertThat(events).hasSize(12)
+                .isSortedAccordingTo(ORDER)
+                .allMatch(event -> !event.timestamp().isBefore(from) && event.timestamp().isBefore(to));
+        assertThat(export(exporter.between(from, to, events.get(4).id())))
+                .isEqualTo(events.subList(5, 12));
+    }
+
+    @Test
+    void rejectsAnAfterEventOutsideTheExport() {
+        UUID otherEvent = jdbcTemplate.queryForObject(
+                "SELECT id FROM audit_events WHERE transfer_id = ? LIMIT 1", UUID.class, other);
+
+        assertThatThrownBy(() -> exporter.transfer(transfer, otherEvent))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> exporter.between(CREATED, CREATED.plusSeconds(1), UUID.randomUUID()))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
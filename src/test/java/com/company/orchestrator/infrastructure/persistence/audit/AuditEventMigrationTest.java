@@ -0,0 +1,129 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.AuditActor;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditCodes;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V11 on events stored as free text before it: every event reads back as
+ * the text it was written as.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class AuditEventMigrationTest {
+
+    private static final Instant START = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private record Legacy(String action, String actor, String metadata) {}
+
+    private static final List<Legacy> EVENTS = List.of(
+            new Legacy("TRANSFER_REQUESTED", "API", "Consumer=consumer-1"),
+            new Legacy("POLICY_EVALUATED", "POLICY_ENGINE", "APPROVED"),
+            new Legacy("POLICY_EVALUATED", "POLICY_ENGINE", "DENIED: Rate limit exceeded: max 5 requests/hour"),
+            new Legacy("POLICY_EVALUATED", "POLICY_ENGINE", "DENIED: Rate limit exceeded: max 5 requests/hour"),
+            new Legacy("STATE_TRANSITION", "ORCHESTRATOR", "REQUESTED -> POLICY_EVALUATION"),
+            new Legacy("STATE_TRANSITION", "ORCHESTRATOR", "REQUESTED -> SOMEWHERE"),
+            new Legacy("TRANSFER_FAILED", "ORCHESTRATOR", "TIMEOUT"),
+            new Legacy("TRANSFER_COMPLETED", "importer", null),
+            new Legacy("TRANSFER_REQUESTED", "API", "Requested by nightly sync")
+    );
+
+    private record Migrated(
+            AuditAction action,
+            AuditActor actor,
+            TransferState from,
+            TransferState to,
+            String reason,
+            String detail
+    ) {
+        String metadata() {
+            return AuditEventEntity.metadata(action, from, to, reason, detail);
+        }
+    }
+
+    @Test
+    void convertsFreeTextIntoTypedColumns() {
+        DataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate(dataSource, "10");
+
+        UUID transferId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, updated_at)
+                VALUES (?, 'consumer-1', 'provider', 'DATA', 'COMPLETED', now())
+                """, transferId);
+        for (int i = 0; i < EVENTS.size(); i++) {
+            Legacy event = EVENTS.get(i);
+            jdbcTemplate.update("""
+                    INSERT INTO audit_events (id, transfer_id, action, timestamp, actor, metadata)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """, UUID.randomUUID(), transferId, event.action(),
+                    START.plusSeconds(i).atOffset(ZoneOffset.UTC), event.actor(), event.metadata());
+        }
+
+        migrate(dataSource, "11");
+
+        List<Migrated> events = jdbcTemplate.query("""
+                SELECT e.action, e.actor, e.from_state, e.to_state, r.reason, e.detail
+                FROM audit_events e
+                LEFT JOIN audit_policy_reasons r ON r.id = e.reason_id
+                ORDER BY e.timestamp
+                """, (rs, row) -> new Migrated(
+                AuditAction.valueOf(rs.getString(1)),
+                AuditCodes.actor(rs.getShort(2)),
+                state(rs, 3),
+                state(rs, 4),
+                rs.getString(5),
+                rs.getString(6)));
+
+        assertThat(events.stream().map(Migrated::metadata))
+                .containsExactlyElementsOf(EVENTS.stream().map(Legacy::metadata).toList());
+        assertThat(events.stream().map(Migrated::actor)).containsExactly(
+                AuditActor.API, AuditActor.POLICY_ENGINE, AuditActor.POLICY_ENGINE, AuditActor.POLICY_ENGINE,
+                AuditActor.ORCHESTRATOR, AuditActor.ORCHESTRATOR, AuditActor.ORCHESTRATOR, AuditActor.SYSTEM,
+                AuditActor.API);
+        assertThat(events.get(0).detail()).isEqualTo("consumer-1");
+        assertThat(events.get(8).detail()).isEqualTo("Requested by nightly sync");
+        assertThat(events.get(2).detail()).isNull();
+        assertThat(events.get(4)).isEqualTo(new Migrated(AuditAction.STATE_TRANSITION, AuditActor.ORCHESTRATOR,
+                TransferState.REQUESTED, TransferState.POLICY_EVALUATION, null, null));
+        assertThat(events.get(5).from()).isNull();
+        assertThat(jdbcTemplate.queryForList("SELECT reason FROM audit_policy_reasons", String.class))
+                .containsExactly("Rate limit exceeded: max 5 requests/hour");
+    }
+
+    private static void migrate(DataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static TransferState state(ResultSet rs, int column) throws SQLException {
+        short code = rs.getShort(column);
+        return rs.wasNull() ? null : AuditCodes.state(code);
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * The writer thread against a mocked connection: SYNC callers only return
+ * normally once every one of their events is written.
+ */
+class AuditEventWriterTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private AuditEventWriter writer;
+
+    private AuditEventWriter writer(AuditWriterProperties.Durability durability, Duration syncTimeout)
+            throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        writer = new AuditEventWriter(dataSource, mock(JdbcTemplate.class),
+                mock(PlatformTransactionManager.class),
+                new AuditWriterProperties(true, durability, 64, 10, Duration.ofSeconds(1), syncTimeout));
+        return writer;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    private static AuditEventEntity event() {
+        return AuditEventEntity.stateTransition(
+                UUID.randomUUID(), TransferState.APPROVED, TransferState.COMPLETED);
+    }
+
+    @Test
+    void syncWriteReturnsOnceItsEventsAreCommitted() throws SQLException {
+        AuditEventWriter writer = writer(AuditWriterProperties.Durability.SYNC, Duration.ofSeconds(5));
+
+        writer.write(List.of(event(), event()));
+
+        verify(statement, atLeastOnce()).executeBatch();
+        verify(connection, atLeastOnce()).commit();
+    }
+
+    @Test
+    void syncWriteFailsWhenItsEventsAreDropped() throws SQLException {
+        when(statement.executeBatch()).thenThrow(new SQLException("constraint violated"));
+        AuditEventWriter writer = writer(AuditWriterProperties.Durability.SYNC, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> writer.write(List.of(event(), event())))
+                .isInstanceOf(AuditWriteException.class)
+                .hasMessageContaining("2 audit events could not be written");
+    }
+
+    @Test
+    void syncWriteFailsWhenNotFlushedInTime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(statement.executeBatch()).thenAnswer(invocation -> {
+            release.await();
+            return new int[] {1};
+        });
+        AuditEventWriter writer = writer(AuditWriterProperties.Durability.SYNC, Duration.ofMillis(50));
+
+        try {
+            assertThatThrownBy(() -> writer.write(List.of(event())))
+                    .isInstanceOf(AuditWriteException.class)
+                    .hasMessageContaining("not flushed");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void asyncWriteReturnsDespiteDrops() throws SQLException {
+        when(statement.executeBatch()).thenThrow(new SQLException("constraint violated"));
+        AuditEventWriter writer = writer(AuditWriterProperties.Durability.ASYNC, Duration.ofSeconds(5));
+
+        assertThatCode(() -> writer.write(List.of(event()))).doesNotThrowAnyException();
+    }
+}
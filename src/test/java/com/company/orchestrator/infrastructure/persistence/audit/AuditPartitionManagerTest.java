@@ -0,0 +1,139 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.infrastructure.persistence.audit.AuditPartitionProperties.ExpiredPartitionAction;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditEventRepository;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "orchestrator.audit.partitions.enabled=false",
+        "orchestrator.audit.rollup.enabled=false"
+})
+class AuditPartitionManagerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditEventRepository auditRepository;
+
+    private AuditPartitionManager manager(Instant now, int premakeMonths, Period retention,
+                                          ExpiredPartitionAction action) {
+        return new AuditPartitionManager(
+                jdbcTemplate,
+                new AuditPartitionProperties(false, Duration.ofHours(6), premakeMonths, retention, action),
+                Clock.fixed(now, ZoneOffset.UTC)
+        );
+    }
+
+    private void seed(YearMonth month, int events) {
+        UUID transferId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, updated_at)
+                VALUES (?, 'consumer', 'provider', 'DATA', 'COMPLETED', now())
+                """, transferId);
+        jdbcTemplate.update("""
+                INSERT INTO audit_events (id, transfer_id, action, timestamp, actor)
+                SELECT gen_random_uuid(), ?, 'STATE_TRANSITION',
+                       ?::timestamptz + n * interval '1 hour', 3 -- ORCHESTRATOR
+                FROM generate_series(0, ? - 1) AS n
+                """, transferId, month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC), events);
+    }
+
+    private boolean tableExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    @Test
+    void createsPartitionsAheadOfTheCurrentMonth() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC).plusMonths(5);
+
+        manager(current.atDay(10).atStartOfDay().toInstant(ZoneOffset.UTC), 2, null,
+                ExpiredPartitionAction.DETACH).createUpcomingPartitions();
+
+        assertThat(tableExists(AuditPartitionManager.partitionName(current))).isTrue();
+        assertThat(tableExists(AuditPartitionManager.partitionName(current.plusMonths(2)))).isTrue();
+        assertThat(tableExists(AuditPartitionManager.partitionName(current.plusMonths(3)))).isFalse();
+    }
+
+    @Test
+    void timeBoundedQueriesOnlyScanMatchingPartitions() {
+        YearMonth month = YearMonth.of(2019, 6);
+        manager(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC), 1, null,
+                ExpiredPartitionAction.DETACH).createUpcomingPartitions();
+        seed(month, 100);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN (COSTS OFF)
+                SELECT action, count(*) FROM audit_events
+                WHERE timestamp >= '2019-06-02 00:00:00+00' AND timestamp < '2019-06-03 00:00:00+00'
+                GROUP BY action
+                """, String.class));
+
+        assertThat(plan)
+                .contains("audit_events_y2019m06")
+                .doesNotContain("audit_events_y2019m07")
+                .doesNotContain("audit_events_default");
+    }
+
+    @Test
+    void findByTimestampBetweenReadsTheWindowFromItsPartition() {
+        YearMonth month = YearMonth.of(2019, 9);
+        manager(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC), 1, null,
+                ExpiredPartitionAction.DETACH).createUpcomingPartitions();
+        seed(month, 48);
+        Instant noon = month.atDay(1).atTime(12, 0).toInstant(ZoneOffset.UTC);
+
+        assertThat(auditRepository.findByTimestampBetween(noon, noon.plus(Duration.ofDays(1))))
+                .hasSize(25)
+                .allMatch(event -> !event.getTimestamp().isBefore(noon));
+    }
+
+    @Test
+    void expiresPartitionsOlderThanRetention() {
+        YearMonth dropped = YearMonth.of(2020, 1);
+        YearMonth detached = YearMonth.of(2020, 2);
+        manager(dropped.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC), 1, null,
+                ExpiredPartitionAction.DETACH).createUpcomingPartitions();
+        seed(dropped, 10);
+        seed(detached, 10);
+        String current = AuditPartitionManager.partitionName(YearMonth.now(ZoneOffset.UTC));
+
+        // 2020-01 ends before the cutoff, 2020-02 does not
+        Instant now = Instant.parse("2021-02-15T00:00:00Z");
+        List<String> expired = manager(now, 0, Period.ofYears(1), ExpiredPartitionAction.DROP)
+                .expirePartitions();
+
+        assertThat(expired).contains("audit_events_y2020m01").doesNotContain("audit_events_y2020m02");
+        assertThat(tableExists("audit_events_y2020m01")).isFalse();
+        assertThat(count("audit_events_y2020m02")).isEqualTo(10);
+
+        expired = manager(now.plus(Duration.ofDays(30)), 0, Period.ofYears(1), ExpiredPartitionAction.DETACH)
+                .expirePartitions();
+
+        assertThat(expired).contains("audit_events_y2020m02").doesNotContain(current);
+        assertThat(count("audit_events_y2020m02")).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM audit_events WHERE timestamp < '2020-03-01 00:00:00+00'", Long.class))
+                .isZero();
+        assertThat(tableExists(current)).isTrue();
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer<String>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void rejectsOffersWhenFullAndReusesDrainedSlots() {
+        AuditRingBuffer<String> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer("e" + i)).isEqualTo(i);
+        }
+        assertThat(buffer.offer("overflow")).isEqualTo(-1);
+
+        List<String> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly("e0", "e1", "e2");
+        assertThat(buffer.head()).isEqualTo(3);
+
+        assertThat(buffer.offer("e4")).isEqualTo(4);
+        drained.clear();
+        buffer.drainTo(drained, 10);
+        assertThat(drained).containsExactly("e3", "e4");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(256);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (long i = 0; i < perProducer; i++) {
+                    while (buffer.offer(base + i) < 0) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        Set<Long> seen = new HashSet<>();
+        long[] lastPerProducer = new long[producers];
+        Arrays.fill(lastPerProducer, -1);
+        List<Long> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            if (buffer.drainTo(batch, 100) == 0) {
+                Thread.yield();
+            }
+            for (long value : batch) {
+                assertThat(seen.add(value)).isTrue();
+                int producer = (int) (value / perProducer);
+                assertThat(value).isGreaterThan(lastPerProducer[producer]);
+                lastPerProducer[producer] = value;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(buffer.head()).isEqualTo((long) producers * perProducer);
+    }
+}
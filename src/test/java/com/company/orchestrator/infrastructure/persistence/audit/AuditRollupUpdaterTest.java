@@ -0,0 +1,142 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.audit.AuditAction;
+import com.company.orchestrator.audit.ComplianceReport;
+import com.company.orchestrator.domain.service.AuditService;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditEventRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditRollupRepository.Granularity;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "orchestrator.audit.rollup.enabled=false")
+class AuditRollupUpdaterTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AuditRollupRepository rollups;
+
+    @Autowired
+    private AuditEventRepository events;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AuditRollupUpdater updater(Instant now) {
+        return new AuditRollupUpdater(
+                rollups,
+                transactionManager,
+                new AuditRollupProperties(false, Duration.ofMinutes(1), Duration.ofMinutes(5), null, null),
+                Clock.fixed(now, ZoneOffset.UTC)
+        );
+    }
+
+    /** Inserts one event every {@code step} in [from, to), cycling through the actions. */
+    private void seed(Instant from, Instant to, Duration step) {
+        UUID transferId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, updated_at)
+                VALUES (?, 'consumer', 'provider', 'DATA', 'COMPLETED', now())
+                """, transferId);
+        jdbcTemplate.update("""
+                INSERT INTO audit_events (id, transfer_id, action, timestamp, actor)
+                SELECT gen_random_uuid(), ?,
+                       (ARRAY['TRANSFER_REQUESTED', 'POLICY_EVALUATED', 'STATE_TRANSITION',
+                              'TRANSFER_COMPLETED', 'TRANSFER_FAILED'])[1 + (n % 5)::int],
+                       t, 3 -- ORCHESTRATOR
+                FROM generate_series(?::timestamptz, ?::timestamptz - interval '1 microsecond',
+                                     make_interval(secs => ?)) WITH ORDINALITY AS s(t, n)
+                """, transferId, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC),
+                step.toSeconds());
+    }
+
+    private Map<AuditAction, Long> raw(Instant from, Instant to) {
+        Map<AuditAction, Long> counts = new EnumMap<>(AuditAction.class);
+        events.countByActionBetween(from, to)
+                .forEach(row -> counts.put((AuditAction) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    @Test
+    void sealsClosedHoursAndDaysAndReportsMatchRawCounts() {
+        Instant sealed = rollups.sealedUntil(Granularity.HOUR).orElseThrow();
+        Instant seedEnd = sealed.plus(Duration.ofDays(2)).plus(Duration.ofHours(3));
+        seed(sealed, seedEnd, Duration.ofSeconds(97));
+
+        updater(seedEnd.plus(Duration.ofMinutes(10))).sealClosedBuckets();
+
+        assertThat(rollups.sealedUntil(Granularity.HOUR)).contains(seedEnd.truncatedTo(ChronoUnit.HOURS));
+        assertThat(rollups.sealedUntil(Granularity.DAY)).contains(seedEnd.truncatedTo(ChronoUnit.DAYS));
+
+        Instant from = sealed.plus(Duration.ofMinutes(17));
+        for (Instant to : new Instant[] {
+                from.plus(Duration.ofMinutes(20)),
+                from.plus(Duration.ofHours(5)),
+                seedEnd.minus(Duration.ofMinutes(29)),
+                seedEnd.plus(Duration.ofHours(1))
+        }) {
+            ComplianceReport report = auditService.generateComplianceReport(from, to);
+            assertThat(report.actionCounts()).as("window [%s, %s]", from, to)
+                    .isEqualTo(raw(from, to));
+        }
+    }
+
+    @Test
+    void countsEventsInsertedIntoAnHourAfterItWasSealed() {
+        Instant sealed = rollups.sealedUntil(Granularity.HOUR).orElseThrow();
+        Instant seedEnd = sealed.plus(Duration.ofHours(3));
+        seed(sealed, seedEnd, Duration.ofSeconds(97));
+        AuditRollupUpdater updater = updater(seedEnd.plus(Duration.ofMinutes(10)));
+        updater.sealClosedBuckets();
+
+        // e.g. flushed late by the audit writer, long after the grace period
+        seed(sealed.plus(Duration.ofMinutes(30)), sealed.plus(Duration.ofMinutes(90)), Duration.ofSeconds(13));
+        Instant from = sealed;
+        Instant to = seedEnd;
+        assertThat(auditService.generateComplianceReport(from, to).actionCounts())
+                .isNotEqualTo(raw(from, to));
+
+        updater.sealClosedBuckets();
+
+        assertThat(auditService.generateComplianceReport(from, to).actionCounts())
+                .isEqualTo(raw(from, to));
+        assertThat(rollups.takeStaleHours()).isEmpty();
+    }
+
+    @Test
+    void backfillRecomputesSealedBuckets() {
+        Instant sealed = rollups.sealedUntil(Granularity.HOUR).orElseThrow();
+        Instant start = sealed.minus(Duration.ofDays(3)).truncatedTo(ChronoUnit.DAYS);
+        seed(start, start.plus(Duration.ofDays(2)), Duration.ofSeconds(61));
+
+        Instant from = start.plus(Duration.ofMinutes(1));
+        Instant to = start.plus(Duration.ofDays(2));
+        assertThat(auditService.generateComplianceReport(from, to).actionCounts())
+                .isNotEqualTo(raw(from, to));
+
+        updater(Instant.now()).backfill(start, null);
+
+        assertThat(auditService.generateComplianceReport(from, to).actionCounts())
+                .isEqualTo(raw(from, to));
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.orchestrator.infrastructure.persistence.audit;
+
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.AuditEventEntity;
+import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
+import com.company.orchestrator.infrastructure.persistence.repository.AuditEventRepository;
+import com.company.orchestrator.infrastructure.persistence.repository.TransferRepository;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Audit insert throughput: one JPA save per event inside the business
+ * transaction versus the batching writer in both durability modes. Each
+ * simulated transfer writes six events in one transaction, as a
+ * successful synchronous transfer does.
+ * <p>
+ * Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=AuditWriterBenchmark} (needs Docker).
+ */
+@SpringBootTest
+class AuditWriterBenchmark extends PostgresIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS = 5_000;
+    private static final int EVENTS_PER_TRANSFER = 6;
+
+    @DynamicPropertySource
+    static void pool(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+    }
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private AuditEventRepository auditRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareInsertThroughput() throws Exception {
+        List<UUID> transfers = transferRepository.saveAll(
+                IntStream.range(0, TRANSFERS)
+                        .mapToObj(i -> new TransferEntity("consumer", "provider", "DATA"))
+                        .toList()
+        ).stream().map(TransferEntity::getId).toList();
+
+        run(transfers, auditRepository::save);
+        jdbcTemplate.update("DELETE FROM audit_events");
+
+        report("jpa save per event", run(transfers, auditRepository::save));
+
+        for (AuditWriterProperties.Durability durability : AuditWriterProperties.Durability.values()) {
+            jdbcTemplate.update("DELETE FROM audit_events");
+            AuditEventWriter writer = new AuditEventWriter(
+                    dataSource,
+                    jdbcTemplate,
+                    transactionManager,
+                    new AuditWriterProperties(true, durability, 16_384, 500,
+                            Duration.ofSeconds(2), Duration.ofSeconds(5))
+            );
+            long started = System.nanoTime();
+            run(transfers, writer::append);
+            writer.shutdown();
+            report("batched writer " + durability, System.nanoTime() - started);
+        }
+    }
+
+    private long run(List<UUID> transfers, Consumer<AuditEventEntity> sink) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                for (int i = offset; i < transfers.size(); i += THREADS) {
+                    UUID transferId = transfers.get(i);
+                    tx.executeWithoutResult(status -> {
+                        for (int e = 0; e < EVENTS_PER_TRANSFER; e++) {
+                            sink.accept(AuditEventEntity.stateTransition(
+                                    transferId, TransferState.APPROVED, TransferState.CONTRACT_NEGOTIATION));
+                        }
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        return System.nanoTime() - started;
+    }
+
+    private void report(String name, long nanos) {
+        long events = (long) TRANSFERS * EVENTS_PER_TRANSFER;
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM audit_events", Long.class))
+                .isEqualTo(events);
+        System.out.printf("%-24s %,10.0f events/s  (%,d events in %d ms)%n",
+                name, events / (nanos / 1e9), events, nanos / 1_000_000);
+    }
+}
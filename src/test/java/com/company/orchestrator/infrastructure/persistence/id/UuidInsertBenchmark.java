@@ -0,0 +1,117 @@
+package com.company.orchestrator.infrastructure.persistence.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary key inserts with random v4 ids versus time-ordered v7 ids: insert
+ * latency per batch and the size of the resulting primary key index. The
+ * table mirrors the shape of {@code transfers}; {@code shared_buffers} is
+ * kept small so that the random key pattern has to go to disk, as it does
+ * once the production index outgrows memory.
+ * <p>
+ * Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=UuidInsertBenchmark} (needs Docker).
+ */
+@Testcontainers
+@SpringBootTest
+class UuidInsertBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int ROWS = 2_000_000;
+    private static final int BATCH = 1_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "shared_buffers=32MB");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws Exception {
+        run("warm-up", UUID::randomUUID);
+
+        run("uuid v4 (random)", UUID::randomUUID);
+        run("uuid v7 (time-ordered)", UuidV7::next);
+    }
+
+    private void run(String name, Supplier<UUID> ids) throws Exception {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_benchmark");
+        jdbcTemplate.execute("""
+                CREATE UNLOGGED TABLE uuid_benchmark (
+                    id UUID PRIMARY KEY,
+                    consumer_id VARCHAR(255) NOT NULL,
+                    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+                )
+                """);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                int batches = ROWS / BATCH / THREADS;
+                long[] latencies = new long[batches];
+                for (int b = 0; b < batches; b++) {
+                    List<Object[]> rows = new ArrayList<>(BATCH);
+                    for (int i = 0; i < BATCH; i++) {
+                        rows.add(new Object[] {ids.get(), "consumer"});
+                    }
+                    long batchStarted = System.nanoTime();
+                    jdbcTemplate.batchUpdate(
+                            "INSERT INTO uuid_benchmark (id, consumer_id) VALUES (?, ?)", rows);
+                    latencies[b] = System.nanoTime() - batchStarted;
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            for (long latency : future.get()) {
+                latencies.add(latency);
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        pool.shutdown();
+        latencies.sort(null);
+
+        long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM uuid_benchmark", Long.class);
+        assertThat(rows).isEqualTo((long) ROWS / BATCH / THREADS * BATCH * THREADS);
+        long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size('uuid_benchmark_pkey')", Long.class);
+
+        System.out.printf("%-24s %,10.0f rows/s  batch p50 %6.1f ms  p99 %6.1f ms  pkey %,6d MB%n",
+                name,
+                rows / (elapsed / 1e9),
+                latencies.get(latencies.size() / 2) / 1e6,
+                latencies.get(latencies.size() * 99 / 100) / 1e6,
+                indexBytes / (1024 * 1024));
+    }
+}
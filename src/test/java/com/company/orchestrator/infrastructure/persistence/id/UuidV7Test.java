@@ -0,0 +1,78 @@
+package com.company.orchestrator.infrastructure.persistence.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7Test {
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        Instant before = Instant.now();
+        UUID id = UuidV7.next();
+        Instant after = Instant.now();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // the counter may borrow a millisecond when it overflows
+        assertThat(UuidV7.timestamp(id))
+                .isBetween(before.minusMillis(1), after.plusMillis(1));
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingWithinAMillisecond() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.next();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentGenerationIsUniqueAndOrderedPerThread() throws Exception {
+        int threads = 4;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(UuidV7.next());
+                    if (i % 1_000 == 0) {
+                        Thread.yield();
+                    }
+                }
+                return ids;
+            }));
+        }
+
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            assertThat(ids).isSorted();
+            all.addAll(ids);
+        }
+        pool.shutdown();
+
+        assertThat(all).hasSize(threads * perThread);
+    }
+
+    @Test
+    void timestampRejectsOtherVersions() {
+        assertThatThrownBy(() -> UuidV7.timestamp(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
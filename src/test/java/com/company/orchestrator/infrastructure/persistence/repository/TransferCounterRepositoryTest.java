@@ -0,0 +1,120 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import com.company.orchestrator.infrastructure.persistence.repository.TransferCounterRepository.Dimension;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "orchestrator.analytics.counters.enabled=false",
+        "orchestrator.audit.rollup.enabled=false"
+})
+class TransferCounterRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TransferCounterRepository counters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM transfers");
+    }
+
+    private UUID insert(String dataType, String state) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, updated_at)
+                VALUES (?, 'consumer', 'provider', ?, ?, now())
+                """, id, dataType, state);
+        return id;
+    }
+
+    private Map<String, Long> counted() {
+        Map<String, Long> counts = new HashMap<>();
+        counters.sums().forEach(row -> counts.put(row[0] + ":" + row[1], (Long) row[2]));
+        return counts;
+    }
+
+    private Map<String, Long> actual() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT state, COUNT(*) FROM transfers GROUP BY state",
+                rs -> { counts.put(Dimension.STATE + ":" + rs.getString(1), rs.getLong(2)); });
+        jdbcTemplate.query("SELECT data_type, COUNT(*) FROM transfers GROUP BY data_type",
+                rs -> { counts.put(Dimension.DATA_TYPE + ":" + rs.getString(1), rs.getLong(2)); });
+        return counts;
+    }
+
+    @Test
+    void triggerTracksInsertsStateChangesAndDeletes() {
+        UUID first = insert("TYPE_A", "REQUESTED");
+        UUID second = insert("TYPE_A", "REQUESTED");
+        insert("TYPE_B", "COMPLETED");
+
+        jdbcTemplate.update("UPDATE transfers SET state = 'FAILED' WHERE id = ?", first);
+        jdbcTemplate.update("UPDATE transfers SET updated_at = now() WHERE id = ?", second);
+        jdbcTemplate.update("DELETE FROM transfers WHERE id = ?", second);
+
+        assertThat(counted())
+                .containsOnly(
+                        Map.entry("STATE:FAILED", 1L),
+                        Map.entry("STATE:COMPLETED", 1L),
+                        Map.entry("DATA_TYPE:TYPE_A", 1L),
+                        Map.entry("DATA_TYPE:TYPE_B", 1L))
+                .isEqualTo(actual());
+    }
+
+    @Test
+    void stateChangeDoesNotWriteTheDataTypeKey() {
+        UUID id = insert("TYPE_A", "REQUESTED");
+        List<String> before = dataTypeRowVersions();
+
+        jdbcTemplate.update("UPDATE transfers SET state = 'FAILED' WHERE id = ?", id);
+
+        assertThat(dataTypeRowVersions()).isEqualTo(before);
+        assertThat(counted()).isEqualTo(actual());
+    }
+
+    private List<String> dataTypeRowVersions() {
+        return jdbcTemplate.queryForList("""
+                SELECT stripe || ':' || xmin FROM transfer_counters
+                WHERE dimension = 'DATA_TYPE' ORDER BY stripe
+                """, String.class);
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        insert("TYPE_A", "COMPLETED");
+        insert("TYPE_A", "COMPLETED");
+        jdbcTemplate.update("UPDATE transfer_counters SET count = count + 5 WHERE key = 'COMPLETED'");
+        jdbcTemplate.update("""
+                INSERT INTO transfer_counters (dimension, key, stripe, count)
+                VALUES ('DATA_TYPE', 'GHOST', 3, 2)
+                ON CONFLICT DO NOTHING
+                """);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int corrected = tx.execute(status -> counters.reconcile());
+
+        assertThat(corrected).isEqualTo(2);
+        assertThat(counted()).isEqualTo(actual());
+        int again = tx.execute(status -> counters.reconcile());
+        assertThat(again).isZero();
+    }
+}
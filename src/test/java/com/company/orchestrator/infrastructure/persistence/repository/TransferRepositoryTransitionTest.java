@@ -0,0 +1,132 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import com.company.orchestrator.domain.analytics.TransferCounters;
+import com.company.orchestrator.domain.exception.IllegalStateTransitionException;
+import com.company.orchestrator.domain.model.TransferState;
+import com.company.orchestrator.infrastructure.persistence.entity.TransferEntity;
+import com.company.orchestrator.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "orchestrator.analytics.counters.refresh-interval=1h",
+        "orchestrator.audit.rollup.enabled=false"
+})
+class TransferRepositoryTransitionTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TransferRepository repository;
+
+    @Autowired
+    private TransferCounters counters;
+
+    @BeforeEach
+    void cleanup() {
+        repository.deleteAll();
+    }
+
+    private TransferEntity insert(TransferState... path) {
+        TransferEntity entity = new TransferEntity("consumer", "provider", "DATA");
+        for (TransferState state : path) {
+            entity.transitionTo(state);
+        }
+        return repository.save(entity);
+    }
+
+    @Test
+    void transitionUpdatesStateTimestampAndVersionOnlyFromExpectedState() {
+        TransferEntity entity = repository.findById(insert().getId()).orElseThrow();
+
+        assertThat(repository.transition(entity.getId(), TransferState.REQUESTED, TransferState.POLICY_EVALUATION))
+                .isTrue();
+        assertThat(repository.transition(entity.getId(), TransferState.REQUESTED, TransferState.POLICY_EVALUATION))
+                .isFalse();
+
+        TransferEntity updated = repository.findById(entity.getId()).orElseThrow();
+        assertThat(updated.getState()).isEqualTo(TransferState.POLICY_EVALUATION);
+        assertThat(updated.getUpdatedAt()).isAfter(entity.getUpdatedAt());
+        assertThat(updated.getVersion()).isEqualTo(entity.getVersion() + 1);
+    }
+
+    @Test
+    void transitionRejectsEdgesOutsideTheStateGraph() {
+        TransferEntity entity = insert();
+
+        assertThatThrownBy(() ->
+                repository.transition(entity.getId(), TransferState.REQUESTED, TransferState.COMPLETED))
+                .isInstanceOf(IllegalStateTransitionException.class);
+        assertThat(repository.findStateById(entity.getId())).contains(TransferState.REQUESTED);
+    }
+
+    @Test
+    void transitionMovesTheLocalCountersWithoutARefresh() {
+        TransferEntity entity = insert();
+        counters.refresh();
+        Map<String, Long> before = counters.snapshot().orElseThrow().byState();
+
+        repository.transition(entity.getId(), TransferState.REQUESTED, TransferState.POLICY_EVALUATION);
+        repository.transition(entity.getId(), TransferState.REQUESTED, TransferState.POLICY_EVALUATION);
+        repository.transitionFromCurrent(entity.getId(), TransferState.CANCELLED);
+
+        Map<String, Long> after = counters.snapshot().orElseThrow().byState();
+        assertThat(after.getOrDefault("REQUESTED", 0L)).isEqualTo(before.get("REQUESTED") - 1);
+        assertThat(after.getOrDefault("POLICY_EVALUATION", 0L))
+                .isEqualTo(before.getOrDefault("POLICY_EVALUATION", 0L));
+        assertThat(after.get("CANCELLED")).isEqualTo(before.getOrDefault("CANCELLED", 0L) + 1);
+    }
+
+    @Test
+    void concurrentCompletionAndCancellationHaveExactlyOneWinner() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            UUID id = insert(TransferState.POLICY_EVALUATION, TransferState.APPROVED,
+                    TransferState.CONTRACT_NEGOTIATION, TransferState.NEGOTIATED,
+                    TransferState.TRANSFER_IN_PROGRESS).getId();
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Optional<TransferState>>> racers = List.of(
+                    CompletableFuture.supplyAsync(() -> {
+                        await(start);
+                        return repository.transitionFromCurrent(id, TransferState.COMPLETED);
+                    }),
+                    CompletableFuture.supplyAsync(() -> {
+                        await(start);
+                        return repository.transitionFromCurrent(id, TransferState.CANCELLED);
+                    })
+            );
+            start.countDown();
+
+            long winners = racers.stream().map(CompletableFuture::join).filter(Optional::isPresent).count();
+            assertThat(winners).isEqualTo(1);
+            assertThat(repository.findStateById(id).orElseThrow().isTerminal()).isTrue();
+        }
+    }
+
+    @Test
+    void transitionFromCurrentLeavesTerminalTransfersAlone() {
+        TransferEntity entity = insert(TransferState.POLICY_EVALUATION, TransferState.DENIED);
+
+        assertThat(repository.transitionFromCurrent(entity.getId(), TransferState.CANCELLED)).isEmpty();
+        assertThat(repository.transitionFromCurrent(UUID.randomUUID(), TransferState.CANCELLED)).isEmpty();
+        assertThat(repository.findStateById(entity.getId())).contains(TransferState.DENIED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
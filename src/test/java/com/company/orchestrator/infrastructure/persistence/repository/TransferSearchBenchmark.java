@@ -0,0 +1,135 @@
+package com.company.orchestrator.infrastructure.persistence.repository;
+
+import com.company.orchestrator.api.dto.TransferSummaryResponse;
+import com.company.orchestrator.domain.model.TransferCursor;
+import com.company.orchestrator.domain.model.TransferSearchCriteria;
+import com.company.orchestrator.domain.model.TransferState;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search plans and latency on a large transfers table (10M rows by default,
+ * {@code -Dbenchmark.rows=...} to change). Each search must be answered by
+ * an index-only scan without heap fetches; the plans are printed next to
+ * the average latency of the repository query.
+ * <p>
+ * Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=TransferSearchBenchmark} (needs Docker; seeding
+ * 10M rows takes a few minutes).
+ */
+@Testcontainers
+@SpringBootTest(properties = "orchestrator.audit.rollup.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransferSearchBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 10_000_000L);
+    private static final int SLICE = 20;
+    private static final int ITERATIONS = 200;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "shared_buffers=256MB", "-c", "max_wal_size=4GB");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TransferRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Instant now;
+
+    @BeforeAll
+    void seed() {
+        now = Instant.now();
+        // 10k consumers, 500 providers, one transfer every 3 seconds going back in time
+        jdbcTemplate.update("""
+                INSERT INTO transfers (id, consumer_id, provider_id, data_type, state, created_at, updated_at)
+                SELECT gen_random_uuid(),
+                       'consumer-' || (n % 10000),
+                       'provider-' || (n % 500),
+                       (ARRAY['SENSOR', 'QUALITY', 'LOGISTICS', 'ENERGY', 'FINANCE'])[1 + (n % 5)::int],
+                       (ARRAY['COMPLETED', 'COMPLETED', 'COMPLETED', 'COMPLETED', 'FAILED',
+                              'DENIED', 'CANCELLED', 'TRANSFER_IN_PROGRESS'])[1 + (n % 8)::int],
+                       ?::timestamptz - n * interval '3 seconds',
+                       ?::timestamptz - n * interval '3 seconds'
+                FROM generate_series(1, ?) AS n
+                """, Timestamp.from(now), Timestamp.from(now), ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE transfers");
+    }
+
+    @Test
+    void searchesUseIndexOnlyScans() {
+        Instant weekAgo = now.minus(Duration.ofDays(7));
+
+        measure("consumer + created range",
+                new TransferSearchCriteria("consumer-42", null, null, null, weekAgo, now),
+                "consumer_id = ? AND created_at >= ? AND created_at < ?",
+                "consumer-42", Timestamp.from(weekAgo), Timestamp.from(now));
+
+        measure("provider",
+                new TransferSearchCriteria(null, "provider-7", null, null, null, null),
+                "provider_id = ?",
+                "provider-7");
+
+        measure("state + created range",
+                new TransferSearchCriteria(null, null, null, TransferState.FAILED, weekAgo, now),
+                "state = ? AND created_at >= ? AND created_at < ?",
+                "FAILED", Timestamp.from(weekAgo), Timestamp.from(now));
+
+        measure("consumer + data type",
+                new TransferSearchCriteria("consumer-42", null, "QUALITY", null, null, null),
+                "consumer_id = ? AND data_type = ?",
+                "consumer-42", "QUALITY");
+    }
+
+    private void measure(String name, TransferSearchCriteria criteria, String where, Object... args) {
+        List<String> plan = jdbcTemplate.queryForList("""
+                EXPLAIN (ANALYZE, BUFFERS)
+                SELECT id, consumer_id, provider_id, data_type, state, created_at
+                FROM transfers
+                WHERE %s
+                ORDER BY created_at DESC, id DESC
+                LIMIT %d
+                """.formatted(where, SLICE + 1), String.class, args);
+
+        List<TransferSummaryResponse> first = repository.search(criteria, null, SLICE + 1);
+        assertThat(first).isNotEmpty();
+        TransferSummaryResponse last = first.get(Math.min(SLICE, first.size()) - 1);
+        TransferCursor after = new TransferCursor(last.createdAt(), last.id());
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            repository.search(criteria, i % 2 == 0 ? null : after, SLICE + 1);
+        }
+        long nanos = System.nanoTime() - started;
+
+        System.out.printf("%-26s %8.3f ms/search%n", name, nanos / 1e6 / ITERATIONS);
+        plan.forEach(line -> System.out.println("    " + line));
+
+        String text = String.join("\n", plan);
+        assertThat(text).as(name).contains("Index Only Scan").doesNotContain("Seq Scan");
+    }
+}
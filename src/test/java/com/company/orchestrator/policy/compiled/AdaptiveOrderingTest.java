@@ -0,0 +1,145 @@
+package com.company.orchestrator.policy.compiled;
+
+import com.company.orchestrator.policy.CompositePolicy;
+import com.company.orchestrator.policy.Policy;
+import com.company.orchestrator.policy.PolicyContext;
+import com.company.orchestrator.policy.PolicyEvaluationResult;
+import com.company.orchestrator.policy.atomic.*;
+import com.company.orchestrator.policy.composite.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveOrderingTest {
+
+    // every evaluation is sampled and reorders
+    private static final AdaptiveOrdering EVERY_EVALUATION = new AdaptiveOrdering(1, Duration.ZERO);
+
+    private static final TimeBasedPolicy ALWAYS_OPEN =
+            new TimeBasedPolicy(LocalTime.MIN, LocalTime.MAX, ZoneId.of("CET"));
+
+    private static PolicyContext context(String region, Set<String> certifications, Instant requestTime) {
+        return new PolicyContext(
+                "c", "p", "d",
+                region,
+                certifications,
+                "QUALITY_ANALYSIS",
+                requestTime,
+                ZoneId.of("UTC"),
+                0
+        );
+    }
+
+    private static PolicyContext context(String region, Set<String> certifications) {
+        return context(region, certifications, Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    private static void evaluate(CompiledPolicy policy, PolicyContext ctx, int times) {
+        for (int i = 0; i < times; i++) {
+            policy.evaluate(ctx);
+        }
+    }
+
+    @Test
+    void movesTheChildThatUsuallyDecidesAnOrFirst() {
+        // OR: 0, TISAX: 1, geographic: 2
+        CompiledPolicy policy = PolicyCompiler.compile(new OrPolicy(List.of(
+                new CertificationPolicy("TISAX"),
+                new GeographicPolicy()
+        )), EVERY_EVALUATION);
+        assertThat(policy.childOrder(0)).containsExactly(1, 2);
+
+        evaluate(policy, context("EU", Set.of()), 1_000);
+
+        assertThat(policy.childOrder(0)).containsExactly(2, 1);
+    }
+
+    @Test
+    void movesTheChildThatUsuallyDeniesAnAndBelowAnOrFirst() {
+        // OR: 0, AND: 1, geographic: 2, TISAX: 3, usage: 4
+        CompiledPolicy policy = PolicyCompiler.compile(new OrPolicy(List.of(
+                new AndPolicy(List.of(new GeographicPolicy(), new CertificationPolicy("TISAX"))),
+                new UsagePolicy("QUALITY_ANALYSIS")
+        )), EVERY_EVALUATION);
+
+        evaluate(policy, context("EU", Set.of()), 1_000);
+
+        assertThat(policy.childOrder(1)).containsExactly(3, 2);
+        assertThat(policy.childOrder(0)).containsExactly(4, 1);
+    }
+
+    @Test
+    void keepsDeclarationOrderWhereTheDenialReasonIsReported() {
+        Policy declared = new AndPolicy(List.of(
+                new CertificationPolicy("TISAX"),
+                new AndPolicy(List.of(ALWAYS_OPEN, new GeographicPolicy()))
+        ));
+        CompiledPolicy policy = PolicyCompiler.compile(declared, EVERY_EVALUATION);
+        PolicyContext outsideEu = context("US", Set.of());
+
+        evaluate(policy, outsideEu, 1_000);
+
+        assertThat(policy.childOrder(0)).isNull();
+        assertThat(policy.childOrder(2)).isNull();
+        assertThat(policy.evaluate(outsideEu))
+                .isEqualTo(PolicyEvaluationResult.deny("Missing required certification: TISAX"));
+    }
+
+    @Test
+    void keepsDeclarationOrderAboveDelegates() {
+        Policy custom = new CompositePolicy() {
+            @Override
+            public PolicyEvaluationResult evaluate(PolicyContext context) {
+                return PolicyEvaluationResult.allow();
+            }
+        };
+        CompiledPolicy policy = PolicyCompiler.compile(new OrPolicy(List.of(
+                new NotPolicy(new AndPolicy(List.of(new GeographicPolicy(), ALWAYS_OPEN))),
+                new AndPolicy(List.of(new GeographicPolicy(), custom))
+        )), EVERY_EVALUATION);
+
+        assertThat(policy.childOrder(0)).isNull();
+        assertThat(policy.childOrder(2)).containsExactly(3, 4);
+        assertThat(policy.childOrder(5)).isNull();
+    }
+
+    @Test
+    void aChildThatFailsOutOfOrderIsEvaluatedInDeclarationOrder() {
+        // OR: 0, geographic: 1, time window: 2
+        CompiledPolicy policy = PolicyCompiler.compile(new OrPolicy(List.of(
+                new GeographicPolicy(),
+                ALWAYS_OPEN
+        )), EVERY_EVALUATION);
+        evaluate(policy, context("US", Set.of()), 1_000);
+        assertThat(policy.childOrder(0)).containsExactly(2, 1);
+
+        // without a request time the time window fails, but declaration order never reaches it here
+        assertThat(policy.evaluate(context("EU", Set.of(), null)).allowed()).isTrue();
+        assertThatThrownBy(() -> policy.evaluate(context("US", Set.of(), null)))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void compilesWithoutOrderingWhenNothingCanBeReordered() {
+        CompiledPolicy policy = PolicyCompiler.compile(new AndPolicy(List.of(
+                new GeographicPolicy(),
+                new CertificationPolicy("ISO_9001")
+        )), EVERY_EVALUATION);
+
+        assertThat(policy.childOrder(0)).isNull();
+        assertThat(policy.evaluate(context("EU", Set.of("ISO_9001"))).allowed()).isTrue();
+    }
+
+    @Test
+    void rejectsASampleRateBelowOne() {
+        assertThatThrownBy(() -> new AdaptiveOrdering(0, Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.orchestrator.policy.registry;
+
+import com.company.orchestrator.api.controller.DemoPolicies;
+import com.company.orchestrator.policy.PolicyContext;
+import com.company.orchestrator.policy.compiled.CompiledPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PolicyRegistryTest {
+
+    private static final String POLICIES = """
+            defaultPolicy:
+              geographic: true
+            bindings:
+              - providerId: provider-1
+                dataType: TELEMETRY
+                policy: { certification: TISAX }
+              - providerId: provider-1
+                policy: { certification: SOC_2 }
+              - dataType: TELEMETRY
+                policy: { maxRequestsPerHour: 10 }
+            """;
+
+    private static final PolicyRegistryProperties.Adaptive DECLARED_ORDER =
+            new PolicyRegistryProperties.Adaptive(false, 128, Duration.ofSeconds(10));
+
+    @TempDir
+    Path dir;
+
+    private PolicyRegistry registry(Path file) {
+        return new PolicyRegistry(
+                new PolicyRegistryProperties("file:" + file, Duration.ZERO, DECLARED_ORDER),
+                new DefaultResourceLoader(),
+                new ObjectMapper().findAndRegisterModules()
+        );
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+
+    private static PolicyContext context(Set<String> certifications) {
+        return new PolicyContext(
+                "consumer", "provider-1", "TELEMETRY",
+                "EU",
+                certifications,
+                "QUALITY_ANALYSIS",
+                Instant.parse("2025-01-01T10:00:00Z"),
+                ZoneId.of("UTC"),
+                50
+        );
+    }
+
+    @Test
+    void resolvesMostSpecificBindingFirst() throws IOException {
+        PolicyRegistry registry = registry(write("policies.yml", POLICIES));
+        PolicySnapshot snapshot = registry.snapshot();
+
+        assertThat(registry.resolve("provider-1", "TELEMETRY"))
+                .isSameAs(snapshot.bindings().get(new PolicySnapshot.Key("provider-1", "TELEMETRY")));
+        assertThat(registry.resolve("provider-1", "OTHER"))
+                .isSameAs(snapshot.bindings().get(new PolicySnapshot.Key("provider-1", "*")));
+        assertThat(registry.resolve("provider-2", "TELEMETRY"))
+                .isSameAs(snapshot.bindings().get(new PolicySnapshot.Key("*", "TELEMETRY")));
+        assertThat(registry.resolve("provider-2", "OTHER"))
+                .isSameAs(snapshot.defaultPolicy());
+
+        assertThat(registry.resolve("provider-1", "TELEMETRY").evaluate(context(Set.of("TISAX"))).allowed())
+                .isTrue();
+        assertThat(registry.resolve("provider-1", "OTHER").evaluate(context(Set.of("TISAX"))).allowed())
+                .isFalse();
+    }
+
+    @Test
+    void readsJsonDefinitions() throws IOException {
+        PolicyRegistry registry = registry(write("policies.json", """
+                {"defaultPolicy": {"anyOf": [
+                    {"certification": "ISO_9001"},
+                    {"not": {"usagePurpose": "MARKETING"}}
+                ]}}
+                """));
+
+        assertThat(registry.resolve("p", "d").evaluate(context(Set.of())).allowed()).isTrue();
+        assertThat(registry.snapshot().bindings()).isEmpty();
+    }
+
+    @Test
+    void reloadPublishesNewSnapshot() throws IOException {
+        Path file = write("policies.yml", POLICIES);
+        PolicyRegistry registry = registry(file);
+        CompiledPolicy before = registry.resolve("provider-2", "OTHER");
+
+        Files.writeString(file, "defaultPolicy: { maxRequestsPerHour: 1 }\n");
+        PolicySnapshot reloaded = registry.reload();
+
+        assertThat(reloaded.version()).isEqualTo(2);
+        assertThat(registry.resolve("provider-2", "OTHER")).isNotSameAs(before);
+        assertThat(registry.resolve("provider-1", "TELEMETRY")).isSameAs(reloaded.defaultPolicy());
+        assertThat(before.evaluate(context(Set.of())).allowed()).isTrue();
+    }
+
+    @Test
+    void failedReloadKeepsCurrentSnapshot() throws IOException {
+        Path file = write("policies.yml", POLICIES);
+        PolicyRegistry registry = registry(file);
+        PolicySnapshot current = registry.snapshot();
+
+        Files.writeString(file, "defaultPolicy: { geographic: true, certification: ISO_9001 }\n");
+
+        assertThatThrownBy(registry::reload)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exactly one policy");
+        assertThat(registry.snapshot()).isSameAs(current);
+    }
+
+    @Test
+    void rejectsUnknownFields() throws IOException {
+        Path file = write("policies.yml", "defaultPolicy: { region: EU }\n");
+
+        assertThatThrownBy(() -> registry(file))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void shippedPoliciesMatchDemoDefault() {
+        PolicyRegistry registry = new PolicyRegistry(
+                new PolicyRegistryProperties("classpath:policies.yml", Duration.ZERO, DECLARED_ORDER),
+                new DefaultResourceLoader(),
+                new ObjectMapper().findAndRegisterModules()
+        );
+
+        for (Instant time : new Instant[] {
+                Instant.parse("2025-01-01T06:59:00Z"),
+                Instant.parse("2025-01-01T10:00:00Z"),
+                Instant.parse("2025-07-01T16:30:00Z")
+        }) {
+            PolicyContext ctx = new PolicyContext(
+                    "consumer", "provider", "DATA", "EU",
+                    Set.of("ISO_9001"), "QUALITY_ANALYSIS",
+                    time, ZoneId.of("CET"), 5
+            );
+            assertThat(registry.resolve("provider", "DATA").evaluate(ctx))
+                    .isEqualTo(DemoPolicies.defaultPolicy().evaluate(ctx));
+        }
+    }
+}